@@ -1,10 +1,20 @@
 package com.ohhell.api.resources;
 
+import com.ohhell.api.cache.LruCache;
+import com.ohhell.api.dao.GameDAO;
+import com.ohhell.api.dao.PlayerDAO;
+import com.ohhell.api.engine.GameVersions;
+import com.ohhell.api.engine.Rosters;
+import com.ohhell.api.security.JwtCache;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Path("/health")
 public class HealthResource {
 
@@ -13,4 +23,48 @@ public class HealthResource {
     public String health() {
         return "OK";
     }
+
+    // =========================
+    // CACHÉ DE JWT
+    // =========================
+    @GET
+    @Path("/jwt-cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Object> jwtCache() {
+        JwtCache.Stats stats = JwtCache.stats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", stats.size());
+        result.put("capacity", stats.capacity());
+        result.put("hits", stats.hits());
+        result.put("misses", stats.misses());
+        result.put("hitRate", stats.hitRate());
+        result.put("expired", stats.expired());
+        result.put("evicted", stats.evicted());
+        return result;
+    }
+
+    // =========================
+    // CACHÉS DE LECTURA
+    // =========================
+    @GET
+    @Path("/caches")
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<Map<String, Object>> caches() {
+        return List.of(cache(GameDAO.cacheStats()), cache(PlayerDAO.cacheStats()), cache(Rosters.cacheStats()),
+                cache(GameVersions.cacheStats()));
+    }
+
+    private static Map<String, Object> cache(LruCache.Stats stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", stats.name());
+        result.put("size", stats.size());
+        result.put("capacity", stats.capacity());
+        result.put("hits", stats.hits());
+        result.put("misses", stats.misses());
+        result.put("hitRate", stats.hitRate());
+        result.put("evicted", stats.evicted());
+        result.put("invalidated", stats.invalidated());
+        return result;
+    }
 }
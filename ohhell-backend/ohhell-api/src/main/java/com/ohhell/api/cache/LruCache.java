@@ -0,0 +1,142 @@
+package com.ohhell.api.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Caché de lectura (read-through) acotada, con descarte del menos usado.
+ *
+ * - get(key, loader) devuelve el valor cacheado o lo carga con loader. La
+ *   carga se hace fuera del cerrojo, así que una consulta lenta no bloquea al
+ *   resto; si dos hilos fallan a la vez ambos cargan y gana el último.
+ * - Los null no se cachean (una clave que no existe se vuelve a consultar).
+ * - invalidate() descarta entradas. Una carga que empezó antes de una
+ *   invalidación no se guarda, para no reinsertar el valor anterior.
+ */
+public final class LruCache<K, V> {
+
+    public record Stats(
+            String name,
+            int size,
+            int capacity,
+            long hits,
+            long misses,
+            long evicted,
+            long invalidated
+    ) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private final String name;
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    // Se incrementa en cada invalidación; protegido por el cerrojo de entries
+    private long generation;
+
+    // LinkedHashMap en orden de acceso: el primero es el menos usado
+    private final Map<K, V> entries;
+
+    public LruCache(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(Math.min(capacity, 256), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() > LruCache.this.capacity) {
+                    evicted.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // =========================
+    // LECTURA
+    // =========================
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long seen;
+        synchronized (entries) {
+            V value = entries.get(key);
+            if (value != null) {
+                hits.increment();
+                return value;
+            }
+            seen = generation;
+        }
+        misses.increment();
+
+        V loaded = loader.apply(key);
+        if (loaded == null) return null;
+
+        synchronized (entries) {
+            if (generation == seen) {
+                entries.put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // =========================
+    // ESCRITURA
+    // =========================
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, value);
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation++;
+            if (entries.remove(key) != null) {
+                invalidated.increment();
+            }
+        }
+    }
+
+    /**
+     * Descarta las entradas cuyo valor cumple la condición. Recorre toda la
+     * caché: pensado para invalidaciones poco frecuentes.
+     */
+    public void invalidateIf(Predicate<? super V> condition) {
+        synchronized (entries) {
+            generation++;
+            entries.values().removeIf(v -> {
+                if (!condition.test(v)) return false;
+                invalidated.increment();
+                return true;
+            });
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    // =========================
+    // ESTADÍSTICAS
+    // =========================
+    public Stats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(name, size, capacity, hits.sum(), misses.sum(), evicted.sum(), invalidated.sum());
+    }
+}
@@ -0,0 +1,53 @@
+package com.ohhell.api.config;
+
+import com.ohhell.api.db.Database;
+import com.ohhell.api.db.DbExecutor;
+import com.ohhell.api.db.Migrations;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.engine.Matchmaker;
+import com.ohhell.api.engine.WriteBehind;
+import com.ohhell.api.log.Log;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.ServletRequestEvent;
+import jakarta.servlet.ServletRequestListener;
+import jakarta.servlet.annotation.WebListener;
+
+@WebListener
+public class AppLifecycle implements ServletContextListener, ServletRequestListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Esquema al día antes de atender peticiones; si falla, no se despliega
+        if (Boolean.parseBoolean(Settings.get("db.migrate", "true"))) {
+            Migrations.migrate();
+        }
+
+        MetricsCollectors.register();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        // No formar más mesas mientras se cierra
+        Matchmaker.shutdown(2_000);
+
+        // Escribir lo pendiente antes de cerrar el pool
+        WriteBehind.shutdown(10_000);
+
+        // Terminar las consultas en curso mientras el pool sigue abierto
+        DbExecutor.shutdown(5_000);
+
+        // Cerrar el pool para no dejar conexiones ni hilos vivos al redesplegar
+        Database.shutdown();
+
+        // Lo último: vaciar el buffer de logs
+        Log.shutdown(2_000);
+    }
+
+    @Override
+    public void requestDestroyed(ServletRequestEvent sre) {
+        // Si una excepción no controlada saltó el TransactionFilter,
+        // deshacer y devolver la conexión al pool aquí
+        UnitOfWork.abandon();
+    }
+}
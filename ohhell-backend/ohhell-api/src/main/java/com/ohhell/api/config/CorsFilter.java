@@ -16,7 +16,9 @@ public class CorsFilter implements ContainerResponseFilter {
         response.getHeaders().add("Access-Control-Allow-Methods",
                 "GET, POST, PUT, DELETE, OPTIONS");
         response.getHeaders().add("Access-Control-Allow-Headers",
-                "Content-Type, Authorization");
+                "Content-Type, Authorization, If-None-Match");
+        response.getHeaders().add("Access-Control-Expose-Headers",
+                "ETag, Retry-After, X-Next-Cursor");
         response.getHeaders().add(
                 "Access-Control-Allow-Credentials", "true"
         );
@@ -0,0 +1,108 @@
+package com.ohhell.api.config;
+
+import com.ohhell.api.cache.LruCache;
+import com.ohhell.api.dao.GameDAO;
+import com.ohhell.api.dao.PlayerDAO;
+import com.ohhell.api.db.ConnectionPool;
+import com.ohhell.api.db.Database;
+import com.ohhell.api.db.DbExecutor;
+import com.ohhell.api.engine.GameMailboxes;
+import com.ohhell.api.engine.GameStates;
+import com.ohhell.api.engine.GameVersions;
+import com.ohhell.api.engine.Lobby;
+import com.ohhell.api.engine.Matchmaker;
+import com.ohhell.api.engine.Rosters;
+import com.ohhell.api.engine.WriteBehind;
+import com.ohhell.api.events.GameEvents;
+import com.ohhell.api.log.Log;
+import com.ohhell.api.metrics.Metrics;
+import com.ohhell.api.security.JwtCache;
+
+import java.util.List;
+
+/**
+ * Métricas que se leen de cada componente en el momento de exportar.
+ */
+final class MetricsCollectors {
+
+    private MetricsCollectors() {
+    }
+
+    static void register() {
+
+        Metrics.register("db.pool", out -> {
+            ConnectionPool.Stats stats = Database.poolStats();
+
+            out.help("ohhell_db_pool_connections", "gauge", "Conexiones físicas del pool por estado");
+            out.sample("ohhell_db_pool_connections", stats.idle(), "state", "idle");
+            out.sample("ohhell_db_pool_connections", stats.active(), "state", "active");
+            out.gauge("ohhell_db_pool_waiting", "Hilos esperando una conexión", stats.waiting());
+            out.counter("ohhell_db_pool_timeouts_total", "Préstamos que agotaron el timeout", stats.timeouts());
+            out.counter("ohhell_db_pool_leaks_total", "Posibles fugas de conexión detectadas", stats.leaks());
+
+            out.help("ohhell_db_statement_cache_requests_total", "counter",
+                    "Sentencias preparadas pedidas al pool, reutilizadas (hit) o nuevas (miss)");
+            out.sample("ohhell_db_statement_cache_requests_total", stats.statementHits(), "result", "hit");
+            out.sample("ohhell_db_statement_cache_requests_total", stats.statementMisses(), "result", "miss");
+
+            out.help("ohhell_db_pool_acquire_duration_seconds", "histogram",
+                    "Tiempo de espera para obtener una conexión del pool");
+            out.histogram("ohhell_db_pool_acquire_duration_seconds", stats.waitTimes());
+        });
+
+        Metrics.register("db.executor", out -> {
+            out.gauge("ohhell_db_executor_active", "Tareas de BD en ejecución", DbExecutor.active());
+            out.gauge("ohhell_db_executor_queued", "Tareas de BD esperando hilo", DbExecutor.queued());
+            out.counter("ohhell_db_executor_rejected_total", "Peticiones rechazadas con 503 por saturación", DbExecutor.rejected());
+        });
+
+        Metrics.register("cache", out -> {
+            out.help("ohhell_cache_size", "gauge", "Entradas en cada caché de lectura");
+            out.help("ohhell_cache_requests_total", "counter", "Consultas a cada caché de lectura");
+            out.help("ohhell_cache_evicted_total", "counter", "Entradas descartadas por capacidad");
+            out.help("ohhell_cache_invalidated_total", "counter", "Entradas invalidadas por escrituras");
+            for (LruCache.Stats stats : List.of(GameDAO.cacheStats(), PlayerDAO.cacheStats(), Rosters.cacheStats(),
+                    GameVersions.cacheStats())) {
+                out.sample("ohhell_cache_size", stats.size(), "cache", stats.name());
+                out.sample("ohhell_cache_requests_total", stats.hits(), "cache", stats.name(), "result", "hit");
+                out.sample("ohhell_cache_requests_total", stats.misses(), "cache", stats.name(), "result", "miss");
+                out.sample("ohhell_cache_evicted_total", stats.evicted(), "cache", stats.name());
+                out.sample("ohhell_cache_invalidated_total", stats.invalidated(), "cache", stats.name());
+            }
+        });
+
+        Metrics.register("engine", out -> {
+            out.gauge("ohhell_game_states_active", "Partidas con estado en memoria", GameStates.size());
+            out.counter("ohhell_game_states_expired_total", "Estados de partida descartados por inactividad", GameStates.expired());
+            out.gauge("ohhell_rosters_cached", "Rosters de partida en memoria", Rosters.size());
+            out.gauge("ohhell_lobby_open_games", "Partidas en espera en el directorio del lobby", Lobby.size());
+            out.gauge("ohhell_matchmaking_queued", "Jugadores en la cola de emparejamiento", Matchmaker.queued());
+            out.counter("ohhell_matchmaking_tables_total", "Mesas creadas por emparejamiento", Matchmaker.tables());
+            out.counter("ohhell_matchmaking_players_total", "Jugadores sentados por emparejamiento", Matchmaker.matched());
+            out.gauge("ohhell_write_behind_pending", "Escrituras diferidas pendientes", WriteBehind.pending());
+            out.counter("ohhell_write_behind_discarded_total", "Escrituras diferidas descartadas tras un fallo de su partida", WriteBehind.discarded());
+            out.counter("ohhell_write_behind_retried_total", "Reintentos de escrituras diferidas tras un fallo transitorio", WriteBehind.retried());
+            out.gauge("ohhell_game_mailboxes_active", "Partidas con comandos en cola o en curso", GameMailboxes.active());
+            out.counter("ohhell_game_mailbox_commands_total", "Comandos ejecutados en los buzones de partida", GameMailboxes.executed());
+            out.counter("ohhell_game_mailbox_rejected_total", "Comandos rechazados con el buzón lleno", GameMailboxes.rejected());
+            out.gauge("ohhell_sse_channels", "Canales de eventos de partida en memoria", GameEvents.channels());
+            out.gauge("ohhell_sse_subscribers", "Suscriptores de eventos abiertos", GameEvents.subscribers());
+        });
+
+        Metrics.register("jwt", out -> {
+            JwtCache.Stats stats = JwtCache.stats();
+
+            out.gauge("ohhell_jwt_cache_size", "Tokens verificados en caché", stats.size());
+            out.help("ohhell_jwt_cache_requests_total", "counter", "Consultas a la caché de JWT");
+            out.sample("ohhell_jwt_cache_requests_total", stats.hits(), "result", "hit");
+            out.sample("ohhell_jwt_cache_requests_total", stats.misses(), "result", "miss");
+            out.counter("ohhell_jwt_cache_expired_total", "Entradas caducadas por exp", stats.expired());
+            out.counter("ohhell_jwt_cache_evicted_total", "Entradas descartadas por capacidad", stats.evicted());
+        });
+
+        Metrics.register("log", out -> {
+            out.gauge("ohhell_log_pending", "Eventos de log en el buffer", Log.pending());
+            out.counter("ohhell_log_dropped_total", "Eventos de log descartados por buffer lleno", Log.dropped());
+        });
+    }
+}
@@ -0,0 +1,44 @@
+package com.ohhell.api.config;
+
+import com.ohhell.api.metrics.Metrics;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.reflect.Method;
+
+/**
+ * Mide la latencia de cada petición por método de recurso.
+ *
+ * Tiene la prioridad más baja, así que en la petición se ejecuta antes que
+ * la autenticación y la transacción, y en la respuesta después: el tiempo
+ * incluye todos los filtros. Las rechazadas por JwtAuthFilter también cuentan.
+ */
+@Provider
+@Priority(100)
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START = "ohhell.metrics.start";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        request.setProperty(START, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object start = request.getProperty(START);
+        Method method = resourceInfo.getResourceMethod();
+        if (!(start instanceof Long nanos) || method == null) return;
+
+        Metrics.endpoint(method, request.getMethod()).recordNanos(System.nanoTime() - nanos);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ohhell.api.config;
+
+import com.ohhell.api.engine.MoveConflictException;
+import com.ohhell.api.engine.MoveRejectedException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class MoveRejectedMapper implements ExceptionMapper<MoveRejectedException> {
+
+    @Override
+    public Response toResponse(MoveRejectedException e) {
+        Response.Status status = e instanceof MoveConflictException
+                ? Response.Status.CONFLICT
+                : Response.Status.BAD_REQUEST;
+
+        return Response.status(status)
+                .type(MediaType.TEXT_PLAIN_TYPE)
+                .entity(e.getMessage())
+                .build();
+    }
+}
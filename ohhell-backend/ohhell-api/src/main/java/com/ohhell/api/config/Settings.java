@@ -0,0 +1,51 @@
+package com.ohhell.api.config;
+
+import java.util.Locale;
+
+/**
+ * Configuración de la aplicación.
+ *
+ * Cada clave (p. ej. "db.pool.max") se busca primero como propiedad del
+ * sistema con prefijo "ohhell." (-Dohhell.db.pool.max=20) y después como
+ * variable de entorno (OHHELL_DB_POOL_MAX=20). Si no existe, se usa el valor
+ * por defecto.
+ */
+public final class Settings {
+
+    private Settings() {
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty("ohhell." + key);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(envName(key));
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value, e);
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + key + ": " + value, e);
+        }
+    }
+
+    static String envName(String key) {
+        return "OHHELL_" + key.replace('.', '_')
+                .replace('-', '_')
+                .toUpperCase(Locale.ROOT);
+    }
+}
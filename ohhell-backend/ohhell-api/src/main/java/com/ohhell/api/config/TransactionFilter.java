@@ -0,0 +1,45 @@
+package com.ohhell.api.config;
+
+import com.ohhell.api.db.UnitOfWork;
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.sql.SQLException;
+
+/**
+ * Abre una unidad de trabajo al empezar la petición y la cierra antes de
+ * escribir la respuesta: confirma si la respuesta es 2xx/3xx y deshace si
+ * es un error.
+ */
+@Provider
+@Transactional
+@Priority(Priorities.USER)
+public class TransactionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        UnitOfWork.begin();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!UnitOfWork.isActive()) return;
+
+        boolean success = response.getStatus() < 400;
+
+        try {
+            UnitOfWork.end(success);
+        } catch (SQLException e) {
+            response.setStatus(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
+            response.setEntity("Error guardando los cambios: " + e.getMessage(),
+                    null, MediaType.TEXT_PLAIN_TYPE);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ohhell.api.config;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca recursos (o métodos) cuya petición se ejecuta en una única
+ * conexión y transacción. Ver TransactionFilter.
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Transactional {
+}
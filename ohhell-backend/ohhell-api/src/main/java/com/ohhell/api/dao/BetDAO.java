@@ -1,214 +1,114 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.metrics.Metrics;
 
-import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 public class BetDAO {
 
+    public record BetRow(
+            long gamePlayerId,
+            int betValue,
+            int order
+    ) {}
+
     // =========================
-    // PLACE BET
+    // CONSULTAS
     // =========================
-    public void placeBet(long roundId, long gamePlayerId, int value, int order) {
-
-        String sql = """
+    private static final Query<Void> PLACE_BET = Query.update("BetDAO.placeBet", """
             INSERT INTO oh_hell.bets
             (round_id, game_player_id, bet_value, bet_order)
-            VALUES (?, ?, ?, ?)
-        """;
+            SELECT ?, ?, ?, ?
+            WHERE NOT EXISTS (
+                SELECT 1 FROM oh_hell.bets
+                WHERE round_id = ?
+                  AND (game_player_id = ? OR bet_order >= ?)
+            )
+        """);
+
+    private static final Query<Integer> BET = Query.select("BetDAO.getBet", """
+            SELECT bet_value
+            FROM oh_hell.bets
+            WHERE round_id = ? AND game_player_id = ?
+        """, RowMapper.INT);
+
+    private static final Query<Integer> COUNT = Query.select("BetDAO.countBets",
+            "SELECT COUNT(*) FROM oh_hell.bets WHERE round_id = ?", RowMapper.INT);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+    private static final Query<Integer> SUM = Query.select("BetDAO.sumBets", """
+            SELECT COALESCE(SUM(bet_value), 0)
+            FROM oh_hell.bets
+            WHERE round_id = ?
+        """, RowMapper.INT);
+
+    private static final Query<Integer> NEXT_ORDER = Query.select("BetDAO.nextBetOrder", """
+            SELECT COALESCE(MAX(bet_order), -1) + 1
+            FROM oh_hell.bets
+            WHERE round_id = ?
+        """, RowMapper.INT);
+
+    private static final Query<BetRow> FOR_ROUND = Query.select("BetDAO.getBetsForRound", """
+            SELECT game_player_id, bet_value, bet_order
+            FROM oh_hell.bets
+            WHERE round_id = ?
+            ORDER BY bet_order
+        """, RowMappers.BET_ROW);
 
-            ps.setLong(1, roundId);
-            ps.setLong(2, gamePlayerId);
-            ps.setInt(3, value);
-            ps.setInt(4, order);
-            ps.executeUpdate();
+    // =========================
+    // PLACE BET
+    // =========================
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    /**
+     * Inserta la apuesta solo si es la siguiente de la ronda: el jugador no
+     * ha apostado y nadie ocupa ya ese orden o uno posterior. Devuelve false
+     * si otro movimiento se adelantó (la BD ya no coincide con la memoria).
+     */
+    public boolean placeBet(long roundId, long gamePlayerId, int value, int order) {
+        if (Jdbc.update(PLACE_BET, roundId, gamePlayerId, value, order, roundId, gamePlayerId, order) == 0) {
+            return false;
         }
+
+        Metrics.BETS_PLACED.increment();
+        return true;
     }
 
     // =========================
     // CHECKS
     // =========================
     public boolean hasBet(long roundId, long gamePlayerId) {
-
-        String sql = """
-            SELECT 1
-            FROM oh_hell.bets
-            WHERE round_id = ? AND game_player_id = ?
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ps.setLong(2, gamePlayerId);
-            return ps.executeQuery().next();
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.exists(BET, roundId, gamePlayerId);
     }
 
     public int countBets(long roundId) {
-
-        String sql = "SELECT COUNT(*) FROM oh_hell.bets WHERE round_id = ?";
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(COUNT, roundId).orElseThrow();
     }
 
     public int sumBets(long roundId) {
-
-        String sql = """
-            SELECT COALESCE(SUM(bet_value), 0)
-            FROM oh_hell.bets
-            WHERE round_id = ?
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(SUM, roundId).orElseThrow();
     }
 
     public int nextBetOrder(long roundId) {
-
-        String sql = """
-            SELECT COALESCE(MAX(bet_order), -1) + 1
-            FROM oh_hell.bets
-            WHERE round_id = ?
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(NEXT_ORDER, roundId).orElseThrow();
     }
 
     // =========================
     // PARA CIERRE DE RONDA
     // =========================
     public List<Long> getGamePlayersForRound(long roundId) {
-
-        String sql = """
-            SELECT game_player_id
-            FROM oh_hell.bets
-            WHERE round_id = ?
-            ORDER BY bet_order
-        """;
-
-        List<Long> list = new ArrayList<>();
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                list.add(rs.getLong("game_player_id"));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return list;
+        return getBetsForRound(roundId).stream()
+                .map(BetRow::gamePlayerId)
+                .toList();
     }
 
     public int getBet(long roundId, long gamePlayerId) {
-
-        String sql = """
-            SELECT bet_value
-            FROM oh_hell.bets
-            WHERE round_id = ? AND game_player_id = ?
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ps.setLong(2, gamePlayerId);
-            ResultSet rs = ps.executeQuery();
-
-            if (!rs.next()) {
-                throw new RuntimeException("Apuesta no encontrada");
-            }
-
-            return rs.getInt("bet_value");
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(BET, roundId, gamePlayerId)
+                .orElseThrow(() -> new RuntimeException("Apuesta no encontrada"));
     }
 
-    public record BetRow(
-            long gamePlayerId,
-            int betValue,
-            int order
-    ) {}
-
-
     public List<BetRow> getBetsForRound(long roundId) {
-
-        String sql = """
-        SELECT game_player_id, bet_value, bet_order
-        FROM oh_hell.bets
-        WHERE round_id = ?
-        ORDER BY bet_order
-    """;
-
-        List<BetRow> list = new ArrayList<>();
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                list.add(new BetRow(
-                        rs.getLong("game_player_id"),
-                        rs.getInt("bet_value"),
-                        rs.getInt("bet_order")
-                ));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return list;
+        return Jdbc.list(FOR_ROUND, roundId);
     }
-
 }
@@ -1,58 +1,75 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.engine.Cards;
 
-import java.sql.*;
+import java.util.List;
 
 public class CardDAO {
 
-    public int findCardId(String rankEnum, String suitEnum) {
+    private record CatalogRow(int id, int card) {}
+
+    private static final Query<CatalogRow> CATALOG = Query.select("CardDAO.catalog",
+            "SELECT id, rank::text, suit::text FROM oh_hell.cards",
+            rs -> new CatalogRow(rs.getInt(1), Cards.fromEnums(rs.getString(2), rs.getString(3))));
 
-        String sql = """
+    private static final Query<Integer> FIND_ID = Query.select("CardDAO.findCardId", """
             SELECT id
             FROM oh_hell.cards
             WHERE rank = ?::card_rank
               AND suit = ?::card_suit
-        """;
+        """, RowMapper.INT);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+    private static final Query<String> SUIT = Query.select("CardDAO.getSuitById", """
+            SELECT suit::text
+            FROM oh_hell.cards
+            WHERE id = ?
+        """, RowMapper.STRING);
 
-            ps.setString(1, rankEnum);
-            ps.setString(2, suitEnum);
+    // Catálogo oh_hell.cards indexado por código de carta (ver Cards).
+    // Es fijo, así que se lee una sola vez.
+    private static volatile int[] idsByCard;
 
-            ResultSet rs = ps.executeQuery();
-            if (!rs.next()) {
-                throw new RuntimeException(
-                        "Carta no existe en catálogo: " + rankEnum + "_" + suitEnum
-                );
-            }
-
-            return rs.getInt("id");
+    public int getCardId(int card) {
+        return catalog()[card];
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    public int getCardById(int cardId) {
+        int[] ids = catalog();
+        for (int card = 0; card < ids.length; card++) {
+            if (ids[card] == cardId) return card;
         }
+        throw new RuntimeException("Carta no existe en catálogo: " + cardId);
     }
 
-    public String getSuitById(int cardId) {
+    private int[] catalog() {
+        int[] ids = idsByCard;
+        if (ids != null) return ids;
 
-        String sql = """
-            SELECT suit::text
-            FROM oh_hell.cards
-            WHERE id = ?
-        """;
+        List<CatalogRow> rows = Jdbc.list(CATALOG);
+        if (rows.size() != Cards.DECK_SIZE) {
+            throw new RuntimeException("Catálogo de cartas incompleto: " + rows.size() + " cartas");
+        }
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        ids = new int[Cards.DECK_SIZE];
+        for (CatalogRow row : rows) {
+            ids[row.card()] = row.id();
+        }
 
-            ps.setInt(1, cardId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getString(1);
+        idsByCard = ids;
+        return ids;
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    public int findCardId(String rankEnum, String suitEnum) {
+        return Jdbc.first(FIND_ID, rankEnum, suitEnum)
+                .orElseThrow(() -> new RuntimeException(
+                        "Carta no existe en catálogo: " + rankEnum + "_" + suitEnum
+                ));
+    }
+
+    public String getSuitById(int cardId) {
+        return Jdbc.first(SUIT, cardId).orElse(null);
     }
 }
@@ -1,17 +1,35 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.cache.LruCache;
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.metrics.Metrics;
 import com.ohhell.api.models.Game;
 
-import java.sql.*;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class GameDAO {
 
-    public Game create(String title) {
+    /**
+     * Partidas por código. Código, id, cartas y rondas no cambian nunca; el
+     * estado solo cambia en markStarted y markFinished, que invalidan.
+     */
+    private static final LruCache<String, Game> BY_CODE =
+            new LruCache<>("games", Settings.getInt("cache.games.size", 2_000));
+
+    public static LruCache.Stats cacheStats() {
+        return BY_CODE.stats();
+    }
 
-        String sql = """
+    // =========================
+    // CONSULTAS
+    // =========================
+    private static final Query<Game> CREATE = Query.select("GameDAO.create", """
             INSERT INTO oh_hell.games (code, title)
             VALUES (?, ?)
             RETURNING
@@ -23,39 +41,9 @@ public class GameDAO {
                 max_rounds,
                 created_at,
                 started_at
-        """;
-
-        String code = generateCode();
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, code);
-            ps.setString(2, title);
+        """, RowMappers.GAME);
 
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-
-            Game game = new Game();
-            game.setId((UUID) rs.getObject("id"));
-            game.setCode(rs.getString("code"));
-            game.setTitle(rs.getString("title"));
-            game.setStatus(rs.getString("status"));
-            game.setStartingCards(rs.getInt("starting_cards"));
-            game.setMaxRounds(rs.getInt("max_rounds"));
-            game.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
-            game.setStartedAt(rs.getObject("started_at", OffsetDateTime.class));
-
-            return game;
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    public Game findByCode(String code) {
-
-        String sql = """
+    private static final Query<Game> FIND_BY_CODE = Query.select("GameDAO.findByCode", """
             SELECT
                 id,
                 code,
@@ -67,70 +55,77 @@ public class GameDAO {
                 started_at
             FROM oh_hell.games
             WHERE code = ?
-        """;
+        """, RowMappers.GAME);
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    private static final Query<Void> MARK_STARTED = Query.update("GameDAO.markStarted", """
+            UPDATE oh_hell.games
+            SET status = 'PLAYING', started_at = now()
+            WHERE id = ? AND status = 'WAITING'
+        """);
 
-            ps.setString(1, code);
-            ResultSet rs = ps.executeQuery();
+    private static final Query<Void> MARK_FINISHED = Query.update("GameDAO.markFinished", """
+            UPDATE oh_hell.games
+            SET status = 'FINISHED'
+            WHERE id = ?
+        """);
 
-            if (!rs.next()) return null;
+    private static final Query<Map<String, Object>> AVAILABLE = Query.select("GameDAO.findAvailableGames", """
+            SELECT id, code, title, status, starting_cards, created_at
+            FROM oh_hell.games
+            WHERE status = ?
+            ORDER BY created_at DESC
+            LIMIT 10
+        """, rs -> {
+                Map<String, Object> gameMap = new HashMap<>();
+                gameMap.put("id", rs.getObject("id"));
+                gameMap.put("code", rs.getString("code"));
+                gameMap.put("title", rs.getString("title"));
+                gameMap.put("status", rs.getString("status"));
+                gameMap.put("startingCards", rs.getInt("starting_cards"));
+                gameMap.put("createdAt", rs.getObject("created_at"));
+                return gameMap;
+            });
 
-            Game game = new Game();
-            game.setId((UUID) rs.getObject("id"));
-            game.setCode(rs.getString("code"));
-            game.setTitle(rs.getString("title"));
-            game.setStatus(rs.getString("status"));
-            game.setStartingCards(rs.getInt("starting_cards"));
-            game.setMaxRounds(rs.getInt("max_rounds"));
-            game.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
-            game.setStartedAt(rs.getObject("started_at", OffsetDateTime.class));
+    public Game create(String title) {
+        Game game = Jdbc.first(CREATE, generateCode(), title).orElseThrow();
+        Metrics.GAMES_CREATED.increment();
+        return game;
+    }
 
-            return game;
+    // Se devuelve una copia: Game es mutable y la caché se comparte entre hilos
+    public Game findByCode(String code) {
+        Game game = BY_CODE.get(code, this::loadByCode);
+        return game == null ? null : copy(game);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    private Game loadByCode(String code) {
+        return Jdbc.first(FIND_BY_CODE, code).orElse(null);
     }
 
     public void markStarted(UUID gameId) {
-
-        String sql = """
-            UPDATE oh_hell.games
-            SET status = 'PLAYING', started_at = now()
-            WHERE id = ? AND status = 'WAITING'
-        """;
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        Jdbc.update(MARK_STARTED, gameId);
+        invalidate(gameId);
     }
 
     // ✅ PASO 9 — FIN DE PARTIDA
     public void markFinished(UUID gameId) {
+        Jdbc.update(MARK_FINISHED, gameId);
+        invalidate(gameId);
+    }
 
-        String sql = """
-            UPDATE oh_hell.games
-            SET status = 'FINISHED'
-            WHERE id = ?
-        """;
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ps.executeUpdate();
+    /**
+     * Descarta la partida ahora y otra vez al cerrar la transacción (se
+     * confirme o no), para que nadie cachee entre medias un estado sin
+     * confirmar.
+     */
+    private static void invalidate(UUID gameId) {
+        BY_CODE.invalidateIf(g -> g.getId().equals(gameId));
+        UnitOfWork.afterCompletion(() -> BY_CODE.invalidateIf(g -> g.getId().equals(gameId)));
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    private static Game copy(Game g) {
+        return new Game(g.getId(), g.getCode(), g.getTitle(), g.getStatus(),
+                g.getStartingCards(), g.getMaxRounds(), g.getCreatedAt(), g.getStartedAt());
     }
 
     private String generateCode() {
@@ -145,39 +140,46 @@ public class GameDAO {
     // =========================
 
     public List<Map<String, Object>> findAvailableGames(String status) {
-        String sql = """
-        SELECT id, code, title, status, starting_cards, created_at
-        FROM oh_hell.games
-        WHERE status = ?
-        ORDER BY created_at DESC
-        LIMIT 10
-    """;
-
-        List<Map<String, Object>> games = new ArrayList<>();
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setString(1, status);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                Map<String, Object> gameMap = new HashMap<>();
-                gameMap.put("id", rs.getObject("id"));
-                gameMap.put("code", rs.getString("code"));
-                gameMap.put("title", rs.getString("title"));
-                gameMap.put("status", rs.getString("status"));
-                gameMap.put("startingCards", rs.getInt("starting_cards"));
-                gameMap.put("createdAt", rs.getObject("created_at"));
-
-                games.add(gameMap);
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.list(AVAILABLE, status);
+    }
 
-        return games;
+    // =========================
+    // LOBBY
+    // =========================
+    public record OpenGameRow(
+            UUID id,
+            String code,
+            String title,
+            int startingCards,
+            OffsetDateTime createdAt,
+            int players
+    ) {}
+
+    private static final RowMapper<OpenGameRow> OPEN_GAME = rs -> new OpenGameRow(
+            rs.getObject("id", UUID.class),
+            rs.getString("code"),
+            rs.getString("title"),
+            rs.getInt("starting_cards"),
+            rs.getObject("created_at", OffsetDateTime.class),
+            rs.getInt("players")
+    );
+
+    private static final Query<OpenGameRow> OPEN_GAMES = Query.select("GameDAO.findOpenGames", """
+            SELECT g.id, g.code, g.title, g.starting_cards, g.created_at,
+                   COUNT(gp.player_id) AS players
+            FROM oh_hell.games g
+            LEFT JOIN oh_hell.game_players gp ON gp.game_id = g.id
+            WHERE g.status = 'WAITING'
+            GROUP BY g.id
+        """, OPEN_GAME);
+
+    /**
+     * Pasa a sink todas las partidas en espera con su número de jugadores,
+     * para cargar el directorio del lobby (ver Lobby). Se leen por tandas,
+     * sin cargar el resultado entero en memoria.
+     */
+    public void findOpenGames(Consumer<OpenGameRow> sink) {
+        Jdbc.stream(OPEN_GAMES, sink);
     }
 
 }
@@ -1,98 +1,56 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
 import com.ohhell.api.models.GamePlayerView;
 
-import java.sql.*;
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class GamePlayerDAO {
 
-    private static final int MAX_PLAYERS = 4;
+    public static final int MAX_PLAYERS = 4;
 
-    // =========================
-    // HOST
-    // =========================
-    public void addHost(UUID gameId, UUID playerId) {
-
-        String sql = """
-            INSERT INTO oh_hell.game_players
-            (game_id, player_id, seat_position, is_host, status)
-            VALUES (?, ?, 0, true, CAST('ACTIVE' AS player_status))
-        """;
+    public record SeatRow(long gamePlayerId, UUID playerId, int seat) {}
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    public record RosterRow(long gamePlayerId, UUID playerId, String nickname, int seat, boolean host) {}
 
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
-            ps.executeUpdate();
+    public record PlayerInfo(UUID playerId, String nickname) {}
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
+    private static final RowMapper<PlayerInfo> PLAYER_INFO = rs -> new PlayerInfo(
+            rs.getObject("id", UUID.class),
+            rs.getString("nickname")
+    );
 
     // =========================
-    // JOIN GAME
+    // CONSULTAS
     // =========================
-    public void joinGame(UUID gameId, UUID playerId) {
-
-        if (countPlayers(gameId) >= MAX_PLAYERS) {
-            throw new RuntimeException("La partida está llena");
-        }
+    private static final Query<Void> ADD_HOST = Query.update("GamePlayerDAO.addHost", """
+            INSERT INTO oh_hell.game_players
+            (game_id, player_id, seat_position, is_host, status)
+            VALUES (?, ?, 0, true, CAST('ACTIVE' AS player_status))
+        """);
 
-        int seat = nextSeat(gameId);
+    private static final Query<Void> SEAT = Query.update("GamePlayerDAO.seatPlayers", """
+            INSERT INTO oh_hell.game_players
+            (game_id, player_id, seat_position, is_host, status)
+            VALUES (?, ?, ?, ?, CAST('ACTIVE' AS player_status))
+        """);
 
-        String sql = """
+    private static final Query<Void> JOIN = Query.update("GamePlayerDAO.joinGame", """
             INSERT INTO oh_hell.game_players
             (game_id, player_id, seat_position, is_host, status)
             VALUES (?, ?, ?, false, CAST('PENDING' AS player_status))
-        """;
+        """);
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
-            ps.setInt(3, seat);
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    // =========================
-    // READY / UNREADY
-    // =========================
-    public void setReady(UUID gameId, UUID playerId, boolean ready) {
-
-        String sql = """
+    private static final Query<Void> SET_READY = Query.update("GamePlayerDAO.setReady", """
             UPDATE oh_hell.game_players
             SET status = CAST(? AS player_status)
             WHERE game_id = ? AND player_id = ?
-        """;
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, ready ? "ACTIVE" : "PENDING");
-            ps.setObject(2, gameId);
-            ps.setObject(3, playerId);
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
+        """);
 
-    // =========================
-    // LOBBY
-    // =========================
-    public List<GamePlayerView> getLobbyPlayers(UUID gameId) {
-
-        String sql = """
+    private static final Query<GamePlayerView> LOBBY_PLAYERS = Query.select("GamePlayerDAO.getLobbyPlayers", """
             SELECT
                 gp.player_id,
                 p.nickname,
@@ -103,150 +61,211 @@ public class GamePlayerDAO {
             JOIN oh_hell.players p ON p.id = gp.player_id
             WHERE gp.game_id = ?
             ORDER BY gp.seat_position
-        """;
-
-        List<GamePlayerView> list = new ArrayList<>();
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                list.add(new GamePlayerView(
-                        (UUID) rs.getObject("player_id"),
-                        rs.getString("nickname"),
-                        rs.getInt("seat_position"),
-                        rs.getBoolean("is_host"),
-                        "ACTIVE".equals(rs.getString("status"))
-                ));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return list;
-    }
-
-    // =========================
-    // CHECKS
-    // =========================
-    public boolean isHost(UUID gameId, UUID playerId) {
-
-        String sql = """
+        """, rs -> new GamePlayerView(
+                rs.getObject("player_id", UUID.class),
+                rs.getString("nickname"),
+                rs.getInt("seat_position"),
+                rs.getBoolean("is_host"),
+                "ACTIVE".equals(rs.getString("status"))
+        ));
+
+    private static final Query<Boolean> IS_HOST = Query.select("GamePlayerDAO.isHost", """
             SELECT is_host
             FROM oh_hell.game_players
             WHERE game_id = ? AND player_id = ?
-        """;
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
-
-            ResultSet rs = ps.executeQuery();
-            return rs.next() && rs.getBoolean("is_host");
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    public boolean areAllPlayersReady(UUID gameId) {
+        """, RowMapper.BOOLEAN);
 
-        String sql = """
+    private static final Query<Boolean> ALL_READY = Query.select("GamePlayerDAO.areAllPlayersReady", """
             SELECT COUNT(*) = SUM(
                 CASE WHEN status = 'ACTIVE' THEN 1 ELSE 0 END
             )
             FROM oh_hell.game_players
             WHERE game_id = ?
-        """;
+        """, RowMapper.BOOLEAN);
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getBoolean(1);
+    private static final Query<Long> GAME_PLAYER_ID = Query.select("GamePlayerDAO.getGamePlayerId", """
+            SELECT id
+            FROM oh_hell.game_players
+            WHERE game_id = ? AND player_id = ?
+        """, RowMapper.LONG);
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
+    private static final Query<SeatRow> SEATS = Query.select("GamePlayerDAO.getSeats", """
+            SELECT id, player_id, seat_position
+            FROM oh_hell.game_players
+            WHERE game_id = ?
+            ORDER BY seat_position
+        """, rs -> new SeatRow(
+                rs.getLong("id"),
+                rs.getObject("player_id", UUID.class),
+                rs.getInt("seat_position")
+        ));
+
+    private static final Query<RosterRow> ROSTER = Query.select("GamePlayerDAO.getRoster", """
+            SELECT gp.id, gp.player_id, p.nickname, gp.seat_position, gp.is_host
+            FROM oh_hell.game_players gp
+            JOIN oh_hell.players p ON p.id = gp.player_id
+            WHERE gp.game_id = ?
+            ORDER BY gp.seat_position
+        """, rs -> new RosterRow(
+                rs.getLong("id"),
+                rs.getObject("player_id", UUID.class),
+                rs.getString("nickname"),
+                rs.getInt("seat_position"),
+                rs.getBoolean("is_host")
+        ));
+
+    private static final Query<Integer> COUNT = Query.select("GamePlayerDAO.countPlayers", """
+            SELECT COUNT(*)
+            FROM oh_hell.game_players
+            WHERE game_id = ?
+        """, RowMapper.INT);
 
-    public long getGamePlayerId(UUID gameId, UUID playerId) {
+    private static final Query<String> ACTIVE_GAME = Query.select("GamePlayerDAO.findActiveGameCode", """
+            SELECT g.code
+            FROM oh_hell.game_players gp
+            JOIN oh_hell.games g ON g.id = gp.game_id
+            WHERE gp.player_id = ? AND g.status IN ('WAITING', 'PLAYING')
+            LIMIT 1
+        """, RowMapper.STRING);
 
-        String sql = """
-            SELECT id
+    private static final Query<Integer> SEAT_OF_PLAYER = Query.select("GamePlayerDAO.getSeat", """
+            SELECT seat_position
             FROM oh_hell.game_players
             WHERE game_id = ? AND player_id = ?
-        """;
+        """, RowMapper.INT);
+
+    private static final Query<Integer> SEAT_OF_GAME_PLAYER = Query.select("GamePlayerDAO.getSeatByGamePlayerId", """
+            SELECT seat_position
+            FROM oh_hell.game_players
+            WHERE id = ?
+        """, RowMapper.INT);
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    private static final Query<UUID> PLAYER_BY_SEAT = Query.select("GamePlayerDAO.getPlayerIdBySeat", """
+            SELECT player_id
+            FROM oh_hell.game_players
+            WHERE game_id = ? AND seat_position = ?
+        """, RowMapper.UUID);
 
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
+    private static final Query<UUID> PLAYER_BY_GAME_PLAYER = Query.select("GamePlayerDAO.getPlayerIdByGamePlayerId", """
+            SELECT player_id
+            FROM oh_hell.game_players
+            WHERE id = ?
+        """, RowMapper.UUID);
 
-            ResultSet rs = ps.executeQuery();
-            if (!rs.next()) {
-                throw new RuntimeException("Jugador no está en la partida");
-            }
+    private static final Query<PlayerInfo> INFO = Query.select("GamePlayerDAO.getPlayerInfo", """
+            SELECT p.id, p.nickname
+            FROM oh_hell.game_players gp
+            JOIN oh_hell.players p ON p.id = gp.player_id
+            WHERE gp.id = ?
+        """, PLAYER_INFO);
 
-            return rs.getLong("id");
+    private static final Query<PlayerInfo> GAME_PLAYERS = Query.select("GamePlayerDAO.getGamePlayers", """
+            SELECT p.id, p.nickname
+            FROM oh_hell.game_players gp
+            JOIN oh_hell.players p ON p.id = gp.player_id
+            WHERE gp.game_id = ?
+            ORDER BY gp.seat_position
+        """, PLAYER_INFO);
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    // =========================
+    // HOST
+    // =========================
+    public void addHost(UUID gameId, UUID playerId) {
+        Jdbc.update(ADD_HOST, gameId, playerId);
     }
 
-    public int countPlayers(UUID gameId) {
+    // =========================
+    // MATCHMAKING
+    // =========================
 
-        String sql = """
-            SELECT COUNT(*)
-            FROM oh_hell.game_players
-            WHERE game_id = ?
-        """;
+    /**
+     * Sienta de una vez a los jugadores de una mesa recién creada, en orden
+     * de asiento y ya listos; el primero es el host.
+     */
+    public void seatPlayers(UUID gameId, List<UUID> playerIds) {
+        Jdbc.batch(SEAT, IntStream.range(0, playerIds.size()).boxed().toList(), (ps, seat) -> {
+            ps.setObject(1, gameId);
+            ps.setObject(2, playerIds.get(seat));
+            ps.setInt(3, seat);
+            ps.setBoolean(4, seat == 0);
+        });
+    }
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    // =========================
+    // JOIN GAME
+    // =========================
 
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
+    // Cuenta y asiento no son atómicos: los joins de una partida van por su buzón
+    public void joinGame(UUID gameId, UUID playerId) {
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        if (countPlayers(gameId) >= MAX_PLAYERS) {
+            throw new RuntimeException("La partida está llena");
         }
+
+        int seat = nextSeat(gameId);
+        Jdbc.update(JOIN, gameId, playerId, seat);
     }
 
-    private int nextSeat(UUID gameId) {
+    // =========================
+    // READY / UNREADY
+    // =========================
+    public void setReady(UUID gameId, UUID playerId, boolean ready) {
+        Jdbc.update(SET_READY, ready ? "ACTIVE" : "PENDING", gameId, playerId);
+    }
 
-        String sql = """
-            SELECT seat_position
-            FROM oh_hell.game_players
-            WHERE game_id = ?
-        """;
+    // =========================
+    // LOBBY
+    // =========================
+    public List<GamePlayerView> getLobbyPlayers(UUID gameId) {
+        return Jdbc.list(LOBBY_PLAYERS, gameId);
+    }
 
-        Set<Integer> usedSeats = new HashSet<>();
+    // =========================
+    // CHECKS
+    // =========================
+    public boolean isHost(UUID gameId, UUID playerId) {
+        return Jdbc.first(IS_HOST, gameId, playerId).orElse(false);
+    }
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    public boolean areAllPlayersReady(UUID gameId) {
+        return Jdbc.first(ALL_READY, gameId).orElse(false);
+    }
 
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
+    public long getGamePlayerId(UUID gameId, UUID playerId) {
+        return Jdbc.first(GAME_PLAYER_ID, gameId, playerId)
+                .orElseThrow(() -> new RuntimeException("Jugador no está en la partida"));
+    }
 
-            while (rs.next()) {
-                usedSeats.add(rs.getInt("seat_position"));
-            }
+    public List<Long> getGamePlayerIds(UUID gameId) {
+        return getSeats(gameId).stream()
+                .map(SeatRow::gamePlayerId)
+                .toList();
+    }
+
+    public List<SeatRow> getSeats(UUID gameId) {
+        return Jdbc.list(SEATS, gameId);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    // =========================
+    // ROSTER (identidad y asiento de cada jugador)
+    // =========================
+    public List<RosterRow> getRoster(UUID gameId) {
+        return Jdbc.list(ROSTER, gameId);
+    }
+
+    public int countPlayers(UUID gameId) {
+        return Jdbc.first(COUNT, gameId).orElseThrow();
+    }
+
+    // Código de una partida sin terminar en la que ya está sentado el jugador
+    public Optional<String> findActiveGameCode(UUID playerId) {
+        return Jdbc.first(ACTIVE_GAME, playerId);
+    }
+
+    private int nextSeat(UUID gameId) {
+        Set<Integer> usedSeats = new HashSet<>();
+        for (SeatRow seat : getSeats(gameId)) {
+            usedSeats.add(seat.seat());
         }
 
         for (int i = 0; i < MAX_PLAYERS; i++) {
@@ -259,160 +278,34 @@ public class GamePlayerDAO {
     }
 
     public int getSeat(UUID gameId, UUID playerId) {
-        String sql = """
-        SELECT seat_position
-        FROM oh_hell.game_players
-        WHERE game_id = ? AND player_id = ?
-    """;
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
-
-            ResultSet rs = ps.executeQuery();
-            if (!rs.next()) {
-                throw new RuntimeException("Jugador no está en la partida");
-            }
-
-            return rs.getInt(1);
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(SEAT_OF_PLAYER, gameId, playerId)
+                .orElseThrow(() -> new RuntimeException("Jugador no está en la partida"));
     }
 
     public int getSeatByGamePlayerId(long gamePlayerId) {
-
-        String sql = """
-        SELECT seat_position
-        FROM oh_hell.game_players
-        WHERE id = ?
-    """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, gamePlayerId);
-            ResultSet rs = ps.executeQuery();
-
-            if (!rs.next()) {
-                throw new RuntimeException("GamePlayer no encontrado");
-            }
-
-            return rs.getInt("seat_position");
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(SEAT_OF_GAME_PLAYER, gamePlayerId)
+                .orElseThrow(() -> new RuntimeException("GamePlayer no encontrado"));
     }
 
     public UUID getPlayerIdBySeat(UUID gameId, int seat) {
-        String sql = """
-        SELECT player_id
-        FROM oh_hell.game_players
-        WHERE game_id = ? AND seat_position = ?
-    """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ps.setInt(2, seat);
-
-            ResultSet rs = ps.executeQuery();
-            if (!rs.next()) throw new RuntimeException("Jugador no encontrado");
-
-            return (UUID) rs.getObject("player_id");
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(PLAYER_BY_SEAT, gameId, seat)
+                .orElseThrow(() -> new RuntimeException("Jugador no encontrado"));
     }
 
     public UUID getPlayerIdByGamePlayerId(long gpId) {
-        String sql = """
-        SELECT player_id
-        FROM oh_hell.game_players
-        WHERE id = ?
-    """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, gpId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return (UUID) rs.getObject("player_id");
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(PLAYER_BY_GAME_PLAYER, gpId)
+                .orElseThrow(() -> new RuntimeException("GamePlayer no encontrado"));
     }
 
-    public record PlayerInfo(UUID playerId, String nickname) {}
-
     public PlayerInfo getPlayerInfo(long gamePlayerId) {
-
-        String sql = """
-        SELECT p.id, p.nickname
-        FROM oh_hell.game_players gp
-        JOIN oh_hell.players p ON p.id = gp.player_id
-        WHERE gp.id = ?
-    """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, gamePlayerId);
-            ResultSet rs = ps.executeQuery();
-
-            if (!rs.next()) {
-                throw new RuntimeException("GamePlayer no encontrado");
-            }
-
-            return new PlayerInfo(
-                    rs.getObject("id", UUID.class),
-                    rs.getString("nickname")
-            );
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(INFO, gamePlayerId)
+                .orElseThrow(() -> new RuntimeException("GamePlayer no encontrado"));
     }
 
     // =========================
-// GET GAME PLAYERS
-// =========================
+    // GET GAME PLAYERS
+    // =========================
     public List<PlayerInfo> getGamePlayers(UUID gameId) {
-        String sql = """
-        SELECT p.id, p.nickname
-        FROM oh_hell.game_players gp
-        JOIN oh_hell.players p ON p.id = gp.player_id
-        WHERE gp.game_id = ?
-        ORDER BY gp.seat_position
-    """;
-
-        List<PlayerInfo> list = new ArrayList<>();
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
-
-            while (rs.next()) {
-                list.add(new PlayerInfo(
-                        (UUID) rs.getObject("id"),
-                        rs.getString("nickname")
-                ));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return list;
+        return Jdbc.list(GAME_PLAYERS, gameId);
     }
 }
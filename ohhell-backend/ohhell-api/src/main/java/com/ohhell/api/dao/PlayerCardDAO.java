@@ -1,130 +1,128 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.engine.Cards;
 
-import java.sql.*;
 import java.util.*;
 
 public class PlayerCardDAO {
 
+    private record CardRow(long gamePlayerId, String card) {}
+
     // =========================
-    // REPARTO
+    // CONSULTAS
     // =========================
-
-    public void addCard(long roundId, long gpId, String card) {
-
-        String sql = """
+    private static final Query<Void> ADD_CARD = Query.update("PlayerCardDAO.addCard", """
             INSERT INTO oh_hell.round_player_cards
             (round_id, game_player_id, card)
             VALUES (?, ?, ?)
-        """;
+        """);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ps.setLong(2, gpId);
-            ps.setString(3, card);
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    public List<String> getHand(long roundId, long gpId) {
+    private static final Query<Void> ADD_HANDS = Query.update("PlayerCardDAO.addHands", """
+            INSERT INTO oh_hell.round_player_cards
+            (round_id, game_player_id, card)
+            SELECT ?, gp, card
+            FROM unnest(?::bigint[], ?::text[]) AS t(gp, card)
+        """);
 
-        String sql = """
+    private static final Query<String> HAND = Query.select("PlayerCardDAO.getHand", """
             SELECT card
             FROM oh_hell.round_player_cards
             WHERE round_id = ? AND game_player_id = ?
             ORDER BY card
-        """;
-
-        List<String> hand = new ArrayList<>();
+        """, RowMapper.STRING);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ps.setLong(2, gpId);
-
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                hand.add(rs.getString("card"));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return hand;
-    }
-
-    // =========================
-    // VALIDACIONES
-    // =========================
-
-    public boolean playerHasSuit(long roundId, long gpId, String suit) {
+    private static final Query<CardRow> HANDS = Query.select("PlayerCardDAO.getHands", """
+            SELECT game_player_id, card
+            FROM oh_hell.round_player_cards
+            WHERE round_id = ?
+            ORDER BY game_player_id, card
+        """, rs -> new CardRow(rs.getLong("game_player_id"), rs.getString("card")));
 
-        String sql = """
+    private static final Query<Integer> HAS_SUIT = Query.select("PlayerCardDAO.playerHasSuit", """
             SELECT 1
             FROM oh_hell.round_player_cards
             WHERE round_id = ?
               AND game_player_id = ?
               AND card LIKE ?
-        """;
+        """, RowMapper.INT);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+    private static final Query<Void> REMOVE_CARD = Query.update("PlayerCardDAO.removeCard", """
+            DELETE FROM oh_hell.round_player_cards
+            WHERE round_id = ?
+              AND game_player_id = ?
+              AND card = ?
+        """);
 
-            ps.setLong(1, roundId);
-            ps.setLong(2, gpId);
-            ps.setString(3, "%_" + suit);
+    private static final Query<Void> CLEAR = Query.update("PlayerCardDAO.clearHand",
+            "DELETE FROM oh_hell.round_player_cards WHERE round_id = ?");
 
-            return ps.executeQuery().next();
+    // =========================
+    // REPARTO
+    // =========================
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    public void addCard(long roundId, long gpId, String card) {
+        Jdbc.update(ADD_CARD, roundId, gpId, card);
     }
 
-    public void removeCard(long roundId, long gpId, String card) {
+    // Reparto completo de una ronda en una sola sentencia:
+    // hands[i] es la máscara de cartas (ver Cards) de gamePlayerIds[i]
+    public int addHands(long roundId, List<Long> gamePlayerIds, long[] hands) {
 
-        String sql = """
-            DELETE FROM oh_hell.round_player_cards
-            WHERE round_id = ?
-              AND game_player_id = ?
-              AND card = ?
-        """;
+        int total = 0;
+        for (long hand : hands) {
+            total += Cards.size(hand);
+        }
+
+        Long[] gpIds = new Long[total];
+        String[] cards = new String[total];
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        int n = 0;
+        for (int i = 0; i < hands.length; i++) {
+            for (String card : Cards.texts(hands[i])) {
+                gpIds[n] = gamePlayerIds.get(i);
+                cards[n] = card;
+                n++;
+            }
+        }
 
+        return Jdbc.update(ADD_HANDS, ps -> {
             ps.setLong(1, roundId);
-            ps.setLong(2, gpId);
-            ps.setString(3, card);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", gpIds));
+            ps.setArray(3, ps.getConnection().createArrayOf("text", cards));
+        });
+    }
 
-            if (ps.executeUpdate() == 0) {
-                throw new RuntimeException("La carta no está en la mano");
-            }
+    public List<String> getHand(long roundId, long gpId) {
+        return Jdbc.list(HAND, roundId, gpId);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    // Manos de todos los jugadores de la ronda (gamePlayerId -> cartas)
+    public Map<Long, List<String>> getHands(long roundId) {
+        Map<Long, List<String>> hands = new HashMap<>();
+        for (CardRow row : Jdbc.list(HANDS, roundId)) {
+            hands.computeIfAbsent(row.gamePlayerId(), k -> new ArrayList<>()).add(row.card());
         }
+        return hands;
     }
 
-    public void clearHand(long roundId) {
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "DELETE FROM oh_hell.round_player_cards WHERE round_id = ?")) {
+    // =========================
+    // VALIDACIONES
+    // =========================
 
-            ps.setLong(1, roundId);
-            ps.executeUpdate();
+    public boolean playerHasSuit(long roundId, long gpId, String suit) {
+        return Jdbc.exists(HAS_SUIT, roundId, gpId, "%_" + suit);
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    public void removeCard(long roundId, long gpId, String card) {
+        if (Jdbc.update(REMOVE_CARD, roundId, gpId, card) == 0) {
+            throw new RuntimeException("La carta no está en la mano");
         }
     }
+
+    public void clearHand(long roundId) {
+        Jdbc.update(CLEAR, roundId);
+    }
 }
@@ -1,37 +1,57 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.cache.LruCache;
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.db.UnitOfWork;
 import com.ohhell.api.models.Player;
 
-import java.sql.*;
 import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
 public class PlayerDAO {
 
-    public Optional<Player> findByUserId(UUID userId) {
-        String sql = """
+    /**
+     * Player de cada usuario. La relación no cambia una vez creado el
+     * Player, así que no hace falta invalidar: solo se descarta por capacidad.
+     */
+    private static final LruCache<UUID, Player> BY_USER =
+            new LruCache<>("players", Settings.getInt("cache.players.size", 10_000));
+
+    public static LruCache.Stats cacheStats() {
+        return BY_USER.stats();
+    }
+
+    private static final RowMapper<Player> PLAYER = rs -> new Player(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("nickname"),
+            rs.getObject("created_at", OffsetDateTime.class)
+    );
+
+    private static final Query<Player> BY_USER_ID = Query.select("PlayerDAO.findByUserId", """
             SELECT id, user_id, nickname, created_at
             FROM oh_hell.players
             WHERE user_id = ?
-        """;
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        """, PLAYER);
 
-            ps.setObject(1, userId);
+    private static final Query<Player> CREATE = Query.select("PlayerDAO.create", """
+            INSERT INTO oh_hell.players (user_id, nickname)
+            VALUES (?, ?)
+            RETURNING id, user_id, nickname, created_at
+        """, PLAYER);
 
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return Optional.of(map(rs));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    // Se devuelve una copia: Player es mutable y la caché se comparte entre hilos
+    public Optional<Player> findByUserId(UUID userId) {
+        Player player = BY_USER.get(userId, this::loadByUserId);
+        return player == null ? Optional.empty() : Optional.of(copy(player));
+    }
 
-        return Optional.empty();
+    private Player loadByUserId(UUID userId) {
+        return Jdbc.first(BY_USER_ID, userId).orElse(null);
     }
 
     public Player create(UUID userId, String nickname) {
@@ -40,35 +60,13 @@ public class PlayerDAO {
             nickname = nickname.substring(0, 40);
         }
 
-        String sql = """
-        INSERT INTO oh_hell.players (user_id, nickname)
-        VALUES (?, ?)
-        RETURNING id, created_at
-    """;
+        Optional<Player> created;
+        try {
+            created = Jdbc.first(CREATE, userId, nickname);
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setObject(1, userId);
-            ps.setString(2, nickname);
-
-            ResultSet rs = ps.executeQuery();
-
-            if (!rs.next()) {
-                throw new RuntimeException("No se pudo crear el Player");
-            }
-
-            Player p = new Player();
-            p.setId((UUID) rs.getObject("id"));
-            p.setUserId(userId);
-            p.setNickname(nickname);
-            p.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
-
-            return p;
-
-        } catch (SQLException e) {
+        } catch (RuntimeException e) {
             // Mejorar mensajes de error
-            String errorMsg = e.getMessage();
+            String errorMsg = String.valueOf(e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
             if (errorMsg.contains("players_nickname_key")) {
                 throw new RuntimeException("El nickname '" + nickname + "' ya está en uso");
             } else if (errorMsg.contains("players_user_id_key")) {
@@ -77,14 +75,17 @@ public class PlayerDAO {
                 throw new RuntimeException("Error de base de datos: " + errorMsg);
             }
         }
+
+        Player p = created.orElseThrow(() -> new RuntimeException("No se pudo crear el Player"));
+
+        // Solo se cachea si la transacción se confirma
+        Player cached = copy(p);
+        UnitOfWork.afterCommit(() -> BY_USER.put(userId, cached));
+
+        return p;
     }
 
-    private Player map(ResultSet rs) throws SQLException {
-        return new Player(
-                (UUID) rs.getObject("id"),
-                (UUID) rs.getObject("user_id"),
-                rs.getString("nickname"),
-                rs.getObject("created_at", OffsetDateTime.class)
-        );
+    private static Player copy(Player p) {
+        return new Player(p.getId(), p.getUserId(), p.getNickname(), p.getCreatedAt());
     }
 }
@@ -1,303 +1,235 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.engine.Cards;
+import com.ohhell.api.log.Log;
+import com.ohhell.api.metrics.Metrics;
 import com.ohhell.api.models.RoundView;
 
-import java.sql.*;
-import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class RoundDAO {
 
-    public void createFirstRound(UUID gameId, int cardsPerPlayer, int dealerSeat) {
-        System.out.println("🎲 Creando primera ronda para juego: " + gameId);
+    private static final Log log = Log.get(RoundDAO.class);
 
-        String sql = """
+    // =========================
+    // CONSULTAS
+    // =========================
+    private static final Query<Long> CREATE = Query.select("RoundDAO.createRound", """
             INSERT INTO oh_hell.rounds
             (game_id, number, cards_per_player, dealer_seat, phase, started_at)
-            VALUES (?, 1, ?, ?, 'BETTING', now())
+            VALUES (?, ?, ?, ?, 'BETTING', now())
             RETURNING id
-        """;
+        """, RowMapper.LONG);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+    private static final Query<Void> FINISH = Query.update("RoundDAO.finishRound", """
+            UPDATE oh_hell.rounds
+            SET phase = 'FINISHED', finished_at = now()
+            WHERE id = ? AND finished_at IS NULL
+        """);
 
-            ps.setObject(1, gameId);
-            ps.setInt(2, cardsPerPlayer);
-            ps.setInt(3, dealerSeat);
+    private static final Query<Void> UPDATE_PHASE = Query.update("RoundDAO.updatePhase",
+            "UPDATE oh_hell.rounds SET phase = ? WHERE id = ?");
 
-            ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                long roundId = rs.getLong("id");
-                System.out.println("✅ Ronda creada con ID: " + roundId);
-            }
+    private static final Query<RoundView> CURRENT = Query.select("RoundDAO.findCurrentRound", """
+            SELECT id, number, cards_per_player, dealer_seat, phase, started_at
+            FROM oh_hell.rounds
+            WHERE game_id = ?
+              AND finished_at IS NULL
+            ORDER BY number DESC
+            LIMIT 1
+        """, RowMappers.ROUND_VIEW);
 
-        } catch (SQLException e) {
-            System.err.println("❌ Error creando ronda: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
-    }
+    private static final Query<Void> SET_TRUMP = Query.update("RoundDAO.setTrumpCard",
+            "UPDATE oh_hell.rounds SET trump_card_id = ? WHERE id = ?");
 
-    public void updatePhase(long roundId, String phase) {
-        System.out.println("🔄 Actualizando fase de ronda " + roundId + " a: " + phase);
+    private static final Query<Integer> TRUMP_CARD = Query.select("RoundDAO.getTrumpCardId",
+            "SELECT trump_card_id FROM oh_hell.rounds WHERE id = ?", RowMapper.INT);
 
-        String sql = "UPDATE oh_hell.rounds SET phase = ? WHERE id = ?";
+    private static final Query<String> TRUMP_SUIT = Query.select("RoundDAO.getTrumpSuit", """
+            SELECT c.suit::text
+            FROM oh_hell.rounds r
+            JOIN oh_hell.cards c ON c.id = r.trump_card_id
+            WHERE r.id = ?
+        """, RowMapper.STRING);
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+    private static final Query<Long> ROUND_PLAYERS = Query.select("RoundDAO.startPlayingPhase", """
+            SELECT id
+            FROM oh_hell.game_players
+            WHERE game_id = (
+                SELECT game_id FROM oh_hell.rounds WHERE id = ?
+            )
+            ORDER BY seat_position
+        """, RowMapper.LONG);
 
-            ps.setString(1, phase);
-            ps.setLong(2, roundId);
-            ps.executeUpdate();
+    private static final Query<Integer> CARDS_PER_PLAYER = Query.select("RoundDAO.getCardsPerPlayer", """
+            SELECT cards_per_player
+            FROM oh_hell.rounds
+            WHERE id = ?
+        """, RowMapper.INT);
+
+    private static final Query<Integer> CARDS_DEALT = Query.select("RoundDAO.hasCardsDealt", """
+            SELECT 1
+            FROM oh_hell.round_player_cards
+            WHERE round_id = ?
+            LIMIT 1
+        """, RowMapper.INT);
+
+    public void createFirstRound(UUID gameId, int cardsPerPlayer, int dealerSeat) {
+        createRound(gameId, 1, cardsPerPlayer, dealerSeat);
+    }
+
+    public long createRound(UUID gameId, int number, int cardsPerPlayer, int dealerSeat) {
+        log.debug("Creando ronda {} para juego {}", number, gameId);
 
-            System.out.println("✅ Fase actualizada");
+        try {
+            long roundId = Jdbc.first(CREATE, gameId, number, cardsPerPlayer, dealerSeat).orElseThrow();
+            Metrics.ROUNDS_CREATED.increment();
+            log.info("Ronda {} ({}) creada para juego {}", roundId, number, gameId);
+            return roundId;
 
-        } catch (SQLException e) {
-            System.err.println("❌ Error actualizando fase: " + e.getMessage());
-            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            log.error("Error creando ronda para juego {}: {}", gameId, e.getMessage());
+            throw e;
         }
     }
 
-    public RoundView findCurrentRound(UUID gameId) {
-        System.out.println("🔍 Buscando ronda actual para juego: " + gameId);
+    // Devuelve false si la ronda ya estaba cerrada
+    public boolean finishRound(long roundId) {
+        log.debug("Cerrando ronda {}", roundId);
 
-        String sql = """
-            SELECT id, number, cards_per_player, dealer_seat, phase, started_at
-            FROM oh_hell.rounds
-            WHERE game_id = ?
-              AND finished_at IS NULL
-            ORDER BY number DESC
-            LIMIT 1
-        """;
+        try {
+            return Jdbc.update(FINISH, roundId) > 0;
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+        } catch (RuntimeException e) {
+            log.error("Error cerrando ronda {}: {}", roundId, e.getMessage());
+            throw e;
+        }
+    }
 
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
+    public void updatePhase(long roundId, String phase) {
+        log.debug("Actualizando fase de ronda {} a {}", roundId, phase);
 
-            if (!rs.next()) {
-                System.out.println("ℹ️ No hay ronda activa para juego: " + gameId);
-                return null;
-            }
+        try {
+            Jdbc.update(UPDATE_PHASE, phase, roundId);
 
-            RoundView round = new RoundView(
-                    rs.getLong("id"),
-                    rs.getInt("number"),
-                    rs.getInt("cards_per_player"),
-                    rs.getInt("dealer_seat"),
-                    rs.getString("phase"),
-                    rs.getObject("started_at", OffsetDateTime.class)
-            );
+        } catch (RuntimeException e) {
+            log.error("Error actualizando fase de ronda {}: {}", roundId, e.getMessage());
+            throw e;
+        }
+    }
 
-            System.out.println("✅ Ronda encontrada: ID=" + round.getId() +
-                    ", Fase=" + round.getPhase() +
-                    ", Cartas=" + round.getCardsPerPlayer());
+    public RoundView findCurrentRound(UUID gameId) {
+        RoundView round;
+        try {
+            round = Jdbc.first(CURRENT, gameId).orElse(null);
 
-            return round;
+        } catch (RuntimeException e) {
+            log.error("Error buscando ronda de juego {}: {}", gameId, e.getMessage());
+            throw e;
+        }
 
-        } catch (SQLException e) {
-            System.err.println("❌ Error buscando ronda: " + e.getMessage());
-            throw new RuntimeException(e);
+        if (round == null) {
+            log.debug("No hay ronda activa para juego {}", gameId);
+        } else if (log.isDebugEnabled()) {
+            log.debug("Ronda actual de juego {}: id={}, fase={}", gameId, round.getId(), round.getPhase());
         }
+        return round;
     }
 
     // =========================
     // REPARTO + TRIUNFO (FIX ENUMS)
     // =========================
     public void dealCards(long roundId, List<Long> gamePlayerIds, int cardsPerPlayer) {
-        System.out.println("🎴 Repartiendo cartas para ronda: " + roundId);
-        System.out.println("🎴 Jugadores: " + gamePlayerIds.size() +
-                ", Cartas por jugador: " + cardsPerPlayer);
+        long start = System.nanoTime();
 
         PlayerCardDAO playerCardDAO = new PlayerCardDAO();
         CardDAO cardDAO = new CardDAO();
 
-        List<String> deck = buildDeck();
-        Collections.shuffle(deck);
-        System.out.println("✅ Mazo creado y barajado: " + deck.size() + " cartas");
-
-        Iterator<String> it = deck.iterator();
-
-        // Repartir cartas
-        int totalCards = 0;
-        for (int i = 0; i < cardsPerPlayer; i++) {
-            for (long gpId : gamePlayerIds) {
-                if (it.hasNext()) {
-                    String card = it.next();
-                    playerCardDAO.addCard(roundId, gpId, card);
-                    totalCards++;
-                }
-            }
-        }
-        System.out.println("✅ Cartas repartidas: " + totalCards + " cartas");
-
-        // Carta de triunfo
-        if (it.hasNext()) {
-            String trump = it.next();
-            System.out.println("🎯 Carta de triunfo: " + trump);
-
-            String[] parts = trump.split("_");
-
-            String rankEnum = mapRank(parts[0]);
-            String suitEnum = mapSuit(parts[1]);
-
-            int trumpCardId = cardDAO.findCardId(rankEnum, suitEnum);
-            System.out.println("🎯 ID de triunfo en BD: " + trumpCardId);
-
-            String sql = "UPDATE oh_hell.rounds SET trump_card_id = ? WHERE id = ?";
-
-            try (Connection c = Database.getConnection();
-                 PreparedStatement ps = c.prepareStatement(sql)) {
+        byte[] deck = Cards.newDeck();
+        Cards.shuffle(deck, ThreadLocalRandom.current());
 
-                ps.setInt(1, trumpCardId);
-                ps.setLong(2, roundId);
-                ps.executeUpdate();
-                System.out.println("✅ Triunfo guardado en BD");
+        // Repartir cartas (una máscara de bits por jugador)
+        long[] hands = new long[gamePlayerIds.size()];
+        int trump = Cards.deal(deck, hands, cardsPerPlayer);
 
-            } catch (SQLException e) {
-                System.err.println("❌ Error guardando triunfo: " + e.getMessage());
-                throw new RuntimeException(e);
-            }
-        } else {
-            System.err.println("⚠️ No hay cartas para triunfo");
+        if (trump == Cards.NONE) {
+            log.warn("Ronda {} sin carta de triunfo", roundId);
         }
-    }
-
-    private List<String> buildDeck() {
-        String[] suits = {"H", "D", "C", "S"};
-        String[] ranks = {"2","3","4","5","6","7","8","9","10","J","Q","K","A"};
+        int trumpCardId = trump != Cards.NONE ? cardDAO.getCardId(trump) : 0;
 
-        List<String> deck = new ArrayList<>();
-
-        for (String suit : suits) {
-            for (String rank : ranks) {
-                deck.add(rank + "_" + suit);
+        // Manos + triunfo en una sola transacción y dos sentencias
+        int totalCards = UnitOfWork.inTransaction(() -> {
+            int dealt = playerCardDAO.addHands(roundId, gamePlayerIds, hands);
+            if (trump != Cards.NONE) {
+                setTrumpCard(roundId, trumpCardId);
             }
-        }
+            return dealt;
+        });
 
-        return deck;
+        log.info("Ronda {} repartida: {} jugadores, {} cartas, triunfo {}, {} µs",
+                roundId, gamePlayerIds.size(), totalCards,
+                trump != Cards.NONE ? Cards.text(trump) : "-",
+                (System.nanoTime() - start) / 1_000);
     }
 
-    // =========================
-    // ENUM MAPPERS (CLAVE)
-    // =========================
-    private String mapSuit(String s) {
-        return switch (s) {
-            case "H" -> "HEARTS";
-            case "D" -> "DIAMONDS";
-            case "C" -> "CLUBS";
-            case "S" -> "SPADES";
-            default -> throw new IllegalArgumentException("Palo inválido: " + s);
-        };
-    }
+    private void setTrumpCard(long roundId, int trumpCardId) {
+        try {
+            Jdbc.update(SET_TRUMP, trumpCardId, roundId);
 
-    private String mapRank(String r) {
-        return switch (r) {
-            case "A" -> "ACE";
-            case "K" -> "KING";
-            case "Q" -> "QUEEN";
-            case "J" -> "JACK";
-            default -> r; // 2–10
-        };
+        } catch (RuntimeException e) {
+            log.error("Error guardando triunfo de ronda {}: {}", roundId, e.getMessage());
+            throw e;
+        }
     }
 
     public int getTrumpCardId(long roundId) {
-        String sql = "SELECT trump_card_id FROM oh_hell.rounds WHERE id = ?";
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
+        return Jdbc.first(TRUMP_CARD, roundId).orElseThrow();
+    }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+    // Palo del triunfo (HEARTS, DIAMONDS...), o null si aún no hay
+    public String getTrumpSuit(long roundId) {
+        return Jdbc.first(TRUMP_SUIT, roundId).orElse(null);
     }
 
     public void startPlayingPhase(long roundId) {
-        System.out.println("🚀 Iniciando fase de juego para ronda: " + roundId);
-
-        String sqlPlayers = """
-            SELECT id
-            FROM oh_hell.game_players
-            WHERE game_id = (
-                SELECT game_id FROM oh_hell.rounds WHERE id = ?
-            )
-            ORDER BY seat_position
-        """;
-
-        String sqlCards = """
-            SELECT cards_per_player
-            FROM oh_hell.rounds
-            WHERE id = ?
-        """;
-
-        try (Connection c = Database.getConnection()) {
+        log.debug("Iniciando fase de juego para ronda {}", roundId);
 
+        try {
             // 1️⃣ Obtener jugadores ordenados por asiento
-            List<Long> gamePlayerIds = new ArrayList<>();
-
-            try (PreparedStatement ps = c.prepareStatement(sqlPlayers)) {
-                ps.setLong(1, roundId);
-                ResultSet rs = ps.executeQuery();
-                while (rs.next()) {
-                    gamePlayerIds.add(rs.getLong("id"));
-                }
-                System.out.println("👥 Jugadores encontrados: " + gamePlayerIds.size());
-            }
+            List<Long> gamePlayerIds = Jdbc.list(ROUND_PLAYERS, roundId);
 
             // 2️⃣ Nº de cartas por jugador
-            int cardsPerPlayer;
-            try (PreparedStatement ps = c.prepareStatement(sqlCards)) {
-                ps.setLong(1, roundId);
-                ResultSet rs = ps.executeQuery();
-                rs.next();
-                cardsPerPlayer = rs.getInt("cards_per_player");
-                System.out.println("🎴 Cartas por jugador: " + cardsPerPlayer);
-            }
+            int cardsPerPlayer = Jdbc.first(CARDS_PER_PLAYER, roundId).orElseThrow();
 
             // 3️⃣ Repartir cartas y triunfo (si aún no se han repartido)
             // Verificar si ya hay cartas repartidas
             if (!hasCardsDealt(roundId)) {
-                System.out.println("🃏 Repartiendo cartas...");
                 dealCards(roundId, gamePlayerIds, cardsPerPlayer);
             } else {
-                System.out.println("ℹ️ Cartas ya repartidas, omitiendo reparto");
+                log.debug("Ronda {} ya repartida, se omite el reparto", roundId);
             }
 
             // 4️⃣ Cambiar fase a PLAYING
             updatePhase(roundId, "PLAYING");
-            System.out.println("✅ Fase cambiada a PLAYING");
 
-        } catch (SQLException e) {
-            System.err.println("❌ Error iniciando fase de juego: " + e.getMessage());
-            throw new RuntimeException(e);
+        } catch (RuntimeException e) {
+            log.error("Error iniciando fase de juego de ronda {}: {}", roundId, e.getMessage());
+            throw e;
         }
     }
 
     private boolean hasCardsDealt(long roundId) {
-        String sql = """
-            SELECT COUNT(*) as count 
-            FROM oh_hell.round_player_cards 
-            WHERE round_id = ?
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            int count = rs.getInt("count");
-            return count > 0;
+        try {
+            return Jdbc.exists(CARDS_DEALT, roundId);
 
-        } catch (SQLException e) {
-            System.err.println("❌ Error verificando cartas: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error verificando cartas de ronda {}: {}", roundId, e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,28 +1,30 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
-
-import java.sql.*;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
 
 public class RoundHandDAO {
 
+    // El lead suit es el palo de la primera carta de la baza actual: cada
+    // baza son tantas jugadas como jugadores, y si está recién cerrada no hay
+    private static final Query<String> LEAD_SUIT = Query.select("RoundHandDAO.getLeadSuit", """
+            WITH t AS (
+                SELECT
+                    (SELECT COUNT(*) FROM oh_hell.round_plays WHERE round_id = r.id) AS played,
+                    (SELECT COUNT(*) FROM oh_hell.game_players WHERE game_id = r.game_id) AS players
+                FROM oh_hell.rounds r
+                WHERE r.id = ?
+            )
+            SELECT SPLIT_PART(rp.card, '_', 2) AS suit
+            FROM oh_hell.round_plays rp, t
+            WHERE rp.round_id = ?
+              AND t.played % t.players <> 0
+              AND rp.play_order = t.played - t.played % t.players
+            """, RowMapper.STRING);
+
     public String getLeadSuit(long roundId) {
-        // El lead suit es el palo de la primera carta jugada en la baza actual
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     """
-                     SELECT SUBSTRING(card FROM 3) as suit
-                     FROM oh_hell.round_plays
-                     WHERE round_id = ?
-                     ORDER BY play_order ASC
-                     LIMIT 1
-                     """)) {
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            return rs.next() ? rs.getString("suit") : null;
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(LEAD_SUIT, roundId, roundId).orElse(null);
     }
 
     // setLeadSuit y clearLeadSuit eliminados - el lead suit se calcula desde round_plays
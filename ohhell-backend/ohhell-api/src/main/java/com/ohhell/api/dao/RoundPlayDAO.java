@@ -1,58 +1,46 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.metrics.Metrics;
 
-import java.sql.*;
-import java.util.*;
+import java.util.List;
 
 public class RoundPlayDAO {
 
     public record PlayedCard(long gamePlayerId, String card, int order) {}
 
+    private static final Query<Integer> COUNT = Query.select("RoundPlayDAO.countPlays",
+            "SELECT COUNT(*) FROM oh_hell.round_plays WHERE round_id = ?", RowMapper.INT);
+
+    private static final Query<Void> PLAY = Query.update("RoundPlayDAO.playCard", """
+            INSERT INTO oh_hell.round_plays (round_id, game_player_id, card, play_order)
+            SELECT ?, ?, ?, ?
+            WHERE NOT EXISTS (
+                SELECT 1 FROM oh_hell.round_plays
+                WHERE round_id = ? AND play_order >= ?
+            )
+            """);
+
+    private static final Query<PlayedCard> PLAYS = Query.select("RoundPlayDAO.getPlays",
+            "SELECT game_player_id, card, play_order FROM oh_hell.round_plays WHERE round_id = ? ORDER BY play_order",
+            RowMappers.PLAYED_CARD);
+
     public int countPlays(long roundId) {
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "SELECT COUNT(*) FROM oh_hell.round_plays WHERE round_id = ?")) {
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        return Jdbc.first(COUNT, roundId).orElseThrow();
     }
 
-    public void playCard(long roundId, long gpId, String card, int order) {
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "INSERT INTO oh_hell.round_plays VALUES (DEFAULT,?,?,?,?)")) {
-            ps.setLong(1, roundId);
-            ps.setLong(2, gpId);
-            ps.setString(3, card);
-            ps.setInt(4, order);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+    // Solo inserta si la jugada es la siguiente de la ronda; false si otra se adelantó
+    public boolean playCard(long roundId, long gpId, String card, int order) {
+        if (Jdbc.update(PLAY, roundId, gpId, card, order, roundId, order) == 0) {
+            return false;
         }
+        Metrics.CARDS_PLAYED.increment();
+        return true;
     }
 
     public List<PlayedCard> getPlays(long roundId) {
-        List<PlayedCard> list = new ArrayList<>();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "SELECT game_player_id, card, play_order FROM oh_hell.round_plays WHERE round_id = ? ORDER BY play_order")) {
-            ps.setLong(1, roundId);
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                list.add(new PlayedCard(
-                        rs.getLong(1),
-                        rs.getString(2),
-                        rs.getInt(3)
-                ));
-            }
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-        return list;
+        return Jdbc.list(PLAYS, roundId);
     }
 }
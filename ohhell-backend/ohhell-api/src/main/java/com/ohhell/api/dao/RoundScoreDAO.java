@@ -1,13 +1,19 @@
 package com.ohhell.api.dao;
 
-import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
 
-import java.sql.*;
 import java.util.*;
 import java.util.UUID;
 
 public class RoundScoreDAO {
 
+    private static final Query<Void> SAVE = Query.update("RoundScoreDAO.saveScore", """
+            INSERT INTO oh_hell.round_scores
+            (round_id, game_player_id, lives_change, points_earned, notes)
+            VALUES (?, ?, ?, ?, ?)
+        """);
+
     // =========================
     // SAVE SCORE (PASO 9–10)
     // =========================
@@ -18,27 +24,7 @@ public class RoundScoreDAO {
             int bet,
             int points
     ) {
-
-        String sql = """
-            INSERT INTO oh_hell.round_scores
-            (round_id, game_player_id, lives_change, points_earned, notes)
-            VALUES (?, ?, ?, ?, ?)
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setLong(1, roundId);
-            ps.setLong(2, gamePlayerId);
-            ps.setInt(3, tricks);
-            ps.setInt(4, points);
-            ps.setString(5, "bet=" + bet);
-
-            ps.executeUpdate();
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
+        Jdbc.update(SAVE, roundId, gamePlayerId, tricks, points, "bet=" + bet);
     }
 
     // =========================
@@ -69,9 +55,7 @@ public class RoundScoreDAO {
         }
     }
 
-    public List<ScoreRow> getScoresForGame(UUID gameId) {
-
-        String sql = """
+    private static final Query<ScoreRow> SCORES = Query.select("RoundScoreDAO.getScoresForGame", """
             SELECT
                 rs.game_player_id,
                 SUM(rs.points_earned) AS total_score,
@@ -81,82 +65,115 @@ public class RoundScoreDAO {
             WHERE r.game_id = ?
             GROUP BY rs.game_player_id
             ORDER BY total_score DESC
-        """;
-
-        List<ScoreRow> list = new ArrayList<>();
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
-
-            ps.setObject(1, gameId);
-            ResultSet rs = ps.executeQuery();
+        """, rs -> new ScoreRow(
+                rs.getLong("game_player_id"),
+                rs.getInt("total_score"),
+                rs.getInt("total_tricks")
+        ));
 
-            while (rs.next()) {
-                list.add(new ScoreRow(
-                        rs.getLong("game_player_id"),
-                        rs.getInt("total_score"),
-                        rs.getInt("total_tricks")
-                ));
-            }
-
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-
-        return list;
+    public List<ScoreRow> getScoresForGame(UUID gameId) {
+        return Jdbc.list(SCORES, gameId);
     }
 
     // =========================
-    // GET PLAYER TOTAL SCORE
+    // RESULTADOS DE LA PARTIDA
     // =========================
-    public int getPlayerTotalScore(UUID gameId, UUID playerId) {
-        String sql = """
-            SELECT COALESCE(SUM(rs.points_earned), 0)
-            FROM oh_hell.round_scores rs
-            JOIN oh_hell.rounds r ON r.id = rs.round_id
-            JOIN oh_hell.game_players gp ON gp.id = rs.game_player_id
-            WHERE r.game_id = ?
-            AND gp.player_id = ?
-        """;
-
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+    public record RoundResult(int round, Integer bet, int tricks, int points) {}
 
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
+    public record PlayerResult(
+            long gamePlayerId,
+            UUID playerId,
+            String nickname,
+            int seat,
+            int points,
+            int tricks,
+            int bets,
+            List<RoundResult> rounds
+    ) {}
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
-        }
-    }
+    // Una fila por jugador y ronda puntuada; number es null si el jugador aún no tiene puntuaciones
+    private record ResultRow(
+            long gamePlayerId,
+            UUID playerId,
+            String nickname,
+            int seat,
+            Integer number,
+            Integer bet,
+            int tricks,
+            int points
+    ) {}
 
-    // =========================
-    // GET PLAYER TOTAL TRICKS
-    // =========================
-    public int getPlayerTotalTricks(UUID gameId, UUID playerId) {
-        String sql = """
-            SELECT COALESCE(SUM(rs.lives_change), 0)
-            FROM oh_hell.round_scores rs
-            JOIN oh_hell.rounds r ON r.id = rs.round_id
-            JOIN oh_hell.game_players gp ON gp.id = rs.game_player_id
-            WHERE r.game_id = ?
-            AND gp.player_id = ?
-        """;
+    private static final Query<ResultRow> RESULTS = Query.select("RoundScoreDAO.getGameResults", """
+            SELECT
+                gp.id AS game_player_id,
+                gp.player_id,
+                p.nickname,
+                gp.seat_position,
+                r.number,
+                b.bet_value,
+                rs.lives_change,
+                rs.points_earned
+            FROM oh_hell.game_players gp
+            JOIN oh_hell.players p ON p.id = gp.player_id
+            LEFT JOIN oh_hell.round_scores rs ON rs.game_player_id = gp.id
+            LEFT JOIN oh_hell.rounds r ON r.id = rs.round_id
+            LEFT JOIN oh_hell.bets b
+                   ON b.round_id = rs.round_id
+                  AND b.game_player_id = gp.id
+            WHERE gp.game_id = ?
+            ORDER BY gp.seat_position, r.number
+        """, rs -> new ResultRow(
+                rs.getLong("game_player_id"),
+                rs.getObject("player_id", UUID.class),
+                rs.getString("nickname"),
+                rs.getInt("seat_position"),
+                rs.getObject("number", Integer.class),
+                rs.getObject("bet_value", Integer.class),
+                rs.getInt("lives_change"),
+                rs.getInt("points_earned")
+        ));
+
+    /**
+     * Totales y desglose por ronda de todos los jugadores, en orden de
+     * asiento, con una sola consulta. Los jugadores sin puntuaciones
+     * aparecen con totales a cero.
+     */
+    public List<PlayerResult> getGameResults(UUID gameId) {
+        List<PlayerResult> list = new ArrayList<>();
+
+        ResultRow player = null;
+        int points = 0;
+        int tricks = 0;
+        int bets = 0;
+        List<RoundResult> rounds = null;
+
+        for (ResultRow row : Jdbc.list(RESULTS, gameId)) {
+            // Filas ordenadas por asiento: al cambiar de jugador se cierra el anterior
+            if (player == null || row.gamePlayerId() != player.gamePlayerId()) {
+                if (player != null) {
+                    list.add(new PlayerResult(player.gamePlayerId(), player.playerId(), player.nickname(),
+                            player.seat(), points, tricks, bets, rounds));
+                }
+                player = row;
+                points = 0;
+                tricks = 0;
+                bets = 0;
+                rounds = new ArrayList<>();
+            }
 
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(sql)) {
+            if (row.number() == null) continue; // jugador sin puntuaciones
 
-            ps.setObject(1, gameId);
-            ps.setObject(2, playerId);
-            ResultSet rs = ps.executeQuery();
-            rs.next();
-            return rs.getInt(1);
+            rounds.add(new RoundResult(row.number(), row.bet(), row.tricks(), row.points()));
+            points += row.points();
+            tricks += row.tricks();
+            bets += row.bet() == null ? 0 : row.bet();
+        }
 
-        } catch (SQLException e) {
-            throw new RuntimeException(e);
+        if (player != null) {
+            list.add(new PlayerResult(player.gamePlayerId(), player.playerId(), player.nickname(),
+                    player.seat(), points, tricks, bets, rounds));
         }
+
+        return list;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.ohhell.api.dao;
+
+import com.ohhell.api.db.RowMapper;
+import com.ohhell.api.models.Game;
+import com.ohhell.api.models.RoundView;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Conversión de filas a los tipos que comparten varios DAOs y consultas.
+ * Leen las columnas por nombre, así que valen para cualquier SELECT que
+ * las incluya.
+ */
+public final class RowMappers {
+
+    // id, code, title, status, starting_cards, max_rounds, created_at, started_at
+    public static final RowMapper<Game> GAME = rs -> new Game(
+            rs.getObject("id", UUID.class),
+            rs.getString("code"),
+            rs.getString("title"),
+            rs.getString("status"),
+            rs.getInt("starting_cards"),
+            rs.getInt("max_rounds"),
+            rs.getObject("created_at", OffsetDateTime.class),
+            rs.getObject("started_at", OffsetDateTime.class)
+    );
+
+    // id, number, cards_per_player, dealer_seat, phase, started_at
+    public static final RowMapper<RoundView> ROUND_VIEW = rs -> new RoundView(
+            rs.getLong("id"),
+            rs.getInt("number"),
+            rs.getInt("cards_per_player"),
+            rs.getInt("dealer_seat"),
+            rs.getString("phase"),
+            rs.getObject("started_at", OffsetDateTime.class)
+    );
+
+    // game_player_id, bet_value, bet_order
+    public static final RowMapper<BetDAO.BetRow> BET_ROW = rs -> new BetDAO.BetRow(
+            rs.getLong("game_player_id"),
+            rs.getInt("bet_value"),
+            rs.getInt("bet_order")
+    );
+
+    // game_player_id, card, play_order
+    public static final RowMapper<RoundPlayDAO.PlayedCard> PLAYED_CARD = rs -> new RoundPlayDAO.PlayedCard(
+            rs.getLong("game_player_id"),
+            rs.getString("card"),
+            rs.getInt("play_order")
+    );
+
+    private RowMappers() {
+    }
+}
@@ -0,0 +1,499 @@
+package com.ohhell.api.db;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.log.Log;
+import com.ohhell.api.metrics.LatencyHistogram;
+import com.ohhell.api.metrics.QueryMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pool acotado de conexiones JDBC.
+ *
+ * - Mantiene entre minSize y maxSize conexiones físicas.
+ * - Valida al prestar las conexiones que llevan ociosas más de validateAfterIdleMs.
+ * - Cierra las conexiones ociosas más de idleTimeoutMs (sin bajar de minSize).
+ * - Avisa de las conexiones prestadas más de leakDetectionMs (posibles fugas).
+ * - Registra en un histograma cuánto espera cada préstamo.
+ * - Reutiliza las sentencias preparadas de cada conexión física
+ *   (statementCacheSize por conexión, 0 para no cachear; ver StatementCache).
+ *
+ * La conexión entregada es un proxy: close() la devuelve al pool.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    public record Config(
+            String url,
+            String user,
+            String password,
+            int minSize,
+            int maxSize,
+            long connectionTimeoutMs,
+            long idleTimeoutMs,
+            long validateAfterIdleMs,
+            int validationTimeoutSec,
+            long leakDetectionMs,
+            long housekeepingMs,
+            int statementCacheSize
+    ) {
+
+        public Config {
+            if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+                throw new IllegalArgumentException(
+                        "Tamaño de pool inválido: min=" + minSize + ", max=" + maxSize);
+            }
+        }
+
+        public static Config fromSettings(String url, String user, String password) {
+            return new Config(
+                    url,
+                    user,
+                    password,
+                    Settings.getInt("db.pool.min", 2),
+                    Settings.getInt("db.pool.max", 10),
+                    Settings.getLong("db.pool.connection-timeout-ms", 5_000),
+                    Settings.getLong("db.pool.idle-timeout-ms", 300_000),
+                    Settings.getLong("db.pool.validate-after-idle-ms", 1_000),
+                    Settings.getInt("db.pool.validation-timeout-sec", 2),
+                    Settings.getLong("db.pool.leak-detection-ms", 60_000),
+                    Settings.getLong("db.pool.housekeeping-ms", 10_000),
+                    Settings.getInt("db.pool.statement-cache", 64)
+            );
+        }
+    }
+
+    public record Stats(
+            int total,
+            int idle,
+            int active,
+            int waiting,
+            long timeouts,
+            long leaks,
+            long statementHits,
+            long statementMisses,
+            LatencyHistogram.Snapshot waitTimes
+    ) {}
+
+    private static final Log log = Log.get(ConnectionPool.class);
+
+    private final Config config;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<Slot> idle = new ArrayDeque<>();
+    private int total;
+    private int waiting;
+    private boolean closed;
+
+    private final Set<Lease> active = ConcurrentHashMap.newKeySet();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    private final ScheduledExecutorService housekeeper;
+
+    public ConnectionPool(Config config) {
+        this.config = config;
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ohhell-db-pool");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(
+                this::housekeeping, 0, config.housekeepingMs(), TimeUnit.MILLISECONDS);
+    }
+
+    // =========================
+    // BORROW
+    // =========================
+    public Connection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.connectionTimeoutMs());
+
+        while (true) {
+            Slot slot;
+            boolean create = false;
+
+            lock.lock();
+            try {
+                while (idle.isEmpty() && total >= config.maxSize()) {
+                    if (closed) {
+                        throw new SQLException("El pool de conexiones está cerrado");
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeouts.increment();
+                        throw new SQLTimeoutException(
+                                "Timeout esperando conexión del pool (" + config.connectionTimeoutMs()
+                                        + " ms, max=" + config.maxSize() + ")");
+                    }
+                    waiting++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrumpido esperando conexión del pool", e);
+                    } finally {
+                        waiting--;
+                    }
+                }
+                if (closed) {
+                    throw new SQLException("El pool de conexiones está cerrado");
+                }
+
+                slot = idle.pollFirst();
+                if (slot == null) {
+                    total++;
+                    create = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (create) {
+                try {
+                    slot = newSlot();
+                } catch (SQLException e) {
+                    forget();
+                    throw e;
+                }
+            } else if (!isAlive(slot)) {
+                discard(slot);
+                continue;
+            }
+
+            waitTimes.recordNanos(System.nanoTime() - start);
+            return lease(slot);
+        }
+    }
+
+    private Slot newSlot() throws SQLException {
+        Connection c = DriverManager.getConnection(config.url(), config.user(), config.password());
+        StatementCache statements = config.statementCacheSize() > 0
+                ? new StatementCache(config.statementCacheSize(), statementHits, statementMisses)
+                : null;
+        return new Slot(c, statements);
+    }
+
+    private boolean isAlive(Slot slot) {
+        long idleNanos = System.nanoTime() - slot.lastUsedNanos;
+        if (idleNanos < TimeUnit.MILLISECONDS.toNanos(config.validateAfterIdleMs())) {
+            return true;
+        }
+        try {
+            return slot.connection.isValid(config.validationTimeoutSec());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lease(Slot slot) {
+        Throwable origin = config.leakDetectionMs() > 0
+                ? new Throwable("Conexión prestada aquí")
+                : null;
+
+        Lease lease = new Lease(slot, origin);
+        active.add(lease);
+
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                lease
+        );
+    }
+
+    // =========================
+    // RELEASE
+    // =========================
+    private void release(Lease lease) {
+        active.remove(lease);
+        Slot slot = lease.slot;
+
+        if (!reset(slot.connection)) {
+            discard(slot);
+            return;
+        }
+
+        slot.lastUsedNanos = System.nanoTime();
+
+        lock.lock();
+        try {
+            if (!closed) {
+                // LIFO: la conexión más reciente es la que menos probable está caída
+                idle.addFirst(slot);
+                available.signal();
+                return;
+            }
+            total--;
+        } finally {
+            lock.unlock();
+        }
+        closeQuietly(slot.connection);
+    }
+
+    private boolean reset(Connection c) {
+        try {
+            if (c.isClosed()) return false;
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(Slot slot) {
+        closeQuietly(slot.connection);
+        forget();
+    }
+
+    private void forget() {
+        lock.lock();
+        try {
+            total--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // =========================
+    // HOUSEKEEPING
+    // =========================
+    private void housekeeping() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            log.error("Error en mantenimiento del pool", e);
+        }
+    }
+
+    private void evictIdle() {
+        long limit = TimeUnit.MILLISECONDS.toNanos(config.idleTimeoutMs());
+        long now = System.nanoTime();
+        List<Slot> evicted = new ArrayList<>();
+
+        lock.lock();
+        try {
+            // Las más antiguas están al final de la cola
+            Iterator<Slot> it = idle.descendingIterator();
+            while (it.hasNext() && total > config.minSize()) {
+                Slot slot = it.next();
+                if (now - slot.lastUsedNanos < limit) break;
+                it.remove();
+                total--;
+                evicted.add(slot);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(s -> closeQuietly(s.connection));
+    }
+
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || total >= config.minSize()) return;
+                total++;
+            } finally {
+                lock.unlock();
+            }
+
+            Slot slot;
+            try {
+                slot = newSlot();
+            } catch (SQLException e) {
+                forget();
+                log.warn("No se pudo abrir conexión mínima del pool: {}", e.getMessage());
+                return;
+            }
+
+            lock.lock();
+            try {
+                if (!closed) {
+                    idle.addLast(slot);
+                    available.signal();
+                    continue;
+                }
+                total--;
+            } finally {
+                lock.unlock();
+            }
+            closeQuietly(slot.connection);
+            return;
+        }
+    }
+
+    private void detectLeaks() {
+        if (config.leakDetectionMs() <= 0) return;
+
+        long limit = TimeUnit.MILLISECONDS.toNanos(config.leakDetectionMs());
+        long now = System.nanoTime();
+
+        for (Lease lease : active) {
+            if (!lease.reported && now - lease.borrowedAtNanos > limit) {
+                lease.reported = true;
+                leaks.increment();
+                long heldMs = TimeUnit.NANOSECONDS.toMillis(now - lease.borrowedAtNanos);
+                if (lease.origin != null) {
+                    log.warn("Posible fuga de conexión: prestada hace {} ms", heldMs, lease.origin);
+                } else {
+                    log.warn("Posible fuga de conexión: prestada hace {} ms", heldMs);
+                }
+            }
+        }
+    }
+
+    // =========================
+    // STATS / CIERRE
+    // =========================
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(
+                    total,
+                    idle.size(),
+                    active.size(),
+                    waiting,
+                    timeouts.sum(),
+                    leaks.sum(),
+                    statementHits.sum(),
+                    statementMisses.sum(),
+                    waitTimes.snapshot()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Config config() {
+        return config;
+    }
+
+    @Override
+    public void close() {
+        housekeeper.shutdownNow();
+
+        List<Slot> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        toClose.forEach(s -> closeQuietly(s.connection));
+    }
+
+    private static void closeQuietly(Connection c) {
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // =========================
+    // INTERNOS
+    // =========================
+    private static final class Slot {
+        final Connection connection;
+        final StatementCache statements;
+        volatile long lastUsedNanos = System.nanoTime();
+
+        Slot(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+        }
+    }
+
+    private final class Lease implements InvocationHandler {
+        final Slot slot;
+        final Throwable origin;
+        final long borrowedAtNanos = System.nanoTime();
+        volatile boolean closed;
+        volatile boolean reported;
+
+        Lease(Slot slot, Throwable origin) {
+            this.slot = slot;
+            this.origin = origin;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        release(this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    if (closed) return true;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + slot.connection + "]";
+                }
+                default -> {
+                }
+            }
+
+            if (closed) {
+                throw new SQLException("La conexión ya fue devuelta al pool");
+            }
+
+            try {
+                if ("prepareStatement".equals(method.getName())) {
+                    String sql = (String) args[0];
+                    // Solo se cachean las de un argumento, las que usan los DAOs
+                    PreparedStatement ps = slot.statements != null && args.length == 1
+                            ? slot.statements.prepare(slot.connection, sql)
+                            : (PreparedStatement) method.invoke(slot.connection, args);
+                    // Las sentencias preparadas se cronometran por consulta (ver QueryMetrics)
+                    return QueryMetrics.wrap(ps, sql);
+                }
+                return method.invoke(slot.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
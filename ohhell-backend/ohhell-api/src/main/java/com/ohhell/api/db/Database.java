@@ -1,16 +1,17 @@
 package com.ohhell.api.db;
 
+import com.ohhell.api.config.Settings;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public final class Database {
 
-    private static final String URL =
-            "jdbc:postgresql://localhost:5432/mi_app";
+    private static final String URL = Settings.get(
+            "db.url", "jdbc:postgresql://localhost:5432/mi_app");
 
-    private static final String USER = "tommy";
-    private static final String PASSWORD = "1234";
+    private static final String USER = Settings.get("db.user", "tommy");
+    private static final String PASSWORD = Settings.get("db.password", "1234");
 
     static {
         try {
@@ -20,10 +21,25 @@ public final class Database {
         }
     }
 
+    private static final ConnectionPool POOL =
+            new ConnectionPool(ConnectionPool.Config.fromSettings(URL, USER, PASSWORD));
+
     private Database() {
     }
 
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            return uow.connection(POOL);
+        }
+        return POOL.borrow();
+    }
+
+    public static ConnectionPool.Stats poolStats() {
+        return POOL.stats();
+    }
+
+    public static void shutdown() {
+        POOL.close();
     }
 }
@@ -0,0 +1,117 @@
+package com.ohhell.api.db;
+
+import com.ohhell.api.config.Settings;
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ejecutor acotado para el trabajo JDBC de las peticiones asíncronas.
+ *
+ * Tiene db.pool.max - db.executor.reserved hilos (o db.executor.threads),
+ * así que las consultas de las peticiones nunca ocupan más conexiones que
+ * esas, y una cola limitada (db.executor.queue). Con la cola llena no se
+ * espera: submit lanza ServiceUnavailableException (503 con Retry-After) y
+ * los hilos HTTP del contenedor quedan libres aunque la base de datos vaya
+ * lenta.
+ *
+ * No es un límite global: los comandos de los buzones de partida, el
+ * escritor de WriteBehind, el Matchmaker, las migraciones y los recursos
+ * síncronos (auth, players) piden conexión al pool sin pasar por aquí. Las
+ * db.executor.reserved conexiones que este ejecutor deja libres son para
+ * ellos; si también se agotan, esperan en el pool hasta
+ * db.pool.connection-timeout-ms. El único tope de conexiones abiertas es
+ * db.pool.max.
+ */
+public final class DbExecutor {
+
+    // Conexiones del pool que quedan para quien no pasa por este ejecutor
+    private static final int RESERVED = Settings.getInt("db.executor.reserved", 2);
+
+    private static final int THREADS = Settings.getInt("db.executor.threads",
+            Math.max(1, Settings.getInt("db.pool.max", 10) - RESERVED));
+
+    private static final int QUEUE = Settings.getInt("db.executor.queue", 256);
+
+    private static final long RETRY_AFTER_SEC = Settings.getLong("db.executor.retry-after-sec", 1);
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            THREADS, THREADS,
+            0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE),
+            r -> {
+                Thread t = new Thread(r, "ohhell-db-" + THREAD_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+    );
+
+    private static final LongAdder REJECTED = new LongAdder();
+
+    private DbExecutor() {
+    }
+
+    /**
+     * Ejecuta work en el ejecutor. El futuro se completa con su resultado o
+     * con la excepción que lance, sin envolver.
+     *
+     * @throws ServiceUnavailableException si la cola está llena
+     */
+    public static <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    result.complete(work.call());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            REJECTED.increment();
+            throw saturated();
+        }
+        return result;
+    }
+
+    /**
+     * Respuesta 503 para cuando no se puede aceptar más trabajo.
+     */
+    public static ServiceUnavailableException saturated() {
+        return new ServiceUnavailableException(RETRY_AFTER_SEC);
+    }
+
+    public static void shutdown(long timeoutMs) {
+        EXECUTOR.shutdown();
+        try {
+            EXECUTOR.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================
+    // MÉTRICAS
+    // =========================
+    public static int active() {
+        return EXECUTOR.getActiveCount();
+    }
+
+    public static int queued() {
+        return EXECUTOR.getQueue().size();
+    }
+
+    public static long rejected() {
+        return REJECTED.sum();
+    }
+}
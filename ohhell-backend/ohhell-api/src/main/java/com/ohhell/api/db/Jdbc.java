@@ -0,0 +1,196 @@
+package com.ohhell.api.db;
+
+import com.ohhell.api.config.Settings;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Acceso a datos para los DAOs: ejecuta una Query con sus parámetros y
+ * convierte las filas con su RowMapper.
+ *
+ * - La conexión es la de Database.getConnection() (la de la unidad de
+ *   trabajo si hay una activa), y sentencia y ResultSet se cierran siempre.
+ * - Las sentencias preparadas las reutiliza el pool por conexión y se
+ *   cronometran por nombre de consulta (ver StatementCache y QueryMetrics).
+ * - Los parámetros se enlazan por tipo (long, int, String, boolean; el
+ *   resto con setObject). Para arrays y casos especiales, un Binder.
+ * - Una SQLException sale envuelta en RuntimeException, como en el resto
+ *   de la API.
+ */
+public final class Jdbc {
+
+    /**
+     * Filas que se piden de cada vez al recorrer un resultado con stream().
+     */
+    private static final int FETCH_SIZE = Settings.getInt("db.fetch-size", 500);
+
+    @FunctionalInterface
+    public interface Binder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface BatchBinder<E> {
+        void bind(PreparedStatement ps, E item) throws SQLException;
+    }
+
+    private Jdbc() {
+    }
+
+    // =========================
+    // CONSULTAS
+    // =========================
+    public static <T> List<T> list(Query<T> query, Object... params) {
+        RowMapper<T> mapper = query.mapper();
+
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(query.sql())) {
+
+            bind(ps, params);
+            List<T> list = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(mapper.map(rs));
+                }
+            }
+            return list;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * La primera fila, o vacío si no hay ninguna.
+     */
+    public static <T> Optional<T> first(Query<T> query, Object... params) {
+        RowMapper<T> mapper = query.mapper();
+
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(query.sql())) {
+
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.ofNullable(mapper.map(rs)) : Optional.empty();
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static boolean exists(Query<?> query, Object... params) {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(query.sql())) {
+
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Recorre el resultado sin cargarlo entero en memoria: las filas llegan
+     * de FETCH_SIZE en FETCH_SIZE (el driver solo lo hace dentro de una
+     * transacción, así que se abre una si no la hay). Devuelve cuántas filas
+     * se procesaron.
+     */
+    public static <T> long stream(Query<T> query, Consumer<? super T> sink, Object... params) {
+        RowMapper<T> mapper = query.mapper();
+
+        return UnitOfWork.inTransaction(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement(query.sql())) {
+
+                bind(ps, params);
+                ps.setFetchSize(FETCH_SIZE);
+
+                long rows = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        sink.accept(mapper.map(rs));
+                        rows++;
+                    }
+                }
+                return rows;
+            }
+        });
+    }
+
+    // =========================
+    // ESCRITURAS
+    // =========================
+
+    /**
+     * Ejecuta la sentencia y devuelve las filas afectadas.
+     */
+    public static int update(Query<?> query, Object... params) {
+        return update(query, ps -> bind(ps, params));
+    }
+
+    public static int update(Query<?> query, Binder binder) {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(query.sql())) {
+
+            binder.bind(ps);
+            return ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Ejecuta la sentencia una vez por elemento en un solo lote y devuelve
+     * el total de filas afectadas.
+     */
+    public static <E> int batch(Query<?> query, Iterable<E> items, BatchBinder<? super E> binder) {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(query.sql())) {
+
+            for (E item : items) {
+                binder.bind(ps, item);
+                ps.addBatch();
+            }
+
+            int total = 0;
+            for (int count : ps.executeBatch()) {
+                // SUCCESS_NO_INFO (-2): el driver no sabe cuántas, al menos una
+                total += count >= 0 ? count : 1;
+            }
+            return total;
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // =========================
+    // PARÁMETROS
+    // =========================
+    static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            int index = i + 1;
+            switch (params[i]) {
+                case null -> ps.setNull(index, Types.NULL);
+                case Long v -> ps.setLong(index, v);
+                case Integer v -> ps.setInt(index, v);
+                case String v -> ps.setString(index, v);
+                case Boolean v -> ps.setBoolean(index, v);
+                default -> ps.setObject(index, params[i]);
+            }
+        }
+    }
+}
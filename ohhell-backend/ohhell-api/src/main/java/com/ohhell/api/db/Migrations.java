@@ -0,0 +1,199 @@
+package com.ohhell.api.db;
+
+import com.ohhell.api.log.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Migraciones versionadas del esquema, aplicadas al arrancar.
+ *
+ * Cada versión es un script db/migration/V{n}__{descripcion}.sql del
+ * classpath; se buscan al arrancar, así que basta con añadir el fichero.
+ * Las pendientes se aplican en orden, cada una en su transacción junto con
+ * su fila en oh_hell.schema_migrations. Un advisory lock de PostgreSQL
+ * evita que dos instancias que arrancan a la vez apliquen la misma versión.
+ *
+ * No se arranca (IllegalStateException) si un .sql del directorio no sigue
+ * el patrón, si dos scripts tienen la misma versión o si una versión ya
+ * aplicada ha cambiado: una versión aplicada no se modifica nunca.
+ *
+ * Los scripts se parten por ';' al final de línea, así que no admiten
+ * cuerpos de función con ';' dentro.
+ */
+public final class Migrations {
+
+    private static final Log log = Log.get(Migrations.class);
+
+    private record Migration(int version, String description) {
+
+        String resource() {
+            return DIRECTORY + "/V" + version + "__" + description + ".sql";
+        }
+    }
+
+    private static final String DIRECTORY = "db/migration";
+
+    private static final Pattern SCRIPT = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // Clave del advisory lock: "ohhell" en ASCII
+    private static final long LOCK_KEY = 0x6F68_6865_6C6CL;
+
+    private Migrations() {
+    }
+
+    /**
+     * Aplica las migraciones pendientes y devuelve cuántas se aplicaron.
+     */
+    public static int migrate() {
+        UnitOfWork.inTransaction(() -> {
+            try (Connection c = Database.getConnection();
+                 Statement st = c.createStatement()) {
+                st.execute("""
+                    CREATE TABLE IF NOT EXISTS oh_hell.schema_migrations (
+                        version     INT PRIMARY KEY,
+                        description TEXT NOT NULL,
+                        checksum    BIGINT NOT NULL,
+                        applied_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+                    )
+                """);
+            }
+            return null;
+        });
+
+        int applied = 0;
+        for (Migration m : discover()) {
+            String script = read(m);
+            long checksum = checksum(script);
+
+            boolean ran = UnitOfWork.inTransaction(() -> {
+                Connection c = Database.getConnection();
+                lock(c);
+
+                Long existing = applied(c).get(m.version());
+                if (existing != null) {
+                    if (existing != checksum) {
+                        throw new IllegalStateException("La migración V" + m.version()
+                                + " cambió después de aplicarse (" + m.resource() + ")");
+                    }
+                    return false;
+                }
+
+                try (Statement st = c.createStatement()) {
+                    for (String sql : statements(script)) {
+                        st.execute(sql);
+                    }
+                }
+
+                try (PreparedStatement ps = c.prepareStatement("""
+                    INSERT INTO oh_hell.schema_migrations (version, description, checksum)
+                    VALUES (?, ?, ?)
+                """)) {
+                    ps.setInt(1, m.version());
+                    ps.setString(2, m.description());
+                    ps.setLong(3, checksum);
+                    ps.executeUpdate();
+                }
+                return true;
+            });
+
+            if (ran) {
+                log.info("Migración V{} aplicada: {}", m.version(), m.description());
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private static void lock(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            ps.execute();
+        }
+    }
+
+    private static Map<Integer, Long> applied(Connection c) throws SQLException {
+        Map<Integer, Long> versions = new HashMap<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM oh_hell.schema_migrations")) {
+            while (rs.next()) {
+                versions.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return versions;
+    }
+
+    // =========================
+    // SCRIPTS
+    // =========================
+
+    // Scripts del classpath en orden de versión
+    private static List<Migration> discover() {
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+
+        for (String name : Resources.list(DIRECTORY)) {
+            if (!name.endsWith(".sql")) continue;
+
+            Matcher m = SCRIPT.matcher(name);
+            if (!m.matches()) {
+                throw new IllegalStateException("Nombre de migración no válido: " + DIRECTORY + "/" + name
+                        + " (se espera V{n}__{descripcion}.sql)");
+            }
+
+            Migration migration = new Migration(Integer.parseInt(m.group(1)), m.group(2));
+            Migration previous = byVersion.put(migration.version(), migration);
+            if (previous != null) {
+                throw new IllegalStateException("Dos migraciones con la versión " + migration.version()
+                        + ": " + previous.resource() + " y " + migration.resource());
+            }
+        }
+        return new ArrayList<>(byVersion.values());
+    }
+    private static String read(Migration m) {
+        try (InputStream in = Migrations.class.getClassLoader().getResourceAsStream(m.resource())) {
+            if (in == null) {
+                throw new IllegalStateException("No se encuentra " + m.resource());
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se puede leer " + m.resource(), e);
+        }
+    }
+
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (String line : script.split("\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) continue;
+
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().strip();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().strip());
+        }
+        return statements;
+    }
+
+    private static long checksum(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
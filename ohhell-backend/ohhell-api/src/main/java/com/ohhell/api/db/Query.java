@@ -0,0 +1,74 @@
+package com.ohhell.api.db;
+
+import com.ohhell.api.metrics.QueryMetrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sentencia SQL con nombre, y el RowMapper de sus filas si devuelve alguna.
+ *
+ * Se declaran como constantes de los DAOs. El nombre ("RoundDAO.findCurrentRound")
+ * agrupa los tiempos de ejecución en las métricas y aparece en el log de
+ * consultas lentas; el SQL es la clave con la que el pool reutiliza la
+ * sentencia preparada en cada conexión.
+ *
+ * Cada Query creada queda registrada por nombre: all() devuelve las de las
+ * clases ya cargadas, para herramientas que revisan todas las sentencias
+ * (PlanCheck en ohhell-bench) sin copiar su SQL.
+ */
+public final class Query<T> {
+
+    private static final Map<String, Query<?>> ALL = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String sql;
+    private final RowMapper<T> mapper;
+
+    private Query(String name, String sql, RowMapper<T> mapper) {
+        this.name = name;
+        this.sql = sql;
+        this.mapper = mapper;
+        QueryMetrics.named(sql, name);
+        ALL.put(name, this);
+    }
+
+    public static <T> Query<T> select(String name, String sql, RowMapper<T> mapper) {
+        return new Query<>(name, sql, mapper);
+    }
+
+    public static Query<Void> update(String name, String sql) {
+        return new Query<>(name, sql, null);
+    }
+
+    /**
+     * Consultas registradas hasta ahora, ordenadas por nombre.
+     */
+    public static List<Query<?>> all() {
+        return ALL.values().stream()
+                .sorted(Comparator.comparing(Query::name))
+                .toList();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    RowMapper<T> mapper() {
+        if (mapper == null) {
+            throw new IllegalStateException("La consulta " + name + " no devuelve filas");
+        }
+        return mapper;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
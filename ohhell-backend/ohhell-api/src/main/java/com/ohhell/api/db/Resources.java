@@ -0,0 +1,74 @@
+package com.ohhell.api.db;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Listado de un directorio del classpath (scripts de migración, clases de
+ * un paquete), tanto si está en disco (WEB-INF/classes, target/classes)
+ * como dentro de un jar. Un directorio en otro tipo de URL no se sabe
+ * recorrer y se rechaza en lugar de devolverlo vacío.
+ */
+public final class Resources {
+
+    private Resources() {
+    }
+
+    /**
+     * Nombres de los ficheros que hay directamente en dir ("db/migration"),
+     * sin subdirectorios, ordenados y sin repetir aunque el directorio
+     * aparezca en varias entradas del classpath.
+     *
+     * @throws IllegalStateException si no se puede recorrer alguna entrada
+     */
+    public static List<String> list(String dir) {
+        String prefix = dir.endsWith("/") ? dir : dir + "/";
+        TreeSet<String> names = new TreeSet<>();
+
+        try {
+            Enumeration<URL> urls = Resources.class.getClassLoader().getResources(prefix);
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                switch (url.getProtocol()) {
+                    case "file" -> listDirectory(Path.of(url.toURI()), names);
+                    case "jar" -> listJar(((JarURLConnection) url.openConnection()).getJarFile(), prefix, names);
+                    default -> throw new IllegalStateException("No se puede recorrer " + url);
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("No se puede listar " + dir, e);
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static void listDirectory(Path dir, TreeSet<String> names) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(Files::isRegularFile)
+                    .forEach(f -> names.add(f.getFileName().toString()));
+        }
+    }
+
+    private static void listJar(JarFile jar, String prefix, TreeSet<String> names) {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            String name = entries.nextElement().getName();
+            if (!name.startsWith(prefix) || name.length() == prefix.length()) continue;
+
+            String rest = name.substring(prefix.length());
+            if (rest.indexOf('/') < 0) {
+                names.add(rest);
+            }
+        }
+    }
+}
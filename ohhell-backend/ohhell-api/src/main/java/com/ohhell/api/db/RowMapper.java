@@ -0,0 +1,21 @@
+package com.ohhell.api.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Convierte la fila actual de un ResultSet en un objeto. No debe mover el
+ * cursor: de eso se encarga Jdbc.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    RowMapper<Long> LONG = rs -> rs.getLong(1);
+    RowMapper<Integer> INT = rs -> rs.getInt(1);
+    RowMapper<Boolean> BOOLEAN = rs -> rs.getBoolean(1);
+    RowMapper<String> STRING = rs -> rs.getString(1);
+    RowMapper<UUID> UUID = rs -> rs.getObject(1, java.util.UUID.class);
+
+    T map(ResultSet rs) throws SQLException;
+}
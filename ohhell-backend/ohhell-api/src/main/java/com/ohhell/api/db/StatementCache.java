@@ -0,0 +1,133 @@
+package com.ohhell.api.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sentencias preparadas de una conexión física, reutilizadas por SQL.
+ *
+ * prepare() saca la sentencia de la caché (o prepara una nueva) y devuelve
+ * una vista cuyo close() la limpia y la devuelve en vez de cerrarla. Mientras
+ * está prestada no está en la caché, así que si se vuelve a pedir el mismo
+ * SQL antes de cerrarla (consultas anidadas) se prepara otra aparte.
+ *
+ * Una conexión solo la usa quien la tiene prestada, así que no hay
+ * sincronización. Al cerrar la conexión física se cierran sus sentencias.
+ */
+final class StatementCache {
+
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    // LRU: la menos usada sale (y se cierra) al superar la capacidad
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    StatementCache(int capacity, LongAdder hits, LongAdder misses) {
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) return false;
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        PreparedStatement ps = statements.remove(sql);
+        if (ps != null && !ps.isClosed()) {
+            hits.increment();
+        } else {
+            misses.increment();
+            ps = connection.prepareStatement(sql);
+        }
+        return view(ps, sql);
+    }
+
+    private PreparedStatement view(PreparedStatement ps, String sql) {
+        return (PreparedStatement) Proxy.newProxyInstance(
+                StatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new InvocationHandler() {
+                    boolean returned;
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        switch (method.getName()) {
+                            case "close" -> {
+                                if (!returned) {
+                                    returned = true;
+                                    giveBack(sql, ps);
+                                }
+                                return null;
+                            }
+                            case "isClosed" -> {
+                                if (returned) return true;
+                            }
+                            case "equals" -> {
+                                return proxy == args[0];
+                            }
+                            case "hashCode" -> {
+                                return System.identityHashCode(proxy);
+                            }
+                            default -> {
+                            }
+                        }
+                        if (returned) {
+                            throw new SQLException("La sentencia ya está cerrada");
+                        }
+                        try {
+                            return method.invoke(ps, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                }
+        );
+    }
+
+    private void giveBack(String sql, PreparedStatement ps) {
+        try {
+            if (ps.isClosed()) return;
+
+            ResultSet rs = ps.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+            ps.clearParameters();
+            ps.clearBatch();
+            if (ps.getFetchSize() != 0) {
+                ps.setFetchSize(0);
+            }
+        } catch (SQLException e) {
+            closeQuietly(ps);
+            return;
+        }
+
+        // Si entre tanto se devolvió otra con el mismo SQL, sobra esta
+        PreparedStatement previous = statements.putIfAbsent(sql, ps);
+        if (previous != null) {
+            closeQuietly(ps);
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
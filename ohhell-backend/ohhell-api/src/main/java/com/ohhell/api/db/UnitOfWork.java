@@ -0,0 +1,222 @@
+package com.ohhell.api.db;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unidad de trabajo ligada al hilo actual.
+ *
+ * Mientras está activa, Database.getConnection() devuelve siempre la misma
+ * conexión (en una única transacción), de modo que todos los DAOs usados en
+ * una petición comparten conexión y se confirma una sola vez al final.
+ * La conexión se pide al pool la primera vez que un DAO la necesita.
+ */
+public final class UnitOfWork {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    private Connection connection;
+    private Connection view;
+    private boolean rollbackOnly;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+    private final List<Runnable> afterCompletion = new ArrayList<>();
+
+    private UnitOfWork() {
+    }
+
+    // =========================
+    // CICLO DE VIDA
+    // =========================
+    public static void begin() {
+        UnitOfWork stale = CURRENT.get();
+        if (stale != null) {
+            // Petición anterior que no llegó a cerrar su unidad de trabajo
+            stale.finishQuietly();
+        }
+        CURRENT.set(new UnitOfWork());
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Cierra la unidad de trabajo del hilo: confirma si commit es true y no
+     * se marcó para rollback; en otro caso deshace. Siempre devuelve la
+     * conexión al pool.
+     */
+    public static void end(boolean commit) throws SQLException {
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) return;
+        CURRENT.remove();
+        uow.finish(commit);
+    }
+
+    public static void abandon() {
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) return;
+        CURRENT.remove();
+        uow.finishQuietly();
+    }
+
+    /**
+     * Ejecuta work en una transacción. Si ya hay una unidad de trabajo
+     * activa se une a ella.
+     */
+    public static <T> T inTransaction(Work<T> work) {
+        if (isActive()) {
+            try {
+                return work.run();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        begin();
+        try {
+            T result = work.run();
+            end(true);
+            return result;
+        } catch (SQLException e) {
+            abandon();
+            throw new RuntimeException(e);
+        } catch (RuntimeException | Error e) {
+            abandon();
+            throw e;
+        }
+    }
+
+    /**
+     * Ejecuta action cuando la unidad de trabajo actual se confirme (nunca si
+     * se deshace). Sin unidad de trabajo activa se ejecuta inmediatamente.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) {
+            action.run();
+        } else {
+            uow.afterCommit.add(action);
+        }
+    }
+
+    /**
+     * Ejecuta action al cerrar la unidad de trabajo actual, se confirme o se
+     * deshaga. Sin unidad de trabajo activa se ejecuta inmediatamente.
+     */
+    public static void afterCompletion(Runnable action) {
+        UnitOfWork uow = CURRENT.get();
+        if (uow == null) {
+            action.run();
+        } else {
+            uow.afterCompletion.add(action);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    // =========================
+    // CONEXIÓN
+    // =========================
+    Connection connection(ConnectionPool pool) throws SQLException {
+        if (connection == null) {
+            Connection c = pool.borrow();
+            try {
+                c.setAutoCommit(false);
+            } catch (SQLException e) {
+                c.close();
+                throw e;
+            }
+            connection = c;
+            view = shareable(c);
+        }
+        return view;
+    }
+
+    // Vista de la conexión que los DAOs pueden "cerrar" sin soltarla:
+    // la transacción la controla la unidad de trabajo.
+    private Connection shareable(Connection c) {
+        return (Connection) Proxy.newProxyInstance(
+                UnitOfWork.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close", "commit", "setAutoCommit" -> {
+                            return null;
+                        }
+                        case "rollback" -> {
+                            if (args == null) {
+                                rollbackOnly = true;
+                                return null;
+                            }
+                        }
+                        case "getAutoCommit" -> {
+                            return false;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                        }
+                    }
+                    try {
+                        return method.invoke(c, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+        );
+    }
+
+    private void finish(boolean commit) throws SQLException {
+        boolean committed = commit && !rollbackOnly;
+
+        try {
+            if (connection != null) {
+                try {
+                    if (committed) {
+                        connection.commit();
+                    } else {
+                        connection.rollback();
+                    }
+                } finally {
+                    connection.close();
+                    connection = null;
+                    view = null;
+                }
+            }
+
+            if (committed) {
+                for (Runnable action : afterCommit) {
+                    action.run();
+                }
+            }
+        } finally {
+            afterCommit.clear();
+            for (Runnable action : afterCompletion) {
+                action.run();
+            }
+            afterCompletion.clear();
+        }
+    }
+
+    private void finishQuietly() {
+        try {
+            finish(false);
+        } catch (SQLException ignored) {
+        }
+    }
+}
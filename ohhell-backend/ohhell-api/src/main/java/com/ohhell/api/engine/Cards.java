@@ -0,0 +1,194 @@
+package com.ohhell.api.engine;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Codificación compacta de cartas.
+ *
+ * Cada carta es un número 0..51 (palo * 13 + valor) y una mano es una
+ * máscara de 64 bits con un bit por carta. Palos en orden H, D, C, S y
+ * valores de 2 a A (el índice crece con la fuerza de la carta).
+ *
+ * El formato en texto ("10_H") y los enums de oh_hell.cards (rank/suit) se
+ * convierten sin pérdida en ambos sentidos.
+ */
+public final class Cards {
+
+    public static final int DECK_SIZE = 52;
+    public static final int SUITS = 4;
+    public static final int RANKS = 13;
+
+    public static final int NONE = -1;
+
+    private static final String[] SUIT_TEXT = {"H", "D", "C", "S"};
+    private static final String[] SUIT_ENUM = {"HEARTS", "DIAMONDS", "CLUBS", "SPADES"};
+
+    private static final String[] RANK_TEXT =
+            {"2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A"};
+    private static final String[] RANK_ENUM =
+            {"2", "3", "4", "5", "6", "7", "8", "9", "10", "JACK", "QUEEN", "KING", "ACE"};
+
+    private static final long SUIT_BITS = (1L << RANKS) - 1;
+
+    // Textos precalculados: convertir una carta a texto no reserva memoria
+    private static final String[] TEXT = new String[DECK_SIZE];
+    private static final Map<String, Integer> BY_TEXT = new HashMap<>();
+
+    static {
+        for (int card = 0; card < DECK_SIZE; card++) {
+            TEXT[card] = RANK_TEXT[rank(card)] + "_" + SUIT_TEXT[suit(card)];
+            BY_TEXT.put(TEXT[card], card);
+        }
+    }
+
+    private Cards() {
+    }
+
+    // =========================
+    // CARTA
+    // =========================
+    public static int of(int suit, int rank) {
+        return suit * RANKS + rank;
+    }
+
+    public static int suit(int card) {
+        return card / RANKS;
+    }
+
+    public static int rank(int card) {
+        return card % RANKS;
+    }
+
+    public static String text(int card) {
+        return TEXT[card];
+    }
+
+    public static int parse(String text) {
+        Integer card = text == null ? null : BY_TEXT.get(text);
+        if (card == null) {
+            throw new IllegalArgumentException("Carta inválida: " + text);
+        }
+        return card;
+    }
+
+    // =========================
+    // PALOS
+    // =========================
+    public static String suitText(int suit) {
+        return SUIT_TEXT[suit];
+    }
+
+    public static int parseSuit(String letter) {
+        for (int s = 0; s < SUITS; s++) {
+            if (SUIT_TEXT[s].equals(letter)) return s;
+        }
+        throw new IllegalArgumentException("Palo inválido: " + letter);
+    }
+
+    // =========================
+    // ENUMS DE oh_hell.cards
+    // =========================
+    public static String rankEnum(int card) {
+        return RANK_ENUM[rank(card)];
+    }
+
+    public static String suitEnum(int card) {
+        return SUIT_ENUM[suit(card)];
+    }
+
+    public static int suitFromEnum(String suitEnum) {
+        for (int s = 0; s < SUITS; s++) {
+            if (SUIT_ENUM[s].equals(suitEnum)) return s;
+        }
+        throw new IllegalArgumentException("Palo inválido: " + suitEnum);
+    }
+
+    public static int fromEnums(String rankEnum, String suitEnum) {
+        for (int r = 0; r < RANKS; r++) {
+            if (RANK_ENUM[r].equals(rankEnum)) {
+                return of(suitFromEnum(suitEnum), r);
+            }
+        }
+        throw new IllegalArgumentException("Valor inválido: " + rankEnum);
+    }
+
+    // =========================
+    // MANOS (máscaras de bits)
+    // =========================
+    public static long bit(int card) {
+        return 1L << card;
+    }
+
+    public static long suitMask(int suit) {
+        return SUIT_BITS << (suit * RANKS);
+    }
+
+    public static boolean contains(long hand, int card) {
+        return (hand & bit(card)) != 0;
+    }
+
+    public static boolean hasSuit(long hand, int suit) {
+        return (hand & suitMask(suit)) != 0;
+    }
+
+    public static int size(long hand) {
+        return Long.bitCount(hand);
+    }
+
+    public static long fromTexts(Iterable<String> cards) {
+        long hand = 0;
+        for (String c : cards) {
+            hand |= bit(parse(c));
+        }
+        return hand;
+    }
+
+    // Cartas de la mano en orden de palo y valor
+    public static List<String> texts(long hand) {
+        List<String> list = new ArrayList<>(Long.bitCount(hand));
+        while (hand != 0) {
+            list.add(TEXT[Long.numberOfTrailingZeros(hand)]);
+            hand &= hand - 1;
+        }
+        return list;
+    }
+
+    // =========================
+    // BARAJA Y REPARTO
+    // =========================
+    public static byte[] newDeck() {
+        byte[] deck = new byte[DECK_SIZE];
+        for (int i = 0; i < DECK_SIZE; i++) {
+            deck[i] = (byte) i;
+        }
+        return deck;
+    }
+
+    // Fisher-Yates sobre el array, sin reservar memoria
+    public static void shuffle(byte[] deck, RandomGenerator random) {
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte tmp = deck[i];
+            deck[i] = deck[j];
+            deck[j] = tmp;
+        }
+    }
+
+    /**
+     * Reparte cardsPerPlayer cartas a cada mano (una a una, por turnos) y
+     * devuelve la siguiente carta del mazo como triunfo, o NONE si no quedan.
+     */
+    public static int deal(byte[] deck, long[] hands, int cardsPerPlayer) {
+        int next = 0;
+        for (int i = 0; i < cardsPerPlayer; i++) {
+            for (int p = 0; p < hands.length && next < deck.length; p++) {
+                hands[p] |= bit(deck[next++]);
+            }
+        }
+        return next < deck.length ? deck[next] : NONE;
+    }
+}
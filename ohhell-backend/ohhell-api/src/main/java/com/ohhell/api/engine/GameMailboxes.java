@@ -0,0 +1,131 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.log.Log;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buzón por partida: los comandos de una mesa se ejecutan de uno en uno y
+ * en orden de llegada, y mesas distintas avanzan en paralelo.
+ *
+ * Cada buzón con trabajo tiene un hilo virtual que lo vacía y termina en
+ * cuanto se queda sin comandos; un buzón vacío se quita del registro, así
+ * que las partidas inactivas no ocupan nada. Encolar y retirar el buzón se
+ * hacen dentro de compute() del mapa, que es atómico por partida.
+ *
+ * Cada buzón admite como mucho engine.mailbox.capacity comandos en cola;
+ * por encima se rechazan en lugar de acumular espera.
+ */
+public final class GameMailboxes {
+
+    private static final Log log = Log.get(GameMailboxes.class);
+
+    private static final class Mailbox {
+        final Queue<Runnable> commands = new ArrayDeque<>();
+    }
+
+    private static final Map<UUID, Mailbox> MAILBOXES = new ConcurrentHashMap<>();
+
+    private static final int CAPACITY = Settings.getInt("engine.mailbox.capacity", 256);
+
+    private static final ThreadFactory THREADS = Thread.ofVirtual().name("ohhell-game-", 0).factory();
+
+    private static final LongAdder EXECUTED = new LongAdder();
+    private static final LongAdder REJECTED = new LongAdder();
+
+    private GameMailboxes() {
+    }
+
+    /**
+     * Encola command en el buzón de la partida. El resultado (o la excepción
+     * que lance, sin envolver) completa el futuro en el hilo del buzón.
+     *
+     * @throws RejectedExecutionException si el buzón de la partida está lleno
+     */
+    public static <T> CompletableFuture<T> submit(UUID gameId, Callable<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Runnable task = () -> {
+            try {
+                result.complete(command.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        boolean[] started = {false};
+        boolean[] full = {false};
+        MAILBOXES.compute(gameId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox();
+                started[0] = true;
+            }
+            if (mailbox.commands.size() >= CAPACITY) {
+                full[0] = true;
+            } else {
+                mailbox.commands.add(task);
+            }
+            return mailbox;
+        });
+
+        if (full[0]) {
+            REJECTED.increment();
+            throw new RejectedExecutionException("Buzón lleno para la partida " + gameId);
+        }
+
+        // Solo quien crea el buzón arranca su hilo: nunca hay dos por partida
+        if (started[0]) {
+            THREADS.newThread(() -> drain(gameId)).start();
+        }
+        return result;
+    }
+
+    private static void drain(UUID gameId) {
+        while (true) {
+            Runnable next = take(gameId);
+            if (next == null) return;
+
+            try {
+                next.run();
+            } catch (RuntimeException e) {
+                log.error("Error en el buzón de la partida {}", gameId, e);
+            }
+            EXECUTED.increment();
+        }
+    }
+
+    // Siguiente comando, o null tras retirar el buzón si ya no quedan
+    private static Runnable take(UUID gameId) {
+        Runnable[] next = {null};
+        MAILBOXES.computeIfPresent(gameId, (id, mailbox) -> {
+            next[0] = mailbox.commands.poll();
+            return next[0] == null ? null : mailbox;
+        });
+        return next[0];
+    }
+
+    // =========================
+    // MÉTRICAS
+    // =========================
+    public static int active() {
+        return MAILBOXES.size();
+    }
+
+    public static long executed() {
+        return EXECUTED.sum();
+    }
+
+    public static long rejected() {
+        return REJECTED.sum();
+    }
+}
@@ -0,0 +1,384 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.models.RoundView;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Estado en memoria de la ronda en curso de una partida.
+ *
+ * Es la fuente de verdad mientras la partida está activa: valida y aplica
+ * apuestas y jugadas sin consultar la base de datos. Los cambios se
+ * persisten después mediante WriteBehind. Todos los métodos públicos están
+ * sincronizados, así que las acciones de una misma mesa se serializan y las
+ * de mesas distintas no se bloquean entre sí.
+ *
+ * Las manos son máscaras de bits (ver Cards): comprobar si un jugador tiene
+ * una carta o un palo es una operación de bits, sin reservar memoria.
+ *
+ * Ciclo de la ronda: BETTING -> PLAYING -> SCORING. Al cerrarse cada baza se
+ * resuelve el ganador (que sale en la siguiente) y, con la última carta, se
+ * puntúa la ronda en memoria. El paso a la ronda siguiente lo hace
+ * RoundLifecycle en una sola transacción.
+ *
+ * version() cuenta los movimientos aplicados (apuestas + cartas). Un cliente
+ * puede enviar la versión que vio como expectedVersion: si otro movimiento
+ * entró antes, el suyo se rechaza con MoveConflictException (compare-and-set)
+ * en lugar de aplicarse sobre un estado que no conocía.
+ */
+public final class GameState {
+
+    public record Seat(long gamePlayerId, UUID playerId, int position) {}
+
+    public record Bet(long gamePlayerId, int value, int order) {}
+
+    public record Play(long gamePlayerId, int card, int order) {
+
+        public String cardText() {
+            return Cards.text(card);
+        }
+    }
+
+    public record BetPlaced(Bet bet, boolean bettingClosed) {}
+
+    public record TrickWon(Seat winner, int card, int number) {
+
+        public String cardText() {
+            return Cards.text(card);
+        }
+    }
+
+    public record Score(long gamePlayerId, int bet, int tricks, int points) {}
+
+    /**
+     * Resultado de una jugada: trickWon solo si cerró la baza y scores solo
+     * si fue la última carta de la ronda.
+     */
+    public record Played(Play play, TrickWon trickWon, List<Score> scores) {
+
+        public boolean roundOver() {
+            return scores != null;
+        }
+    }
+
+    public record Trick(Seat currentSeat, String leadSuit, List<Play> plays) {}
+
+    private final UUID gameId;
+    private final List<Seat> seats;
+    private final Map<Long, Integer> indexByGamePlayer = new HashMap<>();
+
+    private final long roundId;
+    private final int number;
+    private final int cardsPerPlayer;
+    private final int dealerSeat;
+    private final OffsetDateTime startedAt;
+    private final int trumpSuit;
+    private String phase;
+
+    // Asiento que sale en la baza en curso y bazas ganadas por asiento
+    private int leaderSeat;
+    private final int[] tricksWon;
+    private final int[] trickCards;
+
+    // Ya se entregaron las puntuaciones para cerrar la ronda
+    private boolean closing;
+
+    // Sustituido en GameStates: quien aún lo tenga debe recargarlo
+    private volatile boolean retired;
+
+    // Mano de cada asiento (mismo índice que seats)
+    private final long[] hands;
+    private final List<Bet> bets = new ArrayList<>();
+    private final List<Play> plays = new ArrayList<>();
+
+    GameState(UUID gameId, List<Seat> seats, RoundView round, int trumpSuit) {
+        this.gameId = gameId;
+        this.seats = List.copyOf(seats);
+        for (int i = 0; i < seats.size(); i++) {
+            indexByGamePlayer.put(seats.get(i).gamePlayerId(), i);
+        }
+        this.hands = new long[seats.size()];
+        this.tricksWon = new int[seats.size()];
+        this.trickCards = new int[seats.size()];
+
+        this.roundId = round.getId();
+        this.number = round.getNumber();
+        this.cardsPerPlayer = round.getCardsPerPlayer();
+        this.dealerSeat = round.getDealerSeat();
+        this.startedAt = round.getStartedAt();
+        this.phase = round.getPhase();
+        this.trumpSuit = trumpSuit;
+        this.leaderSeat = (dealerSeat + 1) % seats.size();
+    }
+
+    // =========================
+    // RECONSTRUCCIÓN (desde BD)
+    // =========================
+    void restoreHand(long gamePlayerId, Collection<String> cards) {
+        Integer i = indexByGamePlayer.get(gamePlayerId);
+        if (i != null) hands[i] |= Cards.fromTexts(cards);
+    }
+
+    void restoreBet(Bet bet) {
+        bets.add(bet);
+    }
+
+    void restorePlay(Play play) {
+        plays.add(play);
+        closeTrickIfComplete();
+        if (plays.size() == seats.size() * cardsPerPlayer) {
+            phase = "SCORING";
+        }
+    }
+
+    // =========================
+    // APUESTAS
+    // =========================
+    public synchronized BetPlaced placeBet(long gamePlayerId, int value, int expectedVersion) {
+        checkVersion(expectedVersion);
+        if (!"BETTING".equals(phase)) {
+            throw new MoveRejectedException("No se puede apostar ahora");
+        }
+
+        requireIndex(gamePlayerId);
+
+        for (Bet b : bets) {
+            if (b.gamePlayerId() == gamePlayerId) {
+                throw new MoveRejectedException("Ya has apostado");
+            }
+        }
+
+        switch (Rules.checkBet(value, cardsPerPlayer, bets.size(), seats.size(), sumBets())) {
+            case OUT_OF_RANGE -> throw new MoveRejectedException("Apuesta fuera de rango");
+            // Regla Oh Hell: el último en apostar no puede cerrar la suma
+            case CLOSES_SUM -> throw new MoveRejectedException("Apuesta inválida: no puede cerrar la suma");
+            case OK -> {
+            }
+        }
+
+        Bet bet = new Bet(gamePlayerId, value, bets.size());
+        bets.add(bet);
+
+        boolean closed = bets.size() == seats.size();
+        if (closed) {
+            phase = "PLAYING";
+        }
+
+        return new BetPlaced(bet, closed);
+    }
+
+    private int sumBets() {
+        int sum = 0;
+        for (Bet b : bets) sum += b.value();
+        return sum;
+    }
+
+    // =========================
+    // JUGADAS
+    // =========================
+    public synchronized Played play(long gamePlayerId, String cardText, int expectedVersion) {
+        checkVersion(expectedVersion);
+        if (!"PLAYING".equals(phase)) {
+            throw new MoveRejectedException("No se puede jugar ahora");
+        }
+
+        int index = requireIndex(gamePlayerId);
+        if (seats.get(index).position() != expectedSeat()) {
+            throw new MoveRejectedException("No es tu turno");
+        }
+
+        int card;
+        try {
+            card = Cards.parse(cardText);
+        } catch (IllegalArgumentException e) {
+            throw new MoveRejectedException("Carta inválida: " + cardText);
+        }
+
+        long hand = hands[index];
+        if (!Cards.contains(hand, card)) {
+            throw new MoveRejectedException("La carta no está en la mano");
+        }
+
+        if (!Rules.followsSuit(hand, card, leadSuit())) {
+            throw new MoveRejectedException("Debes seguir el palo");
+        }
+
+        hands[index] = hand & ~Cards.bit(card);
+        Play play = new Play(gamePlayerId, card, plays.size());
+        plays.add(play);
+
+        TrickWon trickWon = closeTrickIfComplete();
+        if (plays.size() < seats.size() * cardsPerPlayer) {
+            return new Played(play, trickWon, null);
+        }
+
+        phase = "SCORING";
+        closing = true;
+        return new Played(play, trickWon, scores());
+    }
+
+    private int expectedSeat() {
+        return (leaderSeat + plays.size() % seats.size()) % seats.size();
+    }
+
+    // Si la última jugada completó la baza, gana quien la resuelve Rules y sale en la siguiente
+    private TrickWon closeTrickIfComplete() {
+        int total = seats.size();
+        if (plays.size() % total != 0) return null;
+
+        int from = plays.size() - total;
+        for (int i = 0; i < total; i++) {
+            trickCards[i] = plays.get(from + i).card();
+        }
+        Play winning = plays.get(from + Rules.trickWinner(trickCards, total, trumpSuit));
+
+        int index = indexByGamePlayer.get(winning.gamePlayerId());
+        tricksWon[index]++;
+        leaderSeat = seats.get(index).position();
+
+        return new TrickWon(seats.get(index), winning.card(), plays.size() / total);
+    }
+
+    // =========================
+    // PUNTUACIÓN
+    // =========================
+
+    /**
+     * Puntuaciones de una ronda terminada que nadie ha cerrado todavía (p. ej.
+     * tras recargar de BD una ronda con todas las cartas jugadas). Solo las
+     * devuelve una vez; después, o si la ronda no ha terminado, null.
+     */
+    public synchronized List<Score> claimScores() {
+        if (!"SCORING".equals(phase) || closing) return null;
+        closing = true;
+        return scores();
+    }
+
+    private List<Score> scores() {
+        List<Score> scores = new ArrayList<>(bets.size());
+        for (Bet b : bets) {
+            int tricks = tricksWon[indexByGamePlayer.get(b.gamePlayerId())];
+            scores.add(new Score(b.gamePlayerId(), b.value(), tricks, Rules.score(b.value(), tricks)));
+        }
+        return scores;
+    }
+
+    // Jugadas de la baza en curso (cada baza son tantas cartas como jugadores)
+    private List<Play> currentTrick() {
+        int inTrick = plays.size() % seats.size();
+        return plays.subList(plays.size() - inTrick, plays.size());
+    }
+
+    private int leadSuit() {
+        int inTrick = plays.size() % seats.size();
+        if (inTrick == 0) return Cards.NONE;
+        return Cards.suit(plays.get(plays.size() - inTrick).card());
+    }
+
+    private int requireIndex(long gamePlayerId) {
+        Integer index = indexByGamePlayer.get(gamePlayerId);
+        if (index == null) {
+            throw new MoveRejectedException("Jugador no está en la partida");
+        }
+        return index;
+    }
+
+    // =========================
+    // VERSIÓN
+    // =========================
+    public static final int ANY_VERSION = -1;
+
+    private void checkVersion(int expectedVersion) {
+        if (retired) {
+            throw new MoveConflictException("La partida se ha recargado, reintenta");
+        }
+        if (expectedVersion != ANY_VERSION && expectedVersion != version()) {
+            throw new MoveConflictException("La partida ha cambiado (versión " + version() + "), reintenta");
+        }
+    }
+
+    public synchronized int version() {
+        return bets.size() + plays.size();
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    public boolean isRetired() {
+        return retired;
+    }
+
+    // =========================
+    // VISTAS
+    // =========================
+    public synchronized RoundView round() {
+        return new RoundView(roundId, number, cardsPerPlayer, dealerSeat, phase, startedAt, version());
+    }
+
+    public synchronized List<String> hand(long gamePlayerId) {
+        Integer i = indexByGamePlayer.get(gamePlayerId);
+        return i == null ? List.of() : Cards.texts(hands[i]);
+    }
+
+    public synchronized List<Bet> bets() {
+        return List.copyOf(bets);
+    }
+
+    public synchronized Trick trick() {
+        int lead = leadSuit();
+        return new Trick(
+                seatAt(expectedSeat()),
+                lead == Cards.NONE ? null : Cards.suitText(lead),
+                List.copyOf(currentTrick())
+        );
+    }
+
+    public Seat seatAt(int position) {
+        for (Seat s : seats) {
+            if (s.position() == position) return s;
+        }
+        return null;
+    }
+
+    public Seat seatOf(long gamePlayerId) {
+        Integer i = indexByGamePlayer.get(gamePlayerId);
+        return i == null ? null : seats.get(i);
+    }
+
+    public Optional<Seat> seatOfPlayer(UUID playerId) {
+        for (Seat s : seats) {
+            if (s.playerId().equals(playerId)) return Optional.of(s);
+        }
+        return Optional.empty();
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    public long getRoundId() {
+        return roundId;
+    }
+
+    public int getNumber() {
+        return number;
+    }
+
+    public int getDealerSeat() {
+        return dealerSeat;
+    }
+
+    public int players() {
+        return seats.size();
+    }
+
+    public String getTrumpSuit() {
+        return trumpSuit == Cards.NONE ? null : Cards.suitText(trumpSuit);
+    }
+
+    public synchronized String getPhase() {
+        return phase;
+    }
+}
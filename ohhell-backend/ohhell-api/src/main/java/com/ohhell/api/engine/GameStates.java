@@ -0,0 +1,145 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.dao.*;
+import com.ohhell.api.models.RoundView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de los GameState de las partidas activas.
+ *
+ * Se cargan bajo demanda desde las tablas (rounds, round_player_cards,
+ * bets, round_plays) y el Roster de la partida, así que tras un reinicio el
+ * estado se reconstruye solo en el primer acceso.
+ *
+ * Un estado que nadie pide durante engine.states.idle-ms se descarta
+ * (partidas abandonadas a mitad de ronda) y se vuelve a cargar si alguien
+ * vuelve. El barrido se hace de paso en get(), como mucho una vez por
+ * minuto. No se acota por tamaño con LRU: descartar una partida activa
+ * obligaría a recargarla mientras sus jugadas aún están en WriteBehind,
+ * mientras que tras tanto tiempo sin accesos su última escritura hace
+ * mucho que salió de la cola.
+ */
+public final class GameStates {
+
+    private static final class Entry {
+        final GameState state;
+        volatile long lastAccessMillis = System.currentTimeMillis();
+
+        Entry(GameState state) {
+            this.state = state;
+        }
+    }
+
+    private static final Map<UUID, Entry> STATES = new ConcurrentHashMap<>();
+
+    private static final long IDLE_MS = Settings.getLong("engine.states.idle-ms", 1_800_000);
+
+    // Cada cuánto se buscan estados inactivos
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    private static final AtomicLong lastSweepMillis = new AtomicLong(System.currentTimeMillis());
+
+    private static final LongAdder EXPIRED = new LongAdder();
+
+    private static final RoundDAO roundDAO = new RoundDAO();
+    private static final PlayerCardDAO playerCardDAO = new PlayerCardDAO();
+    private static final BetDAO betDAO = new BetDAO();
+    private static final RoundPlayDAO roundPlayDAO = new RoundPlayDAO();
+
+    private GameStates() {
+    }
+
+    /**
+     * Estado de la ronda en curso, o null si la partida no tiene ronda activa.
+     */
+    public static GameState get(UUID gameId) {
+        sweepIfDue();
+
+        Entry entry = STATES.get(gameId);
+        if (entry == null) {
+            entry = STATES.computeIfAbsent(gameId, id -> {
+                GameState state = load(id);
+                return state == null ? null : new Entry(state);
+            });
+            if (entry == null) return null;
+        }
+        entry.lastAccessMillis = System.currentTimeMillis();
+        return entry.state;
+    }
+
+    public static void evict(UUID gameId) {
+        // Lo siguiente que se lea puede ser distinto: invalida los ETag
+        GameVersions.bump(gameId);
+
+        Entry entry = STATES.remove(gameId);
+        if (entry != null) {
+            // Las peticiones que aún lo tienen reciben conflicto en vez de escribir sobre él
+            entry.state.retire();
+        }
+    }
+
+    public static int size() {
+        return STATES.size();
+    }
+
+    // Estados descartados por inactividad
+    public static long expired() {
+        return EXPIRED.sum();
+    }
+
+    private static void sweepIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastSweepMillis.get();
+        if (now - last < SWEEP_INTERVAL_MS || !lastSweepMillis.compareAndSet(last, now)) return;
+
+        // Sin cambio visible: la versión (y los ETag) siguen valiendo
+        STATES.forEach((gameId, entry) -> {
+            if (now - entry.lastAccessMillis >= IDLE_MS && STATES.remove(gameId, entry)) {
+                entry.state.retire();
+                EXPIRED.increment();
+            }
+        });
+    }
+
+    // =========================
+    // CARGA DESDE BD
+    // =========================
+    private static GameState load(UUID gameId) {
+        RoundView round = roundDAO.findCurrentRound(gameId);
+        if (round == null) return null;
+
+        List<GameState.Seat> seats = Rosters.get(gameId).members().stream()
+                .map(m -> new GameState.Seat(m.gamePlayerId(), m.playerId(), m.seat()))
+                .toList();
+
+        GameState state = new GameState(
+                gameId,
+                seats,
+                round,
+                trumpSuit(roundDAO.getTrumpSuit(round.getId()))
+        );
+
+        playerCardDAO.getHands(round.getId()).forEach(state::restoreHand);
+
+        for (BetDAO.BetRow b : betDAO.getBetsForRound(round.getId())) {
+            state.restoreBet(new GameState.Bet(b.gamePlayerId(), b.betValue(), b.order()));
+        }
+
+        for (RoundPlayDAO.PlayedCard p : roundPlayDAO.getPlays(round.getId())) {
+            state.restorePlay(new GameState.Play(p.gamePlayerId(), Cards.parse(p.card()), p.order()));
+        }
+
+        return state;
+    }
+
+    private static int trumpSuit(String suitEnum) {
+        return suitEnum == null ? Cards.NONE : Cards.suitFromEnum(suitEnum);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.cache.LruCache;
+import com.ohhell.api.config.Settings;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versión de lo que se ve de cada partida, para ETags y GET condicionales.
+ *
+ * Cada cambio visible (evento publicado o GameState descartado) descarta la
+ * versión de la partida, y la siguiente lectura recibe el siguiente valor de
+ * un reloj global, así que una versión nunca se repite en este proceso.
+ * EPOCH distingue un arranque de otro. Solo vive en memoria: comprobar si
+ * una partida cambió no consulta la base de datos.
+ *
+ * Las versiones están acotadas (cache.versions.size) igual que los rosters:
+ * una partida abandonada acaba saliendo por LRU, y perder una entrada solo
+ * hace que sus clientes descarguen el estado una vez más.
+ */
+public final class GameVersions {
+
+    public static final long EPOCH = System.currentTimeMillis();
+
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    // La carga (un valor nuevo del reloj) no se guarda si hubo un cambio entre medias
+    private static final LruCache<UUID, Long> VERSIONS =
+            new LruCache<>("versions", Settings.getInt("cache.versions.size", 2_000));
+
+    private GameVersions() {
+    }
+
+    public static long get(UUID gameId) {
+        return VERSIONS.get(gameId, id -> CLOCK.incrementAndGet());
+    }
+
+    public static void bump(UUID gameId) {
+        VERSIONS.invalidate(gameId);
+    }
+
+    // Partida terminada: si se vuelve a pedir, recibe una versión nueva
+    public static void forget(UUID gameId) {
+        VERSIONS.invalidate(gameId);
+    }
+
+    public static int size() {
+        return VERSIONS.stats().size();
+    }
+
+    public static LruCache.Stats cacheStats() {
+        return VERSIONS.stats();
+    }
+}
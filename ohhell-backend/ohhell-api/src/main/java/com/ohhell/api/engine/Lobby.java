@@ -0,0 +1,194 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.dao.GameDAO;
+import com.ohhell.api.dao.GamePlayerDAO;
+import com.ohhell.api.models.Game;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Directorio en memoria de las partidas en espera, para listar el lobby.
+ *
+ * Se carga de la BD en la primera consulta y después se mantiene con lo
+ * que pasa en esta instancia: partida creada, jugador unido y partida
+ * iniciada (siempre tras confirmar). Las partidas van ordenadas de la más
+ * nueva a la más antigua y se paginan por clave (createdAt, id): el cursor
+ * es la última partida devuelta, así que una página cuesta O(página) y no
+ * se desordena aunque entren partidas nuevas mientras se navega.
+ *
+ * Con varias instancias detrás de un balanceador, lobby.refresh-ms > 0
+ * recarga el directorio completo cada ese tiempo.
+ */
+public final class Lobby {
+
+    public record Filter(int minFreeSeats, String titlePrefix, Integer startingCards) {
+
+        public static final Filter ANY = new Filter(0, null, null);
+
+        boolean matches(GameDAO.OpenGameRow game) {
+            if (GamePlayerDAO.MAX_PLAYERS - game.players() < minFreeSeats) return false;
+            if (startingCards != null && game.startingCards() != startingCards) return false;
+            return titlePrefix == null || titlePrefix.isEmpty()
+                    || (game.title() != null
+                        && game.title().regionMatches(true, 0, titlePrefix, 0, titlePrefix.length()));
+        }
+    }
+
+    /**
+     * Una página del directorio; nextCursor es null en la última.
+     */
+    public record Page(List<GameDAO.OpenGameRow> games, String nextCursor) {}
+
+    private record Key(long createdMicros, UUID id) {}
+
+    private static final Comparator<Key> NEWEST_FIRST = Comparator
+            .comparingLong(Key::createdMicros).reversed()
+            .thenComparing(Key::id, Comparator.reverseOrder());
+
+    // Índices de una carga; se sustituyen enteros al recargar
+    private static final class Directory {
+        final ConcurrentSkipListMap<Key, GameDAO.OpenGameRow> games = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+        final Map<UUID, Key> keys = new ConcurrentHashMap<>();
+        final long loadedAt = System.currentTimeMillis();
+
+        void put(GameDAO.OpenGameRow game) {
+            Key key = new Key(micros(game.createdAt()), game.id());
+            keys.put(game.id(), key);
+            games.put(key, game);
+        }
+    }
+
+    private static final long REFRESH_MS = Settings.getLong("lobby.refresh-ms", 0);
+
+    private static volatile Directory directory;
+
+    private static final GameDAO gameDAO = new GameDAO();
+
+    private Lobby() {
+    }
+
+    // =========================
+    // CONSULTA
+    // =========================
+
+    /**
+     * Hasta limit partidas que cumplen filter, a continuación de cursor
+     * (null para la primera página).
+     *
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static Page page(String cursor, int limit, Filter filter) {
+        Directory dir = current();
+
+        NavigableMap<Key, GameDAO.OpenGameRow> view = cursor == null
+                ? dir.games
+                : dir.games.tailMap(parseCursor(cursor), false);
+
+        List<GameDAO.OpenGameRow> page = new ArrayList<>(limit);
+        Key last = null;
+        for (Map.Entry<Key, GameDAO.OpenGameRow> e : view.entrySet()) {
+            if (!filter.matches(e.getValue())) continue;
+            if (page.size() == limit) {
+                return new Page(page, cursorOf(last));
+            }
+            page.add(e.getValue());
+            last = e.getKey();
+        }
+        return new Page(page, null);
+    }
+
+    public static int size() {
+        Directory dir = directory;
+        return dir == null ? 0 : dir.games.size();
+    }
+
+    // =========================
+    // CAMBIOS
+    // =========================
+    public static synchronized void opened(Game game, int players) {
+        Directory dir = directory;
+        if (dir == null) return; // la primera consulta ya la leerá de la BD
+
+        dir.put(new GameDAO.OpenGameRow(
+                game.getId(),
+                game.getCode(),
+                game.getTitle(),
+                game.getStartingCards(),
+                game.getCreatedAt(),
+                players
+        ));
+    }
+
+    public static synchronized void joined(UUID gameId) {
+        Directory dir = directory;
+        if (dir == null) return;
+
+        Key key = dir.keys.get(gameId);
+        if (key == null) return;
+        dir.games.computeIfPresent(key, (k, g) -> new GameDAO.OpenGameRow(
+                g.id(), g.code(), g.title(), g.startingCards(), g.createdAt(),
+                Math.min(g.players() + 1, GamePlayerDAO.MAX_PLAYERS)
+        ));
+    }
+
+    public static synchronized void closed(UUID gameId) {
+        Directory dir = directory;
+        if (dir == null) return;
+
+        Key key = dir.keys.remove(gameId);
+        if (key != null) {
+            dir.games.remove(key);
+        }
+    }
+
+    // =========================
+    // CARGA
+    // =========================
+    private static Directory current() {
+        Directory dir = directory;
+        if (dir != null && !stale(dir)) return dir;
+
+        synchronized (Lobby.class) {
+            dir = directory;
+            if (dir == null || stale(dir)) {
+                dir = new Directory();
+                gameDAO.findOpenGames(dir::put);
+                directory = dir;
+            }
+            return dir;
+        }
+    }
+
+    private static boolean stale(Directory dir) {
+        return REFRESH_MS > 0 && System.currentTimeMillis() - dir.loadedAt >= REFRESH_MS;
+    }
+
+    // =========================
+    // CURSOR
+    // =========================
+    private static String cursorOf(Key key) {
+        return Long.toString(key.createdMicros(), 36) + "." + key.id();
+    }
+
+    private static Key parseCursor(String cursor) {
+        int dot = cursor.indexOf('.');
+        if (dot < 0) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            return new Key(Long.parseLong(cursor.substring(0, dot), 36), UUID.fromString(cursor.substring(dot + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+
+    private static long micros(OffsetDateTime time) {
+        Instant i = time.toInstant();
+        return i.getEpochSecond() * 1_000_000 + i.getNano() / 1_000;
+    }
+}
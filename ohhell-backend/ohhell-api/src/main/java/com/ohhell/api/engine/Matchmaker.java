@@ -0,0 +1,263 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.dao.GameDAO;
+import com.ohhell.api.dao.GamePlayerDAO;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.log.Log;
+import com.ohhell.api.models.Game;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cola de emparejamiento: agrupa a los jugadores que esperan en mesas
+ * nuevas, sin pasar por el listado del lobby.
+ *
+ * Un hilo forma las mesas en orden de llegada: en cuanto hay
+ * matchmaking.table-size jugadores en cola sale una mesa completa, y si el
+ * más antiguo lleva matchmaking.max-wait-ms esperando se sienta a los que
+ * haya, siempre que sean al menos matchmaking.min-players. Subir max-wait
+ * llena más mesas y bajarlo reduce la espera.
+ *
+ * Cada mesa se crea en una sola transacción (partida + asientos, todos
+ * listos y el primero de host) en uno de los matchmaking.workers hilos, y
+ * solo tras confirmar se avisa a los jugadores completando su ticket.
+ */
+public final class Matchmaker {
+
+    private static final Log log = Log.get(Matchmaker.class);
+
+    public record Match(String code, UUID gameId, int seat) {}
+
+    private static final class Ticket {
+        final UUID playerId;
+        final long enqueuedAt = System.currentTimeMillis();
+        final CompletableFuture<Match> result = new CompletableFuture<>();
+        long matchedAt;
+
+        Ticket(UUID playerId) {
+            this.playerId = playerId;
+        }
+    }
+
+    private static final int TABLE_SIZE = Math.min(GamePlayerDAO.MAX_PLAYERS,
+            Settings.getInt("matchmaking.table-size", GamePlayerDAO.MAX_PLAYERS));
+    private static final int MIN_PLAYERS = Math.min(TABLE_SIZE,
+            Settings.getInt("matchmaking.min-players", 3));
+    private static final long MAX_WAIT_MS = Settings.getLong("matchmaking.max-wait-ms", 5_000);
+    private static final long TICK_MS = Settings.getLong("matchmaking.tick-ms", 100);
+
+    // Mesas ya formadas cuyo aviso nadie ha recogido
+    private static final long UNCLAIMED_TTL_MS = 60_000;
+
+    private static final String TITLE = "Partida rápida";
+
+    private static final Object LOCK = new Object();
+    private static final ArrayDeque<Ticket> QUEUE = new ArrayDeque<>();
+    private static final Map<UUID, Ticket> TICKETS = new HashMap<>();
+
+    private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+            Settings.getInt("matchmaking.workers", 2),
+            r -> {
+                Thread t = new Thread(r, "ohhell-matchmaking-" + WORKER_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    private static final LongAdder TABLES = new LongAdder();
+    private static final LongAdder MATCHED = new LongAdder();
+
+    private static final GameDAO gameDAO = new GameDAO();
+    private static final GamePlayerDAO gamePlayerDAO = new GamePlayerDAO();
+
+    private static volatile boolean running = true;
+
+    private static final Thread MATCHER = start();
+
+    private Matchmaker() {
+    }
+
+    private static Thread start() {
+        Thread t = new Thread(Matchmaker::run, "ohhell-matchmaker");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    // =========================
+    // COLA
+    // =========================
+
+    /**
+     * Pone al jugador en cola, o devuelve su ticket si ya estaba (en cola o
+     * con mesa pendiente de recoger). El futuro se completa con la mesa.
+     */
+    public static CompletableFuture<Match> enqueue(UUID playerId) {
+        synchronized (LOCK) {
+            Ticket ticket = TICKETS.get(playerId);
+            if (ticket == null) {
+                ticket = new Ticket(playerId);
+                TICKETS.put(playerId, ticket);
+                QUEUE.addLast(ticket);
+                if (QUEUE.size() >= TABLE_SIZE) {
+                    LOCK.notify();
+                }
+            }
+            return ticket.result;
+        }
+    }
+
+    /**
+     * true si el jugador está en cola o tiene una mesa pendiente de recoger.
+     */
+    public static boolean hasTicket(UUID playerId) {
+        synchronized (LOCK) {
+            return TICKETS.containsKey(playerId);
+        }
+    }
+
+    /**
+     * El jugador ya recibió su mesa: se olvida el ticket.
+     */
+    public static void claim(UUID playerId, Match match) {
+        synchronized (LOCK) {
+            Ticket ticket = TICKETS.get(playerId);
+            if (ticket != null && match.equals(ticket.result.getNow(null))) {
+                TICKETS.remove(playerId);
+            }
+        }
+    }
+
+    /**
+     * Saca al jugador de la cola. false si no estaba o ya tiene mesa.
+     */
+    public static boolean cancel(UUID playerId) {
+        synchronized (LOCK) {
+            Ticket ticket = TICKETS.get(playerId);
+            if (ticket == null || !QUEUE.remove(ticket)) return false;
+            TICKETS.remove(playerId);
+            ticket.result.cancel(false);
+            return true;
+        }
+    }
+
+    public static void shutdown(long timeoutMs) {
+        running = false;
+        synchronized (LOCK) {
+            LOCK.notify();
+        }
+        WORKERS.shutdown();
+        try {
+            MATCHER.join(timeoutMs);
+            WORKERS.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================
+    // FORMAR MESAS
+    // =========================
+    private static void run() {
+        while (running) {
+            List<List<Ticket>> tables = new ArrayList<>();
+
+            synchronized (LOCK) {
+                try {
+                    if (QUEUE.size() < TABLE_SIZE) {
+                        LOCK.wait(TICK_MS);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                long now = System.currentTimeMillis();
+                while (QUEUE.size() >= TABLE_SIZE) {
+                    tables.add(take(TABLE_SIZE));
+                }
+                Ticket oldest = QUEUE.peekFirst();
+                if (oldest != null && QUEUE.size() >= MIN_PLAYERS && now - oldest.enqueuedAt >= MAX_WAIT_MS) {
+                    tables.add(take(QUEUE.size()));
+                }
+
+                TICKETS.values().removeIf(t -> t.matchedAt > 0 && now - t.matchedAt > UNCLAIMED_TTL_MS);
+            }
+
+            for (List<Ticket> table : tables) {
+                WORKERS.execute(() -> createTable(table));
+            }
+        }
+    }
+
+    private static List<Ticket> take(int n) {
+        List<Ticket> table = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            table.add(QUEUE.pollFirst());
+        }
+        return table;
+    }
+
+    private static void createTable(List<Ticket> table) {
+        List<UUID> playerIds = table.stream().map(t -> t.playerId).toList();
+
+        try {
+            UnitOfWork.inTransaction(() -> {
+                Game game = gameDAO.create(TITLE);
+                gamePlayerDAO.seatPlayers(game.getId(), playerIds);
+
+                UnitOfWork.afterCommit(() -> {
+                    Lobby.opened(game, playerIds.size());
+                    matched(table, game);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.error("Error creando mesa para {} jugadores", table.size(), e);
+            synchronized (LOCK) {
+                for (Ticket ticket : table) {
+                    TICKETS.remove(ticket.playerId, ticket);
+                    ticket.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static void matched(List<Ticket> table, Game game) {
+        TABLES.increment();
+        MATCHED.add(table.size());
+
+        long now = System.currentTimeMillis();
+        synchronized (LOCK) {
+            for (Ticket ticket : table) {
+                ticket.matchedAt = now;
+            }
+        }
+        for (int seat = 0; seat < table.size(); seat++) {
+            table.get(seat).result.complete(new Match(game.getCode(), game.getId(), seat));
+        }
+    }
+
+    // =========================
+    // MÉTRICAS
+    // =========================
+    public static int queued() {
+        synchronized (LOCK) {
+            return QUEUE.size();
+        }
+    }
+
+    public static long tables() {
+        return TABLES.sum();
+    }
+
+    public static long matched() {
+        return MATCHED.sum();
+    }
+}
@@ -0,0 +1,13 @@
+package com.ohhell.api.engine;
+
+/**
+ * El movimiento se basaba en un estado que ya ha cambiado: otra jugada se
+ * aplicó antes (expectedVersion no coincide) o el GameState se recargó.
+ * Se responde 409 y el cliente debe refrescar y reintentar.
+ */
+public class MoveConflictException extends MoveRejectedException {
+
+    public MoveConflictException(String message) {
+        super(message);
+    }
+}
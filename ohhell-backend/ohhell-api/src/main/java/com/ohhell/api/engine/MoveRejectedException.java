@@ -0,0 +1,12 @@
+package com.ohhell.api.engine;
+
+/**
+ * Movimiento no permitido por las reglas o por el estado de la partida.
+ * El mensaje se devuelve tal cual al cliente (400).
+ */
+public class MoveRejectedException extends RuntimeException {
+
+    public MoveRejectedException(String message) {
+        super(message);
+    }
+}
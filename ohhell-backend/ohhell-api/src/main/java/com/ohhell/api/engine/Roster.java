@@ -0,0 +1,61 @@
+package com.ohhell.api.engine;
+
+import java.util.*;
+
+/**
+ * Jugadores de una partida: identidad, apodo, asiento y host.
+ *
+ * Es inmutable. Mientras la partida no cambie de jugadores se comparte
+ * entre todas las peticiones (ver Rosters), así que las vistas resuelven
+ * gamePlayerId → jugador sin consultar la base de datos.
+ */
+public final class Roster {
+
+    public record Member(long gamePlayerId, UUID playerId, String nickname, int seat, boolean host) {}
+
+    private final UUID gameId;
+    private final List<Member> members;
+    private final Map<Long, Member> byGamePlayer;
+    private final Map<UUID, Member> byPlayer;
+
+    Roster(UUID gameId, List<Member> members) {
+        this.gameId = gameId;
+        this.members = List.copyOf(members);
+
+        Map<Long, Member> gp = new HashMap<>();
+        Map<UUID, Member> pl = new HashMap<>();
+        for (Member m : this.members) {
+            gp.put(m.gamePlayerId(), m);
+            pl.put(m.playerId(), m);
+        }
+        this.byGamePlayer = Map.copyOf(gp);
+        this.byPlayer = Map.copyOf(pl);
+    }
+
+    public UUID getGameId() {
+        return gameId;
+    }
+
+    // En orden de asiento
+    public List<Member> members() {
+        return members;
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public Member byGamePlayer(long gamePlayerId) {
+        return byGamePlayer.get(gamePlayerId);
+    }
+
+    public Optional<Member> byPlayer(UUID playerId) {
+        return Optional.ofNullable(byPlayer.get(playerId));
+    }
+
+    public List<Long> gamePlayerIds() {
+        List<Long> ids = new ArrayList<>(members.size());
+        for (Member m : members) ids.add(m.gamePlayerId());
+        return ids;
+    }
+}
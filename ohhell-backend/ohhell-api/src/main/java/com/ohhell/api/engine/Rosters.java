@@ -0,0 +1,57 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.cache.LruCache;
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.dao.GamePlayerDAO;
+import com.ohhell.api.db.UnitOfWork;
+
+import java.util.UUID;
+
+/**
+ * Registro de los Roster de cada partida.
+ *
+ * Se cargan con una sola consulta en el primer acceso y solo se descartan
+ * cuando cambia el lobby (alguien entra en la partida). Tras /start los
+ * jugadores ya no cambian, así que el roster dura toda la partida.
+ *
+ * La caché está acotada (cache.rosters.size): las partidas abandonadas en
+ * el lobby acaban saliendo por LRU, y una partida activa que salga solo
+ * cuesta volver a cargar su roster.
+ */
+public final class Rosters {
+
+    private static final LruCache<UUID, Roster> ROSTERS =
+            new LruCache<>("rosters", Settings.getInt("cache.rosters.size", 2_000));
+
+    private static final GamePlayerDAO gamePlayerDAO = new GamePlayerDAO();
+
+    private Rosters() {
+    }
+
+    public static Roster get(UUID gameId) {
+        return ROSTERS.get(gameId, Rosters::load);
+    }
+
+    /**
+     * Descarta el roster ahora y otra vez al confirmar la transacción en
+     * curso, para que nadie cachee la versión anterior entre medias.
+     */
+    public static void invalidate(UUID gameId) {
+        ROSTERS.invalidate(gameId);
+        UnitOfWork.afterCommit(() -> ROSTERS.invalidate(gameId));
+    }
+
+    public static int size() {
+        return ROSTERS.stats().size();
+    }
+
+    public static LruCache.Stats cacheStats() {
+        return ROSTERS.stats();
+    }
+
+    private static Roster load(UUID gameId) {
+        return new Roster(gameId, gamePlayerDAO.getRoster(gameId).stream()
+                .map(r -> new Roster.Member(r.gamePlayerId(), r.playerId(), r.nickname(), r.seat(), r.host()))
+                .toList());
+    }
+}
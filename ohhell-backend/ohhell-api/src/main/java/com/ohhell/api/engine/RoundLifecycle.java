@@ -0,0 +1,109 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.dao.GameDAO;
+import com.ohhell.api.dao.RoundDAO;
+import com.ohhell.api.dao.RoundScoreDAO;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.events.GameEvent;
+import com.ohhell.api.events.GameEvents;
+import com.ohhell.api.log.Log;
+import com.ohhell.api.models.Game;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cierre de una ronda terminada y paso a la siguiente.
+ *
+ * GameState ya ha resuelto las bazas y puntuado en memoria; aquí se
+ * persiste todo en una sola tarea de WriteBehind (una transacción):
+ * puntuaciones, cierre de la ronda y, según Game.maxRounds, la ronda
+ * siguiente ya repartida o el fin de la partida. Al confirmar se descarta el
+ * GameState para que se cargue la ronda nueva y se publican los eventos.
+ */
+public final class RoundLifecycle {
+
+    private static final Log log = Log.get(RoundLifecycle.class);
+
+    private static final GameDAO gameDAO = new GameDAO();
+    private static final RoundDAO roundDAO = new RoundDAO();
+    private static final RoundScoreDAO roundScoreDAO = new RoundScoreDAO();
+
+    private RoundLifecycle() {
+    }
+
+    public static void close(Game game, GameState state, List<GameState.Score> scores) {
+        UUID gameId = game.getId();
+        String code = game.getCode();
+        long roundId = state.getRoundId();
+        int number = state.getNumber();
+        int players = state.players();
+        int nextDealer = (state.getDealerSeat() + 1) % players;
+
+        WriteBehind.submit(game, () -> {
+            // Si otro cierre se adelantó, no duplicar puntuaciones ni rondas
+            if (!roundDAO.finishRound(roundId)) {
+                log.warn("Ronda {} ya estaba cerrada", roundId);
+                return;
+            }
+
+            for (GameState.Score s : scores) {
+                roundScoreDAO.saveScore(roundId, s.gamePlayerId(), s.tricks(), s.bet(), s.points());
+            }
+
+            Map<String, Object> finished = roundFinished(gameId, roundId, number, scores);
+
+            if (number < game.getMaxRounds()) {
+                int next = number + 1;
+                int cards = Rules.cardsForRound(next, game.getStartingCards(), players);
+
+                long nextRoundId = roundDAO.createRound(gameId, next, cards, nextDealer);
+                roundDAO.dealCards(nextRoundId, Rosters.get(gameId).gamePlayerIds(), cards);
+
+                UnitOfWork.afterCommit(() -> {
+                    GameStates.evict(gameId);
+                    GameEvents.publish(code, GameEvent.Type.ROUND_FINISHED, finished);
+                    GameEvents.publish(code, GameEvent.Type.ROUND_STARTED, Map.of(
+                            "roundId", nextRoundId,
+                            "number", next,
+                            "cardsPerPlayer", cards,
+                            "dealerSeat", nextDealer,
+                            "phase", "BETTING"
+                    ));
+                });
+            } else {
+                gameDAO.markFinished(gameId);
+
+                UnitOfWork.afterCommit(() -> {
+                    GameStates.evict(gameId);
+                    GameVersions.forget(gameId);
+                    Rosters.invalidate(gameId);
+                    GameEvents.publish(code, GameEvent.Type.ROUND_FINISHED, finished);
+                    GameEvents.publish(code, GameEvent.Type.GAME_FINISHED, Map.of("rounds", number));
+                    GameEvents.close(code);
+                    log.info("Partida {} terminada tras {} rondas", code, number);
+                });
+            }
+        });
+    }
+
+    private static Map<String, Object> roundFinished(UUID gameId, long roundId, int number,
+                                                     List<GameState.Score> scores) {
+        Roster roster = Rosters.get(gameId);
+
+        List<Map<String, Object>> rows = new ArrayList<>(scores.size());
+        for (GameState.Score s : scores) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("playerId", roster.byGamePlayer(s.gamePlayerId()).playerId());
+            row.put("bet", s.bet());
+            row.put("tricks", s.tricks());
+            row.put("points", s.points());
+            rows.add(row);
+        }
+
+        return Map.of("roundId", roundId, "number", number, "scores", rows);
+    }
+}
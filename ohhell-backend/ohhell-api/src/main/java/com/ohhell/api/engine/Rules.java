@@ -0,0 +1,96 @@
+package com.ohhell.api.engine;
+
+/**
+ * Reglas puras de Oh Hell sobre cartas codificadas (ver Cards).
+ *
+ * No guardan estado ni reservan memoria: GameState las usa para validar
+ * jugadas y los benchmarks las miden de forma aislada.
+ */
+public final class Rules {
+
+    public enum BetCheck { OK, OUT_OF_RANGE, CLOSES_SUM }
+
+    private Rules() {
+    }
+
+    // =========================
+    // APUESTAS
+    // =========================
+
+    /**
+     * Valida una apuesta: debe estar entre 0 y cardsPerPlayer y, si es la
+     * última de la mesa, no puede hacer que la suma iguale las bazas en juego.
+     */
+    public static BetCheck checkBet(int value, int cardsPerPlayer,
+                                    int betsSoFar, int players, int sumSoFar) {
+        if (value < 0 || value > cardsPerPlayer) {
+            return BetCheck.OUT_OF_RANGE;
+        }
+        boolean isLastBetter = betsSoFar == players - 1;
+        if (isLastBetter && sumSoFar + value == cardsPerPlayer) {
+            return BetCheck.CLOSES_SUM;
+        }
+        return BetCheck.OK;
+    }
+
+    // =========================
+    // BAZAS
+    // =========================
+
+    // Hay que seguir el palo de salida si se tiene
+    public static boolean followsSuit(long hand, int card, int leadSuit) {
+        return leadSuit == Cards.NONE
+                || Cards.suit(card) == leadSuit
+                || !Cards.hasSuit(hand, leadSuit);
+    }
+
+    /**
+     * Índice de la carta ganadora entre las count primeras de cards (en
+     * orden de juego). Gana el triunfo más alto; si no hay triunfos, la
+     * carta más alta del palo de salida.
+     */
+    public static int trickWinner(int[] cards, int count, int trumpSuit) {
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (beats(cards[i], cards[best], trumpSuit)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static boolean beats(int card, int best, int trumpSuit) {
+        int suit = Cards.suit(card);
+        if (suit == Cards.suit(best)) {
+            // Dentro de un palo el código crece con el valor
+            return card > best;
+        }
+        return suit == trumpSuit;
+    }
+
+    // =========================
+    // RONDAS
+    // =========================
+
+    /**
+     * Cartas por jugador en la ronda number (desde 1): se baja de una en una
+     * desde startingCards hasta 1 y se vuelve a subir. startingCards se
+     * limita a lo que permite la baraja dejando una carta de triunfo.
+     */
+    public static int cardsForRound(int number, int startingCards, int players) {
+        int start = Math.min(startingCards, (Cards.DECK_SIZE - 1) / players);
+        if (start <= 1) return 1;
+
+        int step = (number - 1) % (2 * (start - 1));
+        return step < start ? start - step : 2 + step - start;
+    }
+
+    // =========================
+    // PUNTUACIÓN
+    // =========================
+
+    // Una baza por punto, más 10 si se cumple exactamente la apuesta
+    public static int score(int bet, int tricks) {
+        return bet == tricks ? 10 + tricks : tricks;
+    }
+}
@@ -0,0 +1,186 @@
+package com.ohhell.api.engine;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.events.GameEvent;
+import com.ohhell.api.events.GameEvents;
+import com.ohhell.api.log.Log;
+import com.ohhell.api.models.Game;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cola de escritura diferida hacia PostgreSQL.
+ *
+ * Un único hilo aplica las tareas en orden de llegada, cada una en su
+ * propia transacción. Los fallos transitorios (timeout del pool, conexión
+ * perdida, conflicto de serialización o deadlock) se reintentan en el sitio
+ * hasta engine.write-behind.retries veces, con espera creciente desde
+ * engine.write-behind.backoff-ms, sin adelantar a las tareas siguientes.
+ *
+ * Si una tarea falla del todo, las que ya estaban en cola para esa partida
+ * se descartan sin ejecutarse (se calcularon sobre el mismo estado en
+ * memoria, que ya no coincide con la BD), se descarta el GameState para que
+ * se vuelva a cargar desde la base de datos y se envía RESYNC a la partida:
+ * sus clientes ya recibieron 200 por jugadas que no llegaron a guardarse.
+ *
+ * Para eso cada tarea lleva la generación de su partida al encolarse; un
+ * fallo pasa la partida a la generación siguiente. Solo las partidas con
+ * algún fallo tienen entrada en el mapa de generaciones.
+ */
+public final class WriteBehind {
+
+    private static final Log log = Log.get(WriteBehind.class);
+
+    private record Task(UUID gameId, String code, long generation, Runnable work) {}
+
+    private static final Task STOP = new Task(null, null, 0, () -> { });
+
+    private static final int RETRIES = Settings.getInt("engine.write-behind.retries", 3);
+
+    private static final long BACKOFF_MS = Settings.getLong("engine.write-behind.backoff-ms", 100);
+
+    private static final Map<UUID, Long> GENERATIONS = new ConcurrentHashMap<>();
+
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder RETRIED = new LongAdder();
+
+    private static final BlockingQueue<Task> QUEUE =
+            new LinkedBlockingQueue<>(Settings.getInt("engine.write-behind.capacity", 10_000));
+
+    private static final Thread WRITER = start();
+
+    private static volatile boolean accepting = true;
+
+    private WriteBehind() {
+    }
+
+    private static Thread start() {
+        Thread t = new Thread(WriteBehind::run, "ohhell-write-behind");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /**
+     * Encola una escritura. Si la cola está llena, espera (contrapresión).
+     */
+    public static void submit(Game game, Runnable work) {
+        if (!accepting) {
+            throw new IllegalStateException("WriteBehind detenido");
+        }
+        UUID gameId = game.getId();
+        try {
+            QUEUE.put(new Task(gameId, game.getCode(), generation(gameId), work));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrumpido encolando escritura", e);
+        }
+    }
+
+    public static int pending() {
+        return QUEUE.size();
+    }
+
+    // Tareas descartadas por un fallo anterior de su partida
+    public static long discarded() {
+        return DISCARDED.sum();
+    }
+
+    // Reintentos tras un fallo transitorio
+    public static long retried() {
+        return RETRIED.sum();
+    }
+
+    /**
+     * Deja de aceptar tareas y espera a que se escriban las pendientes.
+     */
+    public static void shutdown(long timeoutMs) {
+        accepting = false;
+        try {
+            QUEUE.put(STOP);
+            WRITER.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void run() {
+        while (true) {
+            Task task;
+            try {
+                task = QUEUE.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (task == null) continue;
+            if (task == STOP) return;
+
+            if (task.generation() != generation(task.gameId())) {
+                DISCARDED.increment();
+                log.warn("Descartada escritura de la partida {} tras un fallo anterior", task.gameId());
+                continue;
+            }
+
+            try {
+                apply(task);
+            } catch (RuntimeException e) {
+                log.error("Error persistiendo partida {}", task.gameId(), e);
+                // Primero se invalidan las tareas en cola; luego se recarga el estado
+                GENERATIONS.merge(task.gameId(), 1L, Long::sum);
+                GameStates.evict(task.gameId());
+                GameEvents.publish(task.code(), GameEvent.Type.RESYNC, Map.of("reason", "WRITE_FAILED"));
+            }
+        }
+    }
+
+    // La transacción fallida se deshizo entera: repetir la tarea es seguro
+    private static void apply(Task task) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UnitOfWork.inTransaction(() -> {
+                    task.work().run();
+                    return null;
+                });
+                return;
+            } catch (RuntimeException e) {
+                if (attempt > RETRIES || !isTransient(e)) throw e;
+
+                long delay = BACKOFF_MS << (attempt - 1);
+                RETRIED.increment();
+                log.warn("Fallo transitorio persistiendo partida {} (intento {}), se reintenta en {} ms",
+                        task.gameId(), attempt, delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // SQLState 08xxx: conexión; 40001/40P01: serialización y deadlock
+    private static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException) return true;
+            if (t instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("08") || sql.getSQLState().startsWith("40"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long generation(UUID gameId) {
+        return GENERATIONS.getOrDefault(gameId, 0L);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ohhell.api.events;
+
+import java.util.Map;
+
+/**
+ * Evento de una partida. seq es creciente dentro del canal de la partida;
+ * el Last-Event-ID que se envía le añade delante la encarnación del canal
+ * (ver GameEvents). data lleva solo lo que ha cambiado.
+ */
+public record GameEvent(long seq, Type type, Map<String, Object> data) {
+
+    public enum Type {
+        PLAYER_JOINED,
+        PLAYER_READY,
+        ROUND_STARTED,
+        BET_PLACED,
+        CARD_PLAYED,
+        TRICK_WON,
+        ROUND_FINISHED,
+        GAME_FINISHED,
+        // El cliente pidió eventos que ya no están en el buffer: debe recargar
+        RESYNC
+    }
+}
@@ -0,0 +1,218 @@
+package com.ohhell.api.events;
+
+import com.ohhell.api.config.Settings;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Canales de eventos por código de partida.
+ *
+ * Cada canal guarda los últimos eventos en un buffer circular para poder
+ * reenviarlos a quien se reconecta con Last-Event-ID. Si nadie escucha una
+ * partida, publicar solo añade el evento al buffer.
+ *
+ * El id de cada evento es "<encarnación>-<seq>": la encarnación identifica
+ * el canal (arranque del proceso y número de canal), así que un id de un
+ * canal anterior, retirado o de antes de reiniciar, nunca se confunde con
+ * uno del actual aunque su seq coincida. Con un id que no es del canal
+ * actual se envía RESYNC.
+ *
+ * Un canal sin suscriptores y sin eventos durante events.idle-ms se retira
+ * (partidas abandonadas o que nunca empezaron). El barrido se hace de paso
+ * al publicar o suscribirse, como mucho una vez por minuto. Quien vuelva
+ * después con un Last-Event-ID del canal anterior recibe RESYNC.
+ */
+public final class GameEvents {
+
+    private static final int BUFFER_SIZE = Settings.getInt("events.buffer-size", 256);
+
+    private static final long IDLE_MS = Settings.getLong("events.idle-ms", 600_000);
+
+    // Cada cuánto se buscan canales inactivos
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    // Distingue los ids de este arranque de los de arranques anteriores
+    private static final String EPOCH = Long.toHexString(System.currentTimeMillis());
+
+    private static final AtomicLong CHANNEL_IDS = new AtomicLong();
+
+    private static final Map<String, Channel> CHANNELS = new ConcurrentHashMap<>();
+
+    private static final AtomicLong lastSweepMillis = new AtomicLong(System.currentTimeMillis());
+
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    private GameEvents() {
+    }
+
+    public static void publish(String code, GameEvent.Type type, Map<String, Object> data) {
+        sweepIfDue();
+        while (true) {
+            Channel channel = CHANNELS.computeIfAbsent(code, c -> new Channel());
+            if (channel.publish(type, data)) return;
+            CHANNELS.remove(code, channel);
+        }
+    }
+
+    /**
+     * Registra un suscriptor. Si lastEventId no es null, primero le reenvía
+     * los eventos posteriores a ese id, o RESYNC si no es del canal actual o
+     * ya no están en el buffer.
+     */
+    public static void subscribe(String code, Sse sse, SseEventSink sink, String lastEventId) {
+        sweepIfDue();
+        while (true) {
+            Channel channel = CHANNELS.computeIfAbsent(code, c -> new Channel());
+            if (channel.subscribe(sse, sink, lastEventId)) return;
+            CHANNELS.remove(code, channel);
+        }
+    }
+
+    public static void close(String code) {
+        Channel channel = CHANNELS.remove(code);
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    public static int channels() {
+        return CHANNELS.size();
+    }
+
+    // Suscriptores abiertos en todas las partidas
+    public static int subscribers() {
+        int total = 0;
+        for (Channel channel : CHANNELS.values()) {
+            total += channel.size();
+        }
+        return total;
+    }
+
+    private static void sweepIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastSweepMillis.get();
+        if (now - last < SWEEP_INTERVAL_MS || !lastSweepMillis.compareAndSet(last, now)) return;
+
+        CHANNELS.forEach((code, channel) -> {
+            if (channel.retireIfIdle(now)) {
+                CHANNELS.remove(code, channel);
+            }
+        });
+    }
+
+    // =========================
+    // CANAL
+    // =========================
+    private static final class Channel {
+
+        private final String incarnation = EPOCH + "." + CHANNEL_IDS.incrementAndGet();
+
+        private long seq;
+        private final ArrayDeque<GameEvent> buffer = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>();
+
+        private long lastActiveMillis = System.currentTimeMillis();
+
+        // Retirado del registro: quien aún lo tenga debe pedir otro
+        private boolean retired;
+
+        private record Subscriber(Sse sse, SseEventSink sink) {}
+
+        synchronized boolean publish(GameEvent.Type type, Map<String, Object> data) {
+            if (retired) return false;
+            lastActiveMillis = System.currentTimeMillis();
+
+            GameEvent event = new GameEvent(++seq, type, data);
+
+            if (buffer.size() == BUFFER_SIZE) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(event);
+
+            subscribers.removeIf(s -> !send(s, event));
+            return true;
+        }
+
+        synchronized boolean subscribe(Sse sse, SseEventSink sink, String lastEventId) {
+            if (retired) return false;
+            lastActiveMillis = System.currentTimeMillis();
+
+            Subscriber subscriber = new Subscriber(sse, sink);
+
+            if (lastEventId != null) {
+                long last = seqOf(lastEventId);
+                GameEvent oldest = buffer.peekFirst();
+                boolean covered = last == seq || (last >= 0 && last < seq && oldest != null && oldest.seq() <= last + 1);
+                if (!covered) {
+                    if (!send(subscriber, new GameEvent(seq, GameEvent.Type.RESYNC, Map.of()))) return true;
+                } else {
+                    for (GameEvent e : buffer) {
+                        if (e.seq() > last && !send(subscriber, e)) return true;
+                    }
+                }
+            }
+
+            subscribers.add(subscriber);
+            return true;
+        }
+
+        synchronized boolean retireIfIdle(long now) {
+            subscribers.removeIf(s -> s.sink().isClosed());
+            if (!subscribers.isEmpty() || now - lastActiveMillis < IDLE_MS) return false;
+            retired = true;
+            return true;
+        }
+
+        synchronized int size() {
+            return subscribers.size();
+        }
+
+        synchronized void close() {
+            retired = true;
+            subscribers.forEach(s -> s.sink().close());
+            subscribers.clear();
+        }
+
+        // seq del id si es de este canal; -1 si es de otro o no se entiende
+        private long seqOf(String eventId) {
+            String prefix = incarnation + "-";
+            if (!eventId.startsWith(prefix)) return -1;
+            try {
+                return Long.parseLong(eventId.substring(prefix.length()));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private boolean send(Subscriber s, GameEvent event) {
+            if (s.sink().isClosed()) return false;
+
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("seq", event.seq());
+            payload.put("type", event.type().name());
+            payload.put("data", event.data());
+
+            // El JSON se serializa aquí y viaja como texto en el campo data
+            OutboundSseEvent out = s.sse().newEventBuilder()
+                    .id(incarnation + "-" + event.seq())
+                    .name(event.type().name())
+                    .mediaType(MediaType.TEXT_PLAIN_TYPE)
+                    .data(String.class, JSONB.toJson(payload))
+                    .build();
+
+            s.sink().send(out).exceptionally(e -> {
+                s.sink().close();
+                return null;
+            });
+            return true;
+        }
+    }
+}
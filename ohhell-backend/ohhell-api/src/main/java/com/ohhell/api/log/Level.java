@@ -0,0 +1,14 @@
+package com.ohhell.api.log;
+
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF;
+
+    static Level parse(String value, Level defaultLevel) {
+        if (value == null) return defaultLevel;
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+}
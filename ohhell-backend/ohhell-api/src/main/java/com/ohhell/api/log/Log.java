@@ -0,0 +1,150 @@
+package com.ohhell.api.log;
+
+import com.ohhell.api.config.Settings;
+
+/**
+ * Logger asíncrono y estructurado.
+ *
+ * Uso: private static final Log log = Log.get(RoundDAO.class);
+ *      log.debug("Ronda {} en fase {}", roundId, phase);
+ *
+ * - El nivel se decide al crear el logger, por paquete: se busca
+ *   log.level.&lt;clase&gt;, luego log.level.&lt;paquete&gt; subiendo hasta
+ *   log.level (por defecto INFO). Ver Settings para la sintaxis.
+ * - Un mensaje por debajo del nivel solo cuesta una comparación: no se
+ *   formatea ni se encola. Hay sobrecargas de uno y dos argumentos para no
+ *   crear el array de varargs.
+ * - Los {} se sustituyen en el hilo escritor (LogWriter), no en el de la
+ *   petición. Los argumentos deben ser inmutables o no cambiar después.
+ * - Si el último argumento es un Throwable sin {} propio, se imprime su traza.
+ */
+public final class Log {
+
+    private final String name;
+    private final int threshold;
+
+    private Log(String name, Level level) {
+        this.name = name;
+        this.threshold = level.ordinal();
+    }
+
+    public static Log get(Class<?> type) {
+        return get(type.getName());
+    }
+
+    public static Log get(String name) {
+        return new Log(name, levelFor(name));
+    }
+
+    private static Level levelFor(String name) {
+        String key = name;
+        while (true) {
+            String value = Settings.get("log.level." + key, null);
+            if (value != null) return Level.parse(value, Level.INFO);
+
+            int dot = key.lastIndexOf('.');
+            if (dot < 0) break;
+            key = key.substring(0, dot);
+        }
+        return Level.parse(Settings.get("log.level", null), Level.INFO);
+    }
+
+    public static void shutdown(long timeoutMs) {
+        LogWriter.shutdown(timeoutMs);
+    }
+
+    public static long dropped() {
+        return LogWriter.dropped();
+    }
+
+    public static int pending() {
+        return LogWriter.pending();
+    }
+
+    // =========================
+    // NIVELES
+    // =========================
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public boolean isDebugEnabled() {
+        return Level.DEBUG.ordinal() >= threshold;
+    }
+
+    // =========================
+    // DEBUG
+    // =========================
+    public void debug(String message) {
+        if (Level.DEBUG.ordinal() >= threshold) LogWriter.enqueue(Level.DEBUG, name, message, null);
+    }
+
+    public void debug(String message, Object arg) {
+        if (Level.DEBUG.ordinal() >= threshold) LogWriter.enqueue(Level.DEBUG, name, message, new Object[]{arg});
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (Level.DEBUG.ordinal() >= threshold) LogWriter.enqueue(Level.DEBUG, name, message, new Object[]{arg1, arg2});
+    }
+
+    public void debug(String message, Object... args) {
+        if (Level.DEBUG.ordinal() >= threshold) LogWriter.enqueue(Level.DEBUG, name, message, args);
+    }
+
+    // =========================
+    // INFO
+    // =========================
+    public void info(String message) {
+        if (Level.INFO.ordinal() >= threshold) LogWriter.enqueue(Level.INFO, name, message, null);
+    }
+
+    public void info(String message, Object arg) {
+        if (Level.INFO.ordinal() >= threshold) LogWriter.enqueue(Level.INFO, name, message, new Object[]{arg});
+    }
+
+    public void info(String message, Object arg1, Object arg2) {
+        if (Level.INFO.ordinal() >= threshold) LogWriter.enqueue(Level.INFO, name, message, new Object[]{arg1, arg2});
+    }
+
+    public void info(String message, Object... args) {
+        if (Level.INFO.ordinal() >= threshold) LogWriter.enqueue(Level.INFO, name, message, args);
+    }
+
+    // =========================
+    // WARN
+    // =========================
+    public void warn(String message) {
+        if (Level.WARN.ordinal() >= threshold) LogWriter.enqueue(Level.WARN, name, message, null);
+    }
+
+    public void warn(String message, Object arg) {
+        if (Level.WARN.ordinal() >= threshold) LogWriter.enqueue(Level.WARN, name, message, new Object[]{arg});
+    }
+
+    public void warn(String message, Object arg1, Object arg2) {
+        if (Level.WARN.ordinal() >= threshold) LogWriter.enqueue(Level.WARN, name, message, new Object[]{arg1, arg2});
+    }
+
+    public void warn(String message, Object... args) {
+        if (Level.WARN.ordinal() >= threshold) LogWriter.enqueue(Level.WARN, name, message, args);
+    }
+
+    // =========================
+    // ERROR
+    // =========================
+    public void error(String message) {
+        if (Level.ERROR.ordinal() >= threshold) LogWriter.enqueue(Level.ERROR, name, message, null);
+    }
+
+    public void error(String message, Object arg) {
+        if (Level.ERROR.ordinal() >= threshold) LogWriter.enqueue(Level.ERROR, name, message, new Object[]{arg});
+    }
+
+    public void error(String message, Object arg1, Object arg2) {
+        if (Level.ERROR.ordinal() >= threshold) LogWriter.enqueue(Level.ERROR, name, message, new Object[]{arg1, arg2});
+    }
+
+    public void error(String message, Object... args) {
+        if (Level.ERROR.ordinal() >= threshold) LogWriter.enqueue(Level.ERROR, name, message, args);
+    }
+}
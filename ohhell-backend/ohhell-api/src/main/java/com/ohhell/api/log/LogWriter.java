@@ -0,0 +1,239 @@
+package com.ohhell.api.log;
+
+import com.ohhell.api.config.Settings;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffer circular de eventos de log y el hilo que los escribe.
+ *
+ * Los hilos de petición solo encolan (sin bloquear): si el buffer
+ * (log.buffer-size) está lleno el evento se descarta y se cuenta. Un único
+ * hilo "ohhell-log" formatea y escribe por lotes en stdout, en formato
+ * logfmt (clave=valor) o JSON por línea si log.format=json.
+ */
+final class LogWriter {
+
+    record Event(long timeMillis, Level level, String logger, String thread, String message, Object[] args) {}
+
+    private static final String BASE_PACKAGE = "com.ohhell.api.";
+    private static final int BATCH = 256;
+
+    private static final BlockingQueue<Event> RING =
+            new ArrayBlockingQueue<>(Settings.getInt("log.buffer-size", 8_192));
+
+    private static final boolean JSON = "json".equalsIgnoreCase(Settings.get("log.format", "text"));
+
+    private static final PrintStream OUT = System.out;
+
+    private static final LongAdder dropped = new LongAdder();
+
+    private static volatile boolean running = true;
+
+    private static final Thread WRITER = start();
+
+    private LogWriter() {
+    }
+
+    private static Thread start() {
+        Thread t = new Thread(LogWriter::run, "ohhell-log");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    static void enqueue(Level level, String logger, String message, Object[] args) {
+        Event event = new Event(System.currentTimeMillis(), level, logger,
+                Thread.currentThread().getName(), message, args);
+
+        if (!running) {
+            // Tras el cierre se escribe directamente para no perder nada
+            synchronized (OUT) {
+                OUT.print(format(event));
+                OUT.flush();
+            }
+            return;
+        }
+        if (!RING.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    static long dropped() {
+        return dropped.sum();
+    }
+
+    static int pending() {
+        return RING.size();
+    }
+
+    static void shutdown(long timeoutMs) {
+        running = false;
+        try {
+            WRITER.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // =========================
+    // HILO ESCRITOR
+    // =========================
+    private static void run() {
+        List<Event> batch = new ArrayList<>(BATCH);
+        StringBuilder sb = new StringBuilder(16 * 1024);
+
+        while (running || !RING.isEmpty()) {
+            try {
+                Event first = RING.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                break;
+            }
+            RING.drainTo(batch, BATCH - 1);
+
+            for (Event event : batch) {
+                try {
+                    sb.append(format(event));
+                } catch (RuntimeException e) {
+                    // Un toString() que falla no debe parar el hilo
+                    sb.append("level=ERROR logger=log msg=\"No se pudo formatear: ")
+                            .append(e).append("\"\n");
+                }
+            }
+            synchronized (OUT) {
+                OUT.print(sb);
+                OUT.flush();
+            }
+            sb.setLength(0);
+            batch.clear();
+        }
+    }
+
+    // =========================
+    // FORMATO
+    // =========================
+    static String format(Event event) {
+        Object[] args = event.args();
+        StringBuilder msg = new StringBuilder(event.message().length() + 32);
+        int used = substitute(event.message(), args, msg);
+
+        Throwable error = null;
+        if (args != null && used < args.length && args[args.length - 1] instanceof Throwable t) {
+            error = t;
+        }
+
+        String logger = event.logger().startsWith(BASE_PACKAGE)
+                ? event.logger().substring(BASE_PACKAGE.length())
+                : event.logger();
+        String ts = Instant.ofEpochMilli(event.timeMillis()).toString();
+
+        StringBuilder line = new StringBuilder(msg.length() + 128);
+        if (JSON) {
+            line.append("{\"ts\":\"").append(ts)
+                    .append("\",\"level\":\"").append(event.level())
+                    .append("\",\"logger\":");
+            json(line, logger);
+            line.append(",\"thread\":");
+            json(line, event.thread());
+            line.append(",\"msg\":");
+            json(line, msg.toString());
+            if (error != null) {
+                line.append(",\"error\":");
+                json(line, stackTrace(error));
+            }
+            line.append("}\n");
+        } else {
+            line.append("ts=").append(ts)
+                    .append(" level=").append(event.level())
+                    .append(" logger=").append(logger)
+                    .append(" thread=");
+            logfmt(line, event.thread());
+            line.append(" msg=");
+            logfmt(line, msg.toString());
+            line.append('\n');
+            if (error != null) {
+                line.append(stackTrace(error));
+            }
+        }
+        return line.toString();
+    }
+
+    // Sustituye cada {} por el siguiente argumento; devuelve cuántos se usaron
+    private static int substitute(String message, Object[] args, StringBuilder out) {
+        if (args == null || args.length == 0) {
+            out.append(message);
+            return 0;
+        }
+        int used = 0;
+        int from = 0;
+        int at;
+        while (used < args.length && (at = message.indexOf("{}", from)) >= 0) {
+            out.append(message, from, at).append(args[used++]);
+            from = at + 2;
+        }
+        out.append(message, from, message.length());
+        return used;
+    }
+
+    private static void logfmt(StringBuilder out, String value) {
+        boolean quote = value.isEmpty();
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c <= ' ' || c == '=' || c == '"';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static void json(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static String stackTrace(Throwable error) {
+        StringWriter sw = new StringWriter();
+        error.printStackTrace(new PrintWriter(sw));
+        return sw.toString();
+    }
+}
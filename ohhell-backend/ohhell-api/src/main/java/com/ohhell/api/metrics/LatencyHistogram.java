@@ -0,0 +1,81 @@
+package com.ohhell.api.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas fijas (en microsegundos).
+ * Registrar una muestra no reserva memoria ni toma locks.
+ */
+public final class LatencyHistogram {
+
+    // Límites superiores de cada cubeta, en microsegundos
+    private static final long[] BOUNDS_MICROS = {
+            50, 100, 250, 500,
+            1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+            100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MICROS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void recordNanos(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        buckets[bucketFor(micros)].increment();
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, count.sum(), sumMicros.sum(), maxMicros.get());
+    }
+
+    private static int bucketFor(long micros) {
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            if (micros <= BOUNDS_MICROS[i]) return i;
+        }
+        return BOUNDS_MICROS.length;
+    }
+
+    public static long[] boundsMicros() {
+        return BOUNDS_MICROS.clone();
+    }
+
+    // =========================
+    // SNAPSHOT
+    // =========================
+    public record Snapshot(long[] bucketCounts, long count, long sumMicros, long maxMicros) {
+
+        public double meanMicros() {
+            return count == 0 ? 0 : (double) sumMicros / count;
+        }
+
+        // Percentil aproximado: límite superior de la cubeta que lo contiene
+        public long percentileMicros(double p) {
+            if (count == 0) return 0;
+            long target = (long) Math.ceil(count * p);
+            long seen = 0;
+            for (int i = 0; i < bucketCounts.length; i++) {
+                seen += bucketCounts[i];
+                if (seen >= target) {
+                    return i < BOUNDS_MICROS.length ? BOUNDS_MICROS[i] : maxMicros;
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
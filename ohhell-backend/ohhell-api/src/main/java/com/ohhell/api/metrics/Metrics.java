@@ -0,0 +1,105 @@
+package com.ohhell.api.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Registro central de métricas de la API.
+ *
+ * - Latencia de cada método de recurso REST (MetricsFilter).
+ * - Tiempo de cada consulta, agrupado por método de DAO (QueryMetrics).
+ * - Contadores de partidas, rondas, apuestas y cartas jugadas.
+ *
+ * Las métricas de otros componentes (pool de conexiones, caché de JWT,
+ * write-behind...) no se copian aquí: se leen al exportar mediante
+ * colaboradores registrados con register().
+ */
+public final class Metrics {
+
+    public record Endpoint(String resource, String method, String httpMethod, LatencyHistogram latency) {}
+
+    public static final LongAdder GAMES_CREATED = new LongAdder();
+    public static final LongAdder ROUNDS_CREATED = new LongAdder();
+    public static final LongAdder BETS_PLACED = new LongAdder();
+    public static final LongAdder CARDS_PLAYED = new LongAdder();
+
+    private static final Map<Method, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> QUERIES = new ConcurrentHashMap<>();
+    private static final Map<String, Consumer<PrometheusWriter>> COLLECTORS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    // =========================
+    // REGISTRO
+    // =========================
+    public static LatencyHistogram endpoint(Method method, String httpMethod) {
+        Endpoint endpoint = ENDPOINTS.get(method);
+        if (endpoint == null) {
+            endpoint = ENDPOINTS.computeIfAbsent(method, m -> new Endpoint(
+                    m.getDeclaringClass().getSimpleName(), m.getName(), httpMethod, new LatencyHistogram()));
+        }
+        return endpoint.latency();
+    }
+
+    public static LatencyHistogram query(String label) {
+        LatencyHistogram h = QUERIES.get(label);
+        return h != null ? h : QUERIES.computeIfAbsent(label, l -> new LatencyHistogram());
+    }
+
+    /**
+     * Añade (o reemplaza, por nombre) un colaborador que escribe sus propias
+     * métricas en cada exportación.
+     */
+    public static void register(String name, Consumer<PrometheusWriter> collector) {
+        COLLECTORS.put(name, collector);
+    }
+
+    // =========================
+    // EXPORTACIÓN
+    // =========================
+    public static String scrape() {
+        PrometheusWriter out = new PrometheusWriter();
+
+        out.help("ohhell_http_request_duration_seconds", "histogram",
+                "Latencia de las peticiones por método de recurso");
+        ENDPOINTS.values().stream()
+                .sorted((a, b) -> (a.resource() + a.method()).compareTo(b.resource() + b.method()))
+                .forEach(e -> out.histogram("ohhell_http_request_duration_seconds",
+                        e.latency().snapshot(),
+                        "resource", e.resource(), "method", e.method(), "http_method", e.httpMethod()));
+
+        out.help("ohhell_db_query_duration_seconds", "histogram",
+                "Tiempo de ejecución de las sentencias, por método de DAO");
+        QUERIES.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    String label = e.getKey();
+                    int dot = label.indexOf('.');
+                    out.histogram("ohhell_db_query_duration_seconds", e.getValue().snapshot(),
+                            "dao", dot < 0 ? label : label.substring(0, dot),
+                            "method", dot < 0 ? "" : label.substring(dot + 1));
+                });
+
+        out.counter("ohhell_games_created_total", "Partidas creadas", GAMES_CREATED.sum());
+        out.counter("ohhell_rounds_created_total", "Rondas creadas", ROUNDS_CREATED.sum());
+        out.counter("ohhell_bets_placed_total", "Apuestas registradas", BETS_PLACED.sum());
+        out.counter("ohhell_cards_played_total", "Cartas jugadas", CARDS_PLAYED.sum());
+
+        COLLECTORS.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    try {
+                        e.getValue().accept(out);
+                    } catch (RuntimeException ex) {
+                        // Un componente sin arrancar (p. ej. la BD) no debe tumbar /metrics
+                        out.comment("colaborador " + e.getKey() + " no disponible: " + ex.getMessage());
+                    }
+                });
+
+        return out.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ohhell.api.metrics;
+
+/**
+ * Escribe métricas en el formato de texto de Prometheus (versión 0.0.4).
+ * Las latencias se exportan en segundos.
+ */
+public final class PrometheusWriter {
+
+    private static final long[] BOUNDS_MICROS = LatencyHistogram.boundsMicros();
+
+    private final StringBuilder out = new StringBuilder(4096);
+
+    public void help(String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    public void comment(String text) {
+        out.append("# ").append(text.replace('\n', ' ')).append('\n');
+    }
+
+    public void counter(String name, String help, long value) {
+        help(name, "counter", help);
+        sample(name, value);
+    }
+
+    public void gauge(String name, String help, double value) {
+        help(name, "gauge", help);
+        sample(name, value);
+    }
+
+    // Muestra suelta, con pares etiqueta/valor
+    public void sample(String name, double value, String... labels) {
+        out.append(name);
+        labels(labels, null);
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    /**
+     * Histograma con cubetas acumuladas. La cabecera (help) la escribe quien
+     * llama una sola vez por nombre, ya que suele haber varias series.
+     */
+    public void histogram(String name, LatencyHistogram.Snapshot snapshot, String... labels) {
+        long[] counts = snapshot.bucketCounts();
+        long cumulative = 0;
+
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            cumulative += counts[i];
+            out.append(name).append("_bucket");
+            labels(labels, format(BOUNDS_MICROS[i] / 1_000_000.0));
+            out.append(' ').append(cumulative).append('\n');
+        }
+        out.append(name).append("_bucket");
+        labels(labels, "+Inf");
+        out.append(' ').append(snapshot.count()).append('\n');
+
+        out.append(name).append("_sum");
+        labels(labels, null);
+        out.append(' ').append(format(snapshot.sumMicros() / 1_000_000.0)).append('\n');
+
+        out.append(name).append("_count");
+        labels(labels, null);
+        out.append(' ').append(snapshot.count()).append('\n');
+    }
+
+    private void labels(String[] labels, String le) {
+        if (labels.length == 0 && le == null) return;
+
+        out.append('{');
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (i > 0) out.append(',');
+            out.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        if (le != null) {
+            if (labels.length > 0) out.append(',');
+            out.append("le=\"").append(le).append('"');
+        }
+        out.append('}');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
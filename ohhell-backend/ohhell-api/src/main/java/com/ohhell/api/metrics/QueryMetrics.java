@@ -0,0 +1,99 @@
+package com.ohhell.api.metrics;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.log.Log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el tiempo de ejecución de cada PreparedStatement y lo agrupa por el
+ * método de DAO que lo preparó ("RoundDAO.findCurrentRound").
+ *
+ * El método se averigua recorriendo la pila solo la primera vez que se ve
+ * cada SQL; después basta con buscar el SQL en un mapa. Si dos métodos de
+ * DAO usan exactamente el mismo SQL, sus tiempos se suman en el primero.
+ * Las consultas con nombre (ver db.Query) se registran con named() y no
+ * recorren la pila.
+ *
+ * Las ejecuciones que tardan más de db.slow-query-ms se registran en el log
+ * con su nombre (0 para desactivarlo).
+ */
+public final class QueryMetrics {
+
+    private static final String DAO_PACKAGE = "com.ohhell.api.dao.";
+    private static final String UNKNOWN = "other.unknown";
+
+    private static final Log log = Log.get(QueryMetrics.class);
+
+    private static final long SLOW_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Settings.getLong("db.slow-query-ms", 500));
+
+    private record Label(String name, LatencyHistogram histogram) {}
+
+    private static final Map<String, Label> BY_SQL = new ConcurrentHashMap<>();
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private QueryMetrics() {
+    }
+
+    /**
+     * Agrupa los tiempos de sql bajo name ("RoundDAO.findCurrentRound").
+     */
+    public static void named(String sql, String name) {
+        BY_SQL.put(sql, new Label(name, Metrics.query(name)));
+    }
+
+    public static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        Label label = BY_SQL.get(sql);
+        if (label == null) {
+            label = BY_SQL.computeIfAbsent(sql, s -> {
+                String name = callerLabel();
+                return new Label(name, Metrics.query(name));
+            });
+        }
+
+        return (PreparedStatement) Proxy.newProxyInstance(
+                QueryMetrics.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new Timed(statement, label)
+        );
+    }
+
+    private static String callerLabel() {
+        return WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(DAO_PACKAGE))
+                .findFirst()
+                .map(f -> f.getClassName().substring(DAO_PACKAGE.length()) + "." + f.getMethodName())
+                .orElse(UNKNOWN));
+    }
+
+    private record Timed(PreparedStatement target, Label label) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean execute = method.getName().startsWith("execute");
+            long start = execute ? System.nanoTime() : 0;
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (execute) {
+                    long elapsed = System.nanoTime() - start;
+                    label.histogram().recordNanos(elapsed);
+                    if (SLOW_NANOS > 0 && elapsed > SLOW_NANOS) {
+                        log.warn("Consulta lenta {}: {} ms", label.name(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ohhell.api.models;
+
+import java.util.List;
+
+/**
+ * Todo lo que necesita la pantalla de partida en una sola respuesta.
+ * round, bets, trick y hand son null cuando no aplican (sin ronda, fuera
+ * de la fase de juego o si quien consulta no está sentado).
+ */
+public class GameSnapshotView {
+
+    private String code;
+    private String status;
+    private List<GamePlayerView> players;
+    private RoundView round;
+    private RoundBetsView bets;
+    private TrickStateView trick;
+    private List<String> hand;
+
+    public GameSnapshotView(String code,
+                            String status,
+                            List<GamePlayerView> players,
+                            RoundView round,
+                            RoundBetsView bets,
+                            TrickStateView trick,
+                            List<String> hand) {
+        this.code = code;
+        this.status = status;
+        this.players = players;
+        this.round = round;
+        this.bets = bets;
+        this.trick = trick;
+        this.hand = hand;
+    }
+
+    public String getCode() { return code; }
+    public String getStatus() { return status; }
+    public List<GamePlayerView> getPlayers() { return players; }
+    public RoundView getRound() { return round; }
+    public RoundBetsView getBets() { return bets; }
+    public TrickStateView getTrick() { return trick; }
+    public List<String> getHand() { return hand; }
+}
@@ -2,8 +2,17 @@ package com.ohhell.api.models;
 
 public class PlayCardRequest {
     private String card;
+    private Integer expectedVersion;
 
     public String getCard() {
         return card;
     }
+
+    public Integer getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public void setExpectedVersion(Integer expectedVersion) {
+        this.expectedVersion = expectedVersion;
+    }
 }
@@ -10,6 +10,7 @@ public class RoundView {
     private int dealerSeat;
     private String phase;
     private OffsetDateTime startedAt;
+    private int version;
 
     public RoundView(long id,
                      int number,
@@ -17,12 +18,23 @@ public class RoundView {
                      int dealerSeat,
                      String phase,
                      OffsetDateTime startedAt) {
+        this(id, number, cardsPerPlayer, dealerSeat, phase, startedAt, 0);
+    }
+
+    public RoundView(long id,
+                     int number,
+                     int cardsPerPlayer,
+                     int dealerSeat,
+                     String phase,
+                     OffsetDateTime startedAt,
+                     int version) {
         this.id = id;
         this.number = number;
         this.cardsPerPlayer = cardsPerPlayer;
         this.dealerSeat = dealerSeat;
         this.phase = phase;
         this.startedAt = startedAt;
+        this.version = version;
     }
 
     public long getId() {
@@ -48,4 +60,9 @@ public class RoundView {
     public OffsetDateTime getStartedAt() {
         return startedAt;
     }
+
+    // Movimientos aplicados en la ronda; se envía como expectedVersion
+    public int getVersion() {
+        return version;
+    }
 }
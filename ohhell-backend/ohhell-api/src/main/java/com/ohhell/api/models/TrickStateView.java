@@ -15,6 +15,18 @@ public class TrickStateView {
         this.plays = plays;
     }
 
+    public UUID getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public String getLeadSuit() {
+        return leadSuit;
+    }
+
+    public List<PlayedCardView> getPlays() {
+        return plays;
+    }
+
     public static class PlayedCardView {
         public UUID playerId;
         public String card;
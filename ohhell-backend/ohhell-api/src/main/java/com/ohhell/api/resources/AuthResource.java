@@ -2,6 +2,7 @@ package com.ohhell.api.resources;
 
 import com.ohhell.api.dao.UserDAO;
 import com.ohhell.api.dao.PlayerDAO;
+import com.ohhell.api.log.Log;
 import com.ohhell.api.models.LoginRequest;
 import com.ohhell.api.models.Player;
 import com.ohhell.api.models.User;
@@ -20,6 +21,8 @@ import java.util.UUID;
 @Produces(MediaType.APPLICATION_JSON)
 public class AuthResource {
 
+    private static final Log log = Log.get(AuthResource.class);
+
     private final UserDAO userDAO = new UserDAO();
     private final PlayerDAO playerDAO = new PlayerDAO();
 
@@ -110,13 +113,13 @@ public class AuthResource {
             // 1. CREAR USER (primero)
             // ==================
             user = userDAO.create(email, password);
-            System.out.println("✅ User creado: " + user.getId() + " - " + email);
+            log.info("Usuario {} registrado", user.getId());
 
             // ==================
             // 2. CREAR PLAYER (con manejo de nickname duplicado)
             // ==================
             player = createPlayerWithRetry(user.getId(), nickname);
-            System.out.println("✅ Player creado: " + player.getNickname() + " para user: " + user.getId());
+            log.debug("Player {} creado para usuario {}", player.getNickname(), user.getId());
 
             // ==================
             // 3. GENERAR TOKEN
@@ -131,12 +134,11 @@ public class AuthResource {
             )).build();
 
         } catch (Exception e) {
-            System.err.println("❌ ERROR en registro completo:");
-            e.printStackTrace();
+            log.error("Error en el registro de {}", email, e);
 
             // Si hubo error después de crear el User, intentar limpiar
             if (user != null && player == null) {
-                System.err.println("⚠️ User creado pero Player falló. User ID: " + user.getId());
+                log.warn("Usuario {} creado pero sin Player", user.getId());
                 // NOTA: No borramos el user porque podría reutilizarse
             }
 
@@ -155,23 +157,23 @@ public class AuthResource {
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
             try {
-                System.out.println("🔄 Intento " + attempt + " de crear Player: " + nickname);
+                log.debug("Intento {} de crear Player {}", attempt, nickname);
                 return playerDAO.create(userId, nickname);
 
             } catch (RuntimeException e) {
-                System.err.println("⚠️ Intento " + attempt + " fallado: " + e.getMessage());
+                log.warn("Intento {} de crear Player fallido: {}", attempt, e.getMessage());
 
                 if (e.getMessage().contains("players_nickname_key")) {
                     // Nickname duplicado, generar uno alternativo
                     if (attempt < maxAttempts) {
                         nickname = generateUniqueNickname(requestedNickname, attempt);
-                        System.out.println("🔄 Nuevo nickname: " + nickname);
+                        log.debug("Nickname ocupado, se prueba {}", nickname);
                     } else {
                         throw new RuntimeException("No se pudo crear un nickname único después de " + maxAttempts + " intentos");
                     }
                 } else if (e.getMessage().contains("players_user_id_key")) {
                     // Ya existe player para este user (caso extraño)
-                    System.out.println("⚠️ Player ya existe para este usuario, recuperando...");
+                    log.warn("Ya existe Player para el usuario {}, se recupera", userId);
                     return playerDAO.findByUserId(userId)
                             .orElseThrow(() -> new RuntimeException("Player ya existe pero no se pudo recuperar"));
                 } else {
@@ -1,16 +1,22 @@
 package com.ohhell.api.resources;
 
+import com.ohhell.api.db.ConnectionPool;
 import com.ohhell.api.db.Database;
+import com.ohhell.api.log.Log;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.MediaType;
 
 import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Path("/db-test")
 public class DbTestResource {
 
+    private static final Log log = Log.get(DbTestResource.class);
+
     @GET
     @Produces(MediaType.TEXT_PLAIN)
     public String test() {
@@ -20,8 +26,31 @@ public class DbTestResource {
             }
             return "DB INVALID";
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Prueba de conexión fallida", e);
             return "DB ERROR: " + e.getMessage();
         }
     }
+
+    // =========================
+    // ESTADO DEL POOL
+    // =========================
+    @GET
+    @Path("/pool")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Object> pool() {
+        ConnectionPool.Stats stats = Database.poolStats();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", stats.total());
+        result.put("idle", stats.idle());
+        result.put("active", stats.active());
+        result.put("waiting", stats.waiting());
+        result.put("timeouts", stats.timeouts());
+        result.put("leaks", stats.leaks());
+        result.put("borrows", stats.waitTimes().count());
+        result.put("waitMeanMicros", stats.waitTimes().meanMicros());
+        result.put("waitP99Micros", stats.waitTimes().percentileMicros(0.99));
+        result.put("waitMaxMicros", stats.waitTimes().maxMicros());
+        return result;
+    }
 }
@@ -1,25 +1,62 @@
 package com.ohhell.api.resources;
 
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.config.Transactional;
 import com.ohhell.api.dao.*;
+import com.ohhell.api.db.DbExecutor;
+import com.ohhell.api.db.UnitOfWork;
+import com.ohhell.api.engine.GameMailboxes;
+import com.ohhell.api.engine.GameState;
+import com.ohhell.api.engine.GameStates;
+import com.ohhell.api.engine.GameVersions;
+import com.ohhell.api.engine.Lobby;
+import com.ohhell.api.engine.MoveRejectedException;
+import com.ohhell.api.engine.Roster;
+import com.ohhell.api.engine.RoundLifecycle;
+import com.ohhell.api.engine.Rosters;
+import com.ohhell.api.engine.Rules;
+import com.ohhell.api.engine.WriteBehind;
+import com.ohhell.api.events.GameEvent;
+import com.ohhell.api.events.GameEvents;
 import com.ohhell.api.models.*;
 import com.ohhell.api.security.UserPrincipal;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
 import jakarta.ws.rs.core.*;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 @Path("/games")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
+@Transactional
 public class GameResource {
 
+    // Tamaño máximo de página del listado de partidas
+    private static final int MAX_PAGE = 50;
+
+    // Tiempo máximo de una petición asíncrona antes de responder 503/504
+    private static final long REQUEST_TIMEOUT_MS = Settings.getLong("requests.timeout-ms", 10_000);
+
     private final GameDAO gameDAO = new GameDAO();
     private final PlayerDAO playerDAO = new PlayerDAO();
     private final GamePlayerDAO gamePlayerDAO = new GamePlayerDAO();
     private final RoundDAO roundDAO = new RoundDAO();
     private final BetDAO betDAO = new BetDAO();
     private final RoundPlayDAO roundPlayDAO = new RoundPlayDAO();
-    private final RoundHandDAO roundHandDAO = new RoundHandDAO();
     private final PlayerCardDAO playerCardDAO = new PlayerCardDAO();
     private final RoundScoreDAO roundScoreDAO = new RoundScoreDAO();
 
@@ -27,23 +64,27 @@ public class GameResource {
     // CREATE GAME
     // =========================
     @POST
-    public Response createGame(
+    public void createGame(
             @Context SecurityContext securityContext,
-            Map<String, String> body
+            Map<String, String> body,
+            @Suspended AsyncResponse async
     ) {
         UUID userId = getUserId(securityContext);
 
-        Player player = playerDAO.findByUserId(userId)
-                .orElseThrow(() -> new WebApplicationException("Crea un player antes", 400));
+        query(async, () -> {
+            Player player = playerDAO.findByUserId(userId)
+                    .orElseThrow(() -> new WebApplicationException("Crea un player antes", 400));
 
-        String title = body != null
-                ? body.getOrDefault("title", "Oh Hell!")
-                : "Oh Hell!";
+            String title = body != null
+                    ? body.getOrDefault("title", "Oh Hell!")
+                    : "Oh Hell!";
 
-        Game game = gameDAO.create(title);
-        gamePlayerDAO.addHost(game.getId(), player.getId());
+            Game game = gameDAO.create(title);
+            gamePlayerDAO.addHost(game.getId(), player.getId());
+            UnitOfWork.afterCommit(() -> Lobby.opened(game, 1));
 
-        return Response.ok(game).build();
+            return Response.ok(game).build();
+        });
     }
 
     // =========================
@@ -51,20 +92,20 @@ public class GameResource {
     // =========================
     @POST
     @Path("/{code}/join")
-    public Response joinGame(
+    public void joinGame(
             @PathParam("code") String code,
-            @Context SecurityContext securityContext
+            @Context SecurityContext securityContext,
+            @Suspended AsyncResponse async
     ) {
         UUID userId = getUserId(securityContext);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
-                    .build();
-        }
+        // En el buzón: no se cuela entre la carga de asientos de start y el
+        // reparto, y dos joins a la vez no eligen el mismo asiento
+        dispatch(code, async, game -> applyJoin(game, userId));
+    }
 
-        if (!"WAITING".equals(game.getStatus())) {
+    private Response applyJoin(Game game, UUID userId) {
+        if (!isWaiting(game)) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("La partida ya ha comenzado")
                     .build();
@@ -79,15 +120,20 @@ public class GameResource {
                 );
 
         // Evitar doble join
-        try {
-            gamePlayerDAO.getGamePlayerId(game.getId(), player.getId());
+        if (Rosters.get(game.getId()).byPlayer(player.getId()).isPresent()) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("Ya estás en la partida")
                     .build();
-        } catch (RuntimeException ignored) {
         }
 
         gamePlayerDAO.joinGame(game.getId(), player.getId());
+        Rosters.invalidate(game.getId());
+        UnitOfWork.afterCommit(() -> Lobby.joined(game.getId()));
+
+        publish(game, GameEvent.Type.PLAYER_JOINED, Map.of(
+                "playerId", player.getId(),
+                "nickname", player.getNickname()
+        ));
 
         return Response.ok(Map.of("message", "JOINED")).build();
     }
@@ -97,26 +143,29 @@ public class GameResource {
     // =========================
     @GET
     @Path("/{code}/players")
-    public Response getLobby(
+    public void getLobby(
             @PathParam("code") String code,
-            @Context SecurityContext securityContext
+            @Context SecurityContext securityContext,
+            @Suspended AsyncResponse async
     ) {
         getUserId(securityContext);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
-                    .build();
-        }
-
-        return Response.ok(
-                new GameLobbyView(
-                        game.getCode(),
-                        game.getStatus(),
-                        gamePlayerDAO.getLobbyPlayers(game.getId())
-                )
-        ).build();
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Partida no encontrada")
+                        .build();
+            }
+
+            return Response.ok(
+                    new GameLobbyView(
+                            game.getCode(),
+                            game.getStatus(),
+                            gamePlayerDAO.getLobbyPlayers(game.getId())
+                    )
+            ).build();
+        });
     }
 
     // =========================
@@ -124,42 +173,72 @@ public class GameResource {
     // =========================
     @POST
     @Path("/{code}/ready")
-    public Response ready(
+    public void ready(
             @PathParam("code") String code,
-            @Context SecurityContext ctx
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
     ) {
         UUID userId = getUserId(ctx);
 
-        Game game = gameDAO.findByCode(code);
+        dispatch(code, async, game -> applyReady(game, userId));
+    }
+
+    private Response applyReady(Game game, UUID userId) {
+        if (!isWaiting(game)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("La partida ya ha comenzado")
+                    .build();
+        }
+
         Player player = playerDAO.findByUserId(userId)
                 .orElseThrow(() -> new WebApplicationException(400));
 
         gamePlayerDAO.setReady(game.getId(), player.getId(), true);
+
+        publish(game, GameEvent.Type.PLAYER_READY, Map.of(
+                "playerId", player.getId(),
+                "ready", true
+        ));
+
         return Response.ok(Map.of("message", "READY")).build();
     }
 
+    // Estado leído dentro del comando: un start anterior del buzón ya está confirmado
+    private boolean isWaiting(Game game) {
+        Game current = gameDAO.findByCode(game.getCode());
+        return current != null && "WAITING".equals(current.getStatus());
+    }
+
     // =========================
     // START GAME - CORREGIDO
     // =========================
     @POST
     @Path("/{code}/start")
-    public Response start(
+    public void start(
             @PathParam("code") String code,
-            @Context SecurityContext ctx
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
     ) {
         UUID userId = getUserId(ctx);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
+        dispatch(code, async, game -> startGame(game, userId));
+    }
+
+    private Response startGame(Game game, UUID userId) {
+        if (!isWaiting(game)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("La partida ya ha comenzado")
                     .build();
         }
 
         Player player = playerDAO.findByUserId(userId)
                 .orElseThrow(() -> new WebApplicationException(400));
 
-        if (!gamePlayerDAO.isHost(game.getId(), player.getId())) {
+        // Desde aquí los jugadores ya no cambian: el roster vale para toda la partida
+        Roster roster = Rosters.get(game.getId());
+
+        boolean isHost = roster.byPlayer(player.getId()).map(Roster.Member::host).orElse(false);
+        if (!isHost) {
             return Response.status(Response.Status.FORBIDDEN)
                     .entity("Solo el host puede iniciar la partida")
                     .build();
@@ -173,9 +252,13 @@ public class GameResource {
 
         // Marcar juego como iniciado
         gameDAO.markStarted(game.getId());
+        UnitOfWork.afterCommit(() -> Lobby.closed(game.getId()));
+
+        // Misma secuencia que las rondas siguientes (RoundLifecycle), acotada por la baraja
+        int cards = Rules.cardsForRound(1, game.getStartingCards(), roster.size());
 
         // Crear primera ronda y repartir cartas inmediatamente
-        roundDAO.createFirstRound(game.getId(), game.getStartingCards(), 0);
+        roundDAO.createFirstRound(game.getId(), cards, 0);
 
         // Obtener la ronda recién creada
         RoundView round = roundDAO.findCurrentRound(game.getId());
@@ -185,9 +268,19 @@ public class GameResource {
                     .build();
         }
 
-        // Obtener jugadores y repartir cartas inmediatamente
-        List<Long> gamePlayerIds = gamePlayerDAO.getGamePlayerIds(game.getId());
-        roundDAO.dealCards(round.getId(), gamePlayerIds, game.getStartingCards());
+        // Repartir cartas inmediatamente, en orden de asiento
+        roundDAO.dealCards(round.getId(), roster.gamePlayerIds(), cards);
+
+        // El estado en memoria se carga en el primer acceso, ya confirmado
+        GameStates.evict(game.getId());
+
+        publish(game, GameEvent.Type.ROUND_STARTED, Map.of(
+                "roundId", round.getId(),
+                "number", round.getNumber(),
+                "cardsPerPlayer", round.getCardsPerPlayer(),
+                "dealerSeat", round.getDealerSeat(),
+                "phase", round.getPhase()
+        ));
 
         return Response.ok(Map.of(
                 "message", "GAME_STARTED",
@@ -200,41 +293,48 @@ public class GameResource {
     // =========================
     @GET
     @Path("/{code}/rounds/current/bets")
-    public Response getCurrentRoundBets(
+    public void getCurrentRoundBets(
             @PathParam("code") String code,
-            @Context SecurityContext securityContext
+            @Context SecurityContext securityContext,
+            @Suspended AsyncResponse async
     ) {
         getUserId(securityContext);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
-                    .build();
-        }
-
-        RoundView round = roundDAO.findCurrentRound(game.getId());
-        if (round == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("No hay ronda activa")
-                    .build();
-        }
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Partida no encontrada")
+                        .build();
+            }
+
+            GameState state = readState(game);
+            if (state == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("No hay ronda activa")
+                        .build();
+            }
+
+            return Response.ok(betsView(game, state)).build();
+        });
+    }
 
-        List<BetDAO.BetRow> rows = betDAO.getBetsForRound(round.getId());
+    private static RoundBetsView betsView(Game game, GameState state) {
+        Roster roster = Rosters.get(game.getId());
 
-        List<RoundBetsView.BetView> bets = rows.stream()
-                .map(r -> {
-                    var info = gamePlayerDAO.getPlayerInfo(r.gamePlayerId());
+        List<RoundBetsView.BetView> bets = state.bets().stream()
+                .map(b -> {
+                    Roster.Member member = roster.byGamePlayer(b.gamePlayerId());
                     return new RoundBetsView.BetView(
-                            info.playerId(),
-                            info.nickname(),
-                            r.betValue(),
-                            r.order()
+                            member.playerId(),
+                            member.nickname(),
+                            b.value(),
+                            b.order()
                     );
                 })
                 .toList();
 
-        return Response.ok(new RoundBetsView(round.getId(), bets)).build();
+        return new RoundBetsView(state.getRoundId(), bets);
     }
 
     // =========================
@@ -242,22 +342,20 @@ public class GameResource {
     // =========================
     @POST
     @Path("/{code}/rounds/current/bets")
-    public Response placeBet(
+    public void placeBet(
             @PathParam("code") String code,
             Map<String, Integer> body,
-            @Context SecurityContext ctx
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
     ) {
         UUID userId = getUserId(ctx);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
-                    .build();
-        }
+        dispatch(code, async, game -> applyBet(game, userId, body));
+    }
 
-        RoundView round = roundDAO.findCurrentRound(game.getId());
-        if (round == null || !"BETTING".equals(round.getPhase())) {
+    private Response applyBet(Game game, UUID userId, Map<String, Integer> body) {
+        GameState state = currentState(game);
+        if (state == null || !"BETTING".equals(state.getPhase())) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("No se puede apostar ahora")
                     .build();
@@ -266,14 +364,7 @@ public class GameResource {
         Player player = playerDAO.findByUserId(userId)
                 .orElseThrow(() -> new WebApplicationException(400));
 
-        long gpId = gamePlayerDAO.getGamePlayerId(game.getId(), player.getId());
-
-        // No permitir apostar dos veces
-        if (betDAO.hasBet(round.getId(), gpId)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Ya has apostado")
-                    .build();
-        }
+        GameState.Seat seat = requireSeat(state, player);
 
         Integer value = body.get("value");
         if (value == null) {
@@ -282,43 +373,38 @@ public class GameResource {
                     .build();
         }
 
-        int cardsPerPlayer = round.getCardsPerPlayer();
-        int totalPlayers = gamePlayerDAO.countPlayers(game.getId());
-        int betsSoFar = betDAO.countBets(round.getId());
-        int sumSoFar = betDAO.sumBets(round.getId());
-
-        // Validación básica
-        if (value < 0 || value > cardsPerPlayer) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Apuesta fuera de rango")
-                    .build();
-        }
-
-        // Regla Oh Hell
-        boolean isLastBetter = (betsSoFar == totalPlayers - 1);
-        if (isLastBetter && (sumSoFar + value == cardsPerPlayer)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Apuesta inválida: no puede cerrar la suma")
-                    .build();
-        }
-
-        // Orden de apuesta
-        int order = betDAO.nextBetOrder(round.getId());
-
-        // Insertar apuesta
-        betDAO.placeBet(round.getId(), gpId, value, order);
-
-        // ¿Han apostado todos?
-        int totalBets = betDAO.countBets(round.getId());
-
-        if (totalBets == totalPlayers) {
-            // Empieza la fase de juego
-            roundDAO.startPlayingPhase(round.getId());
-        }
+        // Validación (rango + regla Oh Hell) y orden de apuesta, en memoria;
+        // con expectedVersion solo se aplica si nadie movió desde entonces
+        GameState.BetPlaced placed = state.placeBet(seat.gamePlayerId(), value,
+                expectedVersion(body.get("expectedVersion")));
+        GameState.Bet bet = placed.bet();
+        long roundId = state.getRoundId();
+        int version = state.version();
+
+        WriteBehind.submit(game, () -> {
+            // La BD también comprueba que sea la siguiente apuesta; si no, se recarga el estado
+            if (!betDAO.placeBet(roundId, bet.gamePlayerId(), bet.value(), bet.order())) {
+                throw new IllegalStateException("Apuesta fuera de orden en la ronda " + roundId);
+            }
+
+            // ¿Han apostado todos? Empieza la fase de juego
+            if (placed.bettingClosed()) {
+                roundDAO.updatePhase(roundId, "PLAYING");
+            }
+        });
+
+        publish(game, GameEvent.Type.BET_PLACED, Map.of(
+                "playerId", player.getId(),
+                "value", bet.value(),
+                "order", bet.order(),
+                "phase", placed.bettingClosed() ? "PLAYING" : "BETTING",
+                "version", version
+        ));
 
         return Response.ok(Map.of(
                 "message", "BET_PLACED",
-                "value", value
+                "value", value,
+                "version", version
         )).build();
     }
 
@@ -327,17 +413,20 @@ public class GameResource {
     // =========================
     @POST
     @Path("/{code}/rounds/current/play")
-    public Response play(
+    public void play(
             @PathParam("code") String code,
             PlayCardRequest req,
-            @Context SecurityContext ctx
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
     ) {
         UUID userId = getUserId(ctx);
 
-        Game game = gameDAO.findByCode(code);
-        RoundView round = roundDAO.findCurrentRound(game.getId());
+        dispatch(code, async, game -> applyPlay(game, userId, req));
+    }
 
-        if (round == null || !"PLAYING".equals(round.getPhase())) {
+    private Response applyPlay(Game game, UUID userId, PlayCardRequest req) {
+        GameState state = currentState(game);
+        if (state == null || !"PLAYING".equals(state.getPhase())) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity("No se puede jugar ahora")
                     .build();
@@ -346,38 +435,46 @@ public class GameResource {
         Player player = playerDAO.findByUserId(userId)
                 .orElseThrow(() -> new WebApplicationException(400));
 
-        long gpId = gamePlayerDAO.getGamePlayerId(game.getId(), player.getId());
-
-        int total = gamePlayerDAO.countPlayers(game.getId());
-        int plays = roundPlayDAO.countPlays(round.getId());
-
-        int firstSeat = (round.getDealerSeat() + 1) % total;
-        int expectedSeat = (firstSeat + plays) % total;
-        int seat = gamePlayerDAO.getSeat(game.getId(), player.getId());
-
-        if (seat != expectedSeat) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("No es tu turno")
-                    .build();
+        GameState.Seat seat = requireSeat(state, player);
+
+        // Turno, carta en mano, seguir el palo, baza y puntuación, en memoria
+        GameState.Played played = state.play(seat.gamePlayerId(), req.getCard(),
+                expectedVersion(req.getExpectedVersion()));
+        GameState.Play play = played.play();
+        String card = play.cardText();
+        long roundId = state.getRoundId();
+        int version = state.version();
+
+        WriteBehind.submit(game, () -> {
+            if (!roundPlayDAO.playCard(roundId, play.gamePlayerId(), card, play.order())) {
+                throw new IllegalStateException("Jugada fuera de orden en la ronda " + roundId);
+            }
+            playerCardDAO.removeCard(roundId, play.gamePlayerId(), card);
+        });
+
+        publish(game, GameEvent.Type.CARD_PLAYED, Map.of(
+                "playerId", player.getId(),
+                "card", card,
+                "order", play.order(),
+                "nextPlayerId", state.trick().currentSeat().playerId(),
+                "version", version
+        ));
+
+        GameState.TrickWon trickWon = played.trickWon();
+        if (trickWon != null) {
+            publish(game, GameEvent.Type.TRICK_WON, Map.of(
+                    "playerId", trickWon.winner().playerId(),
+                    "card", trickWon.cardText(),
+                    "trick", trickWon.number()
+            ));
         }
 
-        String card = req.getCard();
-        String suit = card.split("_")[1];
-
-        String leadSuit = roundHandDAO.getLeadSuit(round.getId());
-        if (leadSuit == null) {
-            roundHandDAO.setLeadSuit(round.getId(), suit);
-        } else if (!suit.equals(leadSuit)
-                && playerCardDAO.playerHasSuit(round.getId(), gpId, leadSuit)) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Debes seguir el palo")
-                    .build();
+        // Última carta: cerrar la ronda después de publicar la jugada
+        if (played.roundOver()) {
+            UnitOfWork.afterCommit(() -> RoundLifecycle.close(game, state, played.scores()));
         }
 
-        playerCardDAO.removeCard(round.getId(), gpId, card);
-        roundPlayDAO.playCard(round.getId(), gpId, card, plays);
-
-        return Response.ok(Map.of("card", card)).build();
+        return Response.ok(Map.of("card", card, "version", version)).build();
     }
 
     // =========================
@@ -385,138 +482,517 @@ public class GameResource {
     // =========================
     @GET
     @Path("/{code}/rounds/current/trick")
-    public Response trick(
+    public void trick(
             @PathParam("code") String code,
-            @Context SecurityContext ctx
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
     ) {
         getUserId(ctx);
 
-        Game game = gameDAO.findByCode(code);
-        RoundView round = roundDAO.findCurrentRound(game.getId());
-
-        if (round == null || !"PLAYING".equals(round.getPhase())) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("La ronda no está en juego")
-                    .build();
-        }
-
-        int total = gamePlayerDAO.countPlayers(game.getId());
-        int plays = roundPlayDAO.countPlays(round.getId());
-
-        int firstSeat = (round.getDealerSeat() + 1) % total;
-        int seat = (firstSeat + plays) % total;
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Partida no encontrada")
+                        .build();
+            }
+
+            GameState state = readState(game);
+            if (state == null || !"PLAYING".equals(state.getPhase())) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("La ronda no está en juego")
+                        .build();
+            }
+
+            return Response.ok(trickView(state)).build();
+        });
+    }
 
-        UUID currentPlayer =
-                gamePlayerDAO.getPlayerIdBySeat(game.getId(), seat);
+    private static TrickStateView trickView(GameState state) {
+        GameState.Trick trick = state.trick();
 
         List<TrickStateView.PlayedCardView> cards = new ArrayList<>();
-        for (var p : roundPlayDAO.getPlays(round.getId())) {
+        for (GameState.Play p : trick.plays()) {
             cards.add(new TrickStateView.PlayedCardView(
-                    gamePlayerDAO.getPlayerIdByGamePlayerId(p.gamePlayerId()),
-                    p.card(),
+                    state.seatOf(p.gamePlayerId()).playerId(),
+                    p.cardText(),
                     p.order()
             ));
         }
 
-        return Response.ok(new TrickStateView(
-                currentPlayer,
-                roundHandDAO.getLeadSuit(round.getId()),
+        return new TrickStateView(
+                trick.currentSeat().playerId(),
+                trick.leadSuit(),
                 cards
-        )).build();
-    }
-
-    private UUID getUserId(SecurityContext ctx) {
-        return ((UserPrincipal) ctx.getUserPrincipal()).getUserId();
+        );
     }
 
     // =========================
-    // GET CURRENT ROUND
+    // STATE (TODO EN UNA RESPUESTA)
     // =========================
+
+    /**
+     * Ronda, baza, apuestas, mano de quien consulta y jugadores en una sola
+     * respuesta, con un ETag fuerte sacado de GameVersions. Con If-None-Match
+     * y la partida sin cambios se responde 304 sin armar la vista.
+     */
     @GET
-    @Path("/{code}/rounds/current")
-    public Response getCurrentRound(
+    @Path("/{code}/state")
+    public void state(
             @PathParam("code") String code,
-            @Context SecurityContext securityContext
+            @Context SecurityContext ctx,
+            @Context Request request,
+            @Suspended AsyncResponse async
     ) {
-        getUserId(securityContext);
+        UUID userId = getUserId(ctx);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Partida no encontrada")
+                        .build();
+            }
+
+            // Versión leída antes de armar la vista: un cambio a mitad solo
+            // provoca que la siguiente consulta vuelva a descargarla
+            EntityTag etag = snapshotTag(game.getId(), userId);
+
+            Response.ResponseBuilder notModified = request.evaluatePreconditions(etag);
+            if (notModified != null) {
+                return notModified.cacheControl(revalidate()).build();
+            }
+
+            return Response.ok(snapshot(game, userId))
+                    .tag(etag)
+                    .cacheControl(revalidate())
                     .build();
-        }
+        });
+    }
 
-        RoundView round = roundDAO.findCurrentRound(game.getId());
-        if (round == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("No hay ronda activa")
-                    .build();
+    private GameSnapshotView snapshot(Game game, UUID userId) {
+        // En el lobby no hay ronda: no buscarla en la BD en cada consulta
+        GameState state = "WAITING".equals(game.getStatus()) ? null : readState(game);
+
+        RoundView round = null;
+        RoundBetsView bets = null;
+        TrickStateView trick = null;
+        List<String> hand = null;
+
+        if (state != null) {
+            round = state.round();
+            bets = betsView(game, state);
+            if ("PLAYING".equals(state.getPhase())) {
+                trick = trickView(state);
+            }
+            hand = playerDAO.findByUserId(userId)
+                    .flatMap(p -> state.seatOfPlayer(p.getId()))
+                    .map(seat -> state.hand(seat.gamePlayerId()))
+                    .orElse(null);
         }
 
-        return Response.ok(round).build();
+        return new GameSnapshotView(
+                game.getCode(),
+                game.getStatus(),
+                gamePlayerDAO.getLobbyPlayers(game.getId()),
+                round,
+                bets,
+                trick,
+                hand
+        );
+    }
+
+    // La vista incluye la mano, así que el ETag también depende de quién consulta
+    private static EntityTag snapshotTag(UUID gameId, UUID userId) {
+        long caller = userId.getMostSignificantBits() ^ userId.getLeastSignificantBits();
+        return new EntityTag(Long.toHexString(GameVersions.EPOCH)
+                + "-" + GameVersions.get(gameId)
+                + "-" + Long.toHexString(caller));
+    }
+
+    private static CacheControl revalidate() {
+        CacheControl cc = new CacheControl();
+        cc.setPrivate(true);
+        cc.setNoCache(true);
+        return cc;
     }
 
     // =========================
-    // HAND - CORREGIDO: Permitir BETTING y PLAYING
+    // EVENTS (SSE)
     // =========================
     @GET
-    @Path("/{code}/hand")
-    public Response hand(
+    @Path("/{code}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void events(
             @PathParam("code") String code,
-            @Context SecurityContext ctx
+            @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId,
+            @QueryParam("lastEventId") String lastEventIdParam,
+            @Context SecurityContext ctx,
+            @Context Sse sse,
+            @Context SseEventSink sink
     ) {
-        UUID userId = getUserId(ctx);
+        getUserId(ctx);
+
+        // El stream queda abierto: la petición no usa su unidad de trabajo
+        UnitOfWork.abandon();
+
+        // El 404 tiene que salir antes de abrir el stream, así que aquí se
+        // espera a la búsqueda; la conexión la sigue poniendo DbExecutor
+        Game game;
+        try {
+            game = DbExecutor.submit(() -> UnitOfWork.inTransaction(() -> gameDAO.findByCode(code)))
+                    .get(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw DbExecutor.saturated();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DbExecutor.saturated();
+        } catch (ExecutionException e) {
+            throw new WebApplicationException(e.getCause(), Response.Status.INTERNAL_SERVER_ERROR);
+        }
 
-        Game game = gameDAO.findByCode(code);
         if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Partida no encontrada")
-                    .build();
+            throw new WebApplicationException(
+                    Response.status(Response.Status.NOT_FOUND)
+                            .entity("Partida no encontrada")
+                            .build()
+            );
         }
 
-        RoundView round = roundDAO.findCurrentRound(game.getId());
+        String resumeFrom = lastEventId != null ? lastEventId : lastEventIdParam;
+        if (resumeFrom != null && resumeFrom.isBlank()) {
+            resumeFrom = null;
+        }
 
-        // Permitir obtener mano en fase BETTING y PLAYING
-        Set<String> validPhases = Set.of("BETTING", "PLAYING");
-        if (round == null || !validPhases.contains(round.getPhase())) {
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("La ronda no está en juego o apuestas")
+        // Un id que no es del canal actual no es un error: recibe RESYNC
+        GameEvents.subscribe(game.getCode(), sse, sink, resumeFrom == null ? null : resumeFrom.trim());
+    }
+
+    // Los eventos salen solo si la transacción de la petición se confirma
+    private void publish(Game game, GameEvent.Type type, Map<String, Object> data) {
+        UUID gameId = game.getId();
+        String code = game.getCode();
+        UnitOfWork.afterCommit(() -> {
+            GameVersions.bump(gameId);
+            GameEvents.publish(code, type, data);
+        });
+    }
+
+    // =========================
+    // EJECUCIÓN ASÍNCRONA
+    // =========================
+    /**
+     * Ejecuta work en DbExecutor y reanuda la petición con su resultado; el
+     * hilo HTTP queda libre mientras tanto.
+     */
+    private static void query(AsyncResponse async, UnitOfWork.Work<Response> work) {
+        AtomicBoolean claim = suspend(async);
+        try {
+            DbExecutor.submit(() -> unlessTimedOut(claim, work)).whenComplete(resumer(async));
+        } catch (ServiceUnavailableException e) {
+            async.resume(e);
+        }
+    }
+
+    /**
+     * Comando del buzón sobre una partida ya localizada.
+     */
+    @FunctionalInterface
+    private interface GameCommand {
+        Response run(Game game) throws SQLException;
+    }
+
+    /**
+     * Busca la partida en DbExecutor y ejecuta command en su buzón (los
+     * comandos de una mesa van de uno en uno, en orden); reanuda la petición
+     * con su resultado, o con 404 si la partida no existe.
+     */
+    private void dispatch(String code, AsyncResponse async, GameCommand command) {
+        AtomicBoolean claim = suspend(async);
+        try {
+            DbExecutor.submit(() -> UnitOfWork.inTransaction(() -> gameDAO.findByCode(code)))
+                    .thenCompose(game -> {
+                        if (game == null) {
+                            return CompletableFuture.completedFuture(Response.status(Response.Status.NOT_FOUND)
+                                    .entity("Partida no encontrada")
+                                    .build());
+                        }
+                        try {
+                            return GameMailboxes.submit(game.getId(),
+                                    () -> unlessTimedOut(claim, () -> command.run(game)));
+                        } catch (RejectedExecutionException e) {
+                            return CompletableFuture.failedFuture(DbExecutor.saturated());
+                        }
+                    })
+                    .whenComplete(resumer(async));
+        } catch (ServiceUnavailableException e) {
+            async.resume(e);
+        }
+    }
+
+    /**
+     * Prepara la espera de la petición. El trabajo y el timeout se disputan
+     * el flag devuelto y solo uno lo gana: si vence el plazo antes de que el
+     * trabajo empiece, ya no se ejecuta y se responde 503 con Retry-After;
+     * si ya había empezado, puede confirmarse igualmente, así que se responde
+     * 504 sin Retry-After y el cliente debe releer el estado antes de repetir.
+     */
+    private static AtomicBoolean suspend(AsyncResponse async) {
+        // La transacción de la petición solo ha leído; el trabajo abre la suya
+        UnitOfWork.abandon();
+
+        AtomicBoolean claim = new AtomicBoolean();
+        async.setTimeout(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        async.setTimeoutHandler(timedOut -> {
+            if (claim.compareAndSet(false, true)) {
+                timedOut.resume(DbExecutor.saturated());
+            } else {
+                timedOut.resume(Response.status(Response.Status.GATEWAY_TIMEOUT)
+                        .type(MediaType.TEXT_PLAIN_TYPE)
+                        .entity("La petición sigue en curso: consulta el estado de la partida")
+                        .build());
+            }
+        });
+        return claim;
+    }
+
+    // El timeout ya respondió 503: la petición se abandona sin tocar nada
+    private static Response unlessTimedOut(AtomicBoolean claim, UnitOfWork.Work<Response> work) throws SQLException {
+        if (!claim.compareAndSet(false, true)) {
+            throw new CancellationException("Petición caducada antes de ejecutarse");
+        }
+        return inUnitOfWork(work);
+    }
+
+    private static BiConsumer<Response, Throwable> resumer(AsyncResponse async) {
+        return (response, error) -> {
+            if (error != null) {
+                // Los pasos encadenados (búsqueda y buzón) llegan envueltos
+                async.resume(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else {
+                async.resume(response);
+            }
+        };
+    }
+
+    /**
+     * Lo mismo que TransactionFilter en el hilo del buzón: confirma si la
+     * respuesta no es un error y deshace en otro caso.
+     */
+    private static Response inUnitOfWork(UnitOfWork.Work<Response> command) throws SQLException {
+        UnitOfWork.begin();
+
+        Response response;
+        try {
+            response = command.run();
+        } catch (SQLException | RuntimeException | Error e) {
+            UnitOfWork.abandon();
+            throw e;
+        }
+
+        try {
+            UnitOfWork.end(response.getStatus() < 400);
+        } catch (SQLException e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .type(MediaType.TEXT_PLAIN_TYPE)
+                    .entity("Error guardando los cambios: " + e.getMessage())
                     .build();
         }
+        return response;
+    }
 
-        Player player = playerDAO.findByUserId(userId)
-                .orElseThrow(() -> new WebApplicationException(400));
+    /**
+     * GameState de la partida para un comando del buzón. Si se recargó de BD
+     * una ronda con todas las cartas jugadas pero sin cerrar, se lanza aquí
+     * su cierre.
+     */
+    private GameState currentState(Game game) {
+        GameState state = GameStates.get(game.getId());
+        if (state != null) {
+            List<GameState.Score> pending = state.claimScores();
+            if (pending != null) {
+                RoundLifecycle.close(game, state, pending);
+            }
+        }
+        return state;
+    }
 
-        long gpId = gamePlayerDAO.getGamePlayerId(game.getId(), player.getId());
+    /**
+     * GameState para las consultas, que no pasan por el buzón. Una ronda
+     * recargada pendiente de cerrar se cierra con un comando en el buzón de
+     * la partida, para no mezclarse con start, apuestas y jugadas.
+     */
+    private GameState readState(Game game) {
+        GameState state = GameStates.get(game.getId());
+        if (state != null && "SCORING".equals(state.getPhase())) {
+            try {
+                GameMailboxes.submit(game.getId(), () -> UnitOfWork.inTransaction(() -> currentState(game)));
+            } catch (RejectedExecutionException e) {
+                // Buzón lleno: la siguiente consulta o jugada lo vuelve a intentar
+            }
+        }
+        return state;
+    }
 
-        List<String> cards = playerCardDAO.getHand(round.getId(), gpId);
+    private static int expectedVersion(Integer value) {
+        return value == null ? GameState.ANY_VERSION : value;
+    }
 
-        return Response.ok(
-                Map.of(
-                        "roundId", round.getId(),
-                        "cards", cards,
-                        "count", cards.size()
-                )
-        ).build();
+    private UUID getUserId(SecurityContext ctx) {
+        return ((UserPrincipal) ctx.getUserPrincipal()).getUserId();
+    }
+
+    private GameState.Seat requireSeat(GameState state, Player player) {
+        return state.seatOfPlayer(player.getId())
+                .orElseThrow(() -> new MoveRejectedException("Jugador no está en la partida"));
+    }
+
+    // =========================
+    // GET CURRENT ROUND
+    // =========================
+    @GET
+    @Path("/{code}/rounds/current")
+    public void getCurrentRound(
+            @PathParam("code") String code,
+            @Context SecurityContext securityContext,
+            @Suspended AsyncResponse async
+    ) {
+        getUserId(securityContext);
+
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Partida no encontrada")
+                        .build();
+            }
+
+            GameState state = readState(game);
+            if (state == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("No hay ronda activa")
+                        .build();
+            }
+
+            return Response.ok(state.round()).build();
+        });
+    }
+
+    // =========================
+    // HAND - CORREGIDO: Permitir BETTING y PLAYING
+    // =========================
+    @GET
+    @Path("/{code}/hand")
+    public void hand(
+            @PathParam("code") String code,
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
+    ) {
+        UUID userId = getUserId(ctx);
+
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND)
+                        .entity("Partida no encontrada")
+                        .build();
+            }
+
+            GameState state = readState(game);
+
+            // Permitir obtener mano en fase BETTING y PLAYING
+            Set<String> validPhases = Set.of("BETTING", "PLAYING");
+            if (state == null || !validPhases.contains(state.getPhase())) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("La ronda no está en juego o apuestas")
+                        .build();
+            }
+
+            Player player = playerDAO.findByUserId(userId)
+                    .orElseThrow(() -> new WebApplicationException(400));
+
+            GameState.Seat seat = requireSeat(state, player);
+
+            List<String> cards = state.hand(seat.gamePlayerId());
+
+            return Response.ok(
+                    Map.of(
+                            "roundId", state.getRoundId(),
+                            "cards", cards,
+                            "count", cards.size()
+                    )
+            ).build();
+        });
     }
 
     // =========================
     // LIST AVAILABLE GAMES
     // =========================
+
+    /**
+     * Partidas en espera desde el directorio en memoria (Lobby), de la más
+     * nueva a la más antigua. La página siguiente se pide con el cursor de
+     * la cabecera X-Next-Cursor, que no se envía en la última. Otros
+     * estados se siguen consultando en la BD.
+     */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listAvailableGames(
+    public void listAvailableGames(
             @QueryParam("status") String status,
-            @Context SecurityContext securityContext
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") @DefaultValue("10") int limit,
+            @QueryParam("freeSeats") @DefaultValue("0") int freeSeats,
+            @QueryParam("title") String title,
+            @QueryParam("startingCards") Integer startingCards,
+            @Context SecurityContext securityContext,
+            @Suspended AsyncResponse async
     ) {
         getUserId(securityContext);
 
-        String gameStatus = status != null ? status : "WAITING";
-
-        List<Map<String, Object>> games = gameDAO.findAvailableGames(gameStatus);
+        if (limit < 1 || limit > MAX_PAGE) {
+            async.resume(Response.status(Response.Status.BAD_REQUEST)
+                    .entity("limit debe estar entre 1 y " + MAX_PAGE)
+                    .build());
+            return;
+        }
 
-        return Response.ok(games).build();
+        query(async, () -> {
+            if (status != null && !"WAITING".equals(status)) {
+                return Response.ok(gameDAO.findAvailableGames(status)).build();
+            }
+
+            Lobby.Page page;
+            try {
+                page = Lobby.page(cursor, limit, new Lobby.Filter(freeSeats, title, startingCards));
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity(e.getMessage())
+                        .build();
+            }
+
+            List<Map<String, Object>> games = page.games().stream()
+                    .map(g -> {
+                        Map<String, Object> gameMap = new HashMap<>();
+                        gameMap.put("id", g.id());
+                        gameMap.put("code", g.code());
+                        gameMap.put("title", g.title());
+                        gameMap.put("status", "WAITING");
+                        gameMap.put("startingCards", g.startingCards());
+                        gameMap.put("createdAt", g.createdAt());
+                        gameMap.put("playerCount", g.players());
+                        gameMap.put("freeSeats", GamePlayerDAO.MAX_PLAYERS - g.players());
+                        return gameMap;
+                    })
+                    .toList();
+
+            Response.ResponseBuilder response = Response.ok(games);
+            if (page.nextCursor() != null) {
+                response.header("X-Next-Cursor", page.nextCursor());
+            }
+            return response.build();
+        });
     }
 
     // =========================
@@ -525,37 +1001,49 @@ public class GameResource {
     @GET
     @Path("/{code}/results")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getGameResults(
+    public void getGameResults(
             @PathParam("code") String code,
-            @Context SecurityContext securityContext
+            @Context SecurityContext securityContext,
+            @Suspended AsyncResponse async
     ) {
         getUserId(securityContext);
 
-        Game game = gameDAO.findByCode(code);
-        if (game == null) {
-            return Response.status(Response.Status.NOT_FOUND).build();
-        }
-
-        List<GamePlayerDAO.PlayerInfo> gameInfos = gamePlayerDAO.getGamePlayers(game.getId());
-
-        List<Map<String, Object>> players = gameInfos.stream()
-                .map(info -> {
-                    int totalPoints = roundScoreDAO.getPlayerTotalScore(game.getId(), info.playerId());
-                    int totalTricks = roundScoreDAO.getPlayerTotalTricks(game.getId(), info.playerId());
-
-                    Map<String, Object> playerMap = new HashMap<>();
-                    playerMap.put("playerId", info.playerId());
-                    playerMap.put("nickname", info.nickname());
-                    playerMap.put("points", totalPoints);
-                    playerMap.put("tricks", totalTricks);
-
-                    return playerMap;
-                })
-                .toList();
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("players", players);
-
-        return Response.ok(result).build();
+        query(async, () -> {
+            Game game = gameDAO.findByCode(code);
+            if (game == null) {
+                return Response.status(Response.Status.NOT_FOUND).build();
+            }
+
+            List<Map<String, Object>> players = roundScoreDAO.getGameResults(game.getId()).stream()
+                    .map(r -> {
+                        List<Map<String, Object>> rounds = r.rounds().stream()
+                                .map(round -> {
+                                    Map<String, Object> roundMap = new HashMap<>();
+                                    roundMap.put("round", round.round());
+                                    roundMap.put("bet", round.bet());
+                                    roundMap.put("tricks", round.tricks());
+                                    roundMap.put("points", round.points());
+                                    return roundMap;
+                                })
+                                .toList();
+
+                        Map<String, Object> playerMap = new HashMap<>();
+                        playerMap.put("playerId", r.playerId());
+                        playerMap.put("nickname", r.nickname());
+                        playerMap.put("seat", r.seat());
+                        playerMap.put("points", r.points());
+                        playerMap.put("tricks", r.tricks());
+                        playerMap.put("bets", r.bets());
+                        playerMap.put("rounds", rounds);
+
+                        return playerMap;
+                    })
+                    .toList();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("players", players);
+
+            return Response.ok(result).build();
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.ohhell.api.resources;
+
+import com.ohhell.api.config.Settings;
+import com.ohhell.api.dao.GamePlayerDAO;
+import com.ohhell.api.dao.PlayerDAO;
+import com.ohhell.api.db.DbExecutor;
+import com.ohhell.api.engine.Matchmaker;
+import com.ohhell.api.models.Player;
+import com.ohhell.api.security.UserPrincipal;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.container.AsyncResponse;
+import jakarta.ws.rs.container.Suspended;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emparejamiento automático (ver Matchmaker).
+ *
+ * POST /matchmaking/enqueue espera (long polling) hasta que el jugador
+ * tiene mesa y responde 200 con su código y asiento. Si no la hay antes de
+ * matchmaking.poll-timeout-ms responde 202 QUEUED: el jugador sigue en cola
+ * y vuelve a llamar para seguir esperando sin perder su turno. Un jugador
+ * que ya está sentado en una partida sin terminar recibe 409 SEATED con su
+ * código, salvo que sea la mesa que el emparejamiento le dio y aún no ha
+ * recogido.
+ */
+@Path("/matchmaking")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+public class MatchmakingResource {
+
+    private static final long POLL_TIMEOUT_MS = Settings.getLong("matchmaking.poll-timeout-ms", 25_000);
+
+    private final PlayerDAO playerDAO = new PlayerDAO();
+    private final GamePlayerDAO gamePlayerDAO = new GamePlayerDAO();
+
+    // =========================
+    // ENQUEUE
+    // =========================
+    @POST
+    @Path("/enqueue")
+    public void enqueue(
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
+    ) {
+        UUID userId = getUserId(ctx);
+
+        async.setTimeout(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        async.setTimeoutHandler(timedOut -> timedOut.resume(
+                Response.status(Response.Status.ACCEPTED)
+                        .entity(Map.of("status", "QUEUED"))
+                        .build()
+        ));
+
+        // El jugador se busca en DbExecutor, no en el hilo HTTP
+        try {
+            DbExecutor.submit(() -> unseatedPlayerId(userId)).whenComplete((playerId, error) -> {
+                if (error != null) {
+                    async.resume(error);
+                } else {
+                    await(playerId, async);
+                }
+            });
+        } catch (ServiceUnavailableException e) {
+            async.resume(e);
+        }
+    }
+
+    private static void await(UUID playerId, AsyncResponse async) {
+        Matchmaker.enqueue(playerId).whenComplete((match, error) -> {
+            if (error instanceof CancellationException) {
+                async.resume(Response.status(Response.Status.GONE)
+                        .entity(Map.of("status", "CANCELLED"))
+                        .build());
+            } else if (error != null) {
+                async.resume(error);
+            } else if (async.resume(Response.ok(Map.of(
+                    "status", "MATCHED",
+                    "code", match.code(),
+                    "seat", match.seat()
+            )).build())) {
+                // Solo si la respuesta salió: si no, la recoge la siguiente llamada
+                Matchmaker.claim(playerId, match);
+            }
+        });
+    }
+
+    // =========================
+    // LEAVE
+    // =========================
+    @DELETE
+    public void leave(
+            @Context SecurityContext ctx,
+            @Suspended AsyncResponse async
+    ) {
+        UUID userId = getUserId(ctx);
+
+        try {
+            DbExecutor.submit(() -> {
+                if (!Matchmaker.cancel(findPlayer(userId).getId())) {
+                    return Response.status(Response.Status.NOT_FOUND)
+                            .entity("No estás en la cola")
+                            .build();
+                }
+                return Response.noContent().build();
+            }).whenComplete((response, error) -> {
+                if (error != null) {
+                    async.resume(error);
+                } else {
+                    async.resume(response);
+                }
+            });
+        } catch (ServiceUnavailableException e) {
+            async.resume(e);
+        }
+    }
+
+    // Con ticket se sigue esperando (o se recoge) la misma mesa, sin otro asiento
+    private UUID unseatedPlayerId(UUID userId) {
+        UUID playerId = findPlayer(userId).getId();
+        if (Matchmaker.hasTicket(playerId)) return playerId;
+
+        gamePlayerDAO.findActiveGameCode(playerId).ifPresent(code -> {
+            throw new WebApplicationException(Response.status(Response.Status.CONFLICT)
+                    .entity(Map.of("status", "SEATED", "code", code))
+                    .build());
+        });
+        return playerId;
+    }
+
+    private Player findPlayer(UUID userId) {
+        return playerDAO.findByUserId(userId)
+                .orElseThrow(() -> new WebApplicationException("Crea un player antes", 400));
+    }
+
+    private UUID getUserId(SecurityContext ctx) {
+        return ((UserPrincipal) ctx.getUserPrincipal()).getUserId();
+    }
+}
@@ -0,0 +1,17 @@
+package com.ohhell.api.resources;
+
+import com.ohhell.api.metrics.Metrics;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+@Path("/metrics")
+public class MetricsResource {
+
+    // Formato de texto de Prometheus
+    @GET
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    public String metrics() {
+        return Metrics.scrape();
+    }
+}
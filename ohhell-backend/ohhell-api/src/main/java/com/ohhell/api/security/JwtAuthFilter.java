@@ -10,7 +10,6 @@ import jakarta.ws.rs.ext.Provider;
 
 import java.io.IOException;
 import java.security.Principal;
-import java.util.UUID;
 
 @Provider
 @Priority(Priorities.AUTHENTICATION)
@@ -27,12 +26,20 @@ public class JwtAuthFilter implements ContainerRequestFilter {
         String path = request.getUriInfo().getPath();
 
         // Rutas públicas
-        if (path.startsWith("auth") || path.startsWith("health")) {
+        if (path.startsWith("auth") || path.startsWith("health") || path.startsWith("metrics")) {
             return;
         }
 
         String authHeader = request.getHeaderString("Authorization");
 
+        // EventSource no permite cabeceras: el stream de eventos acepta el token por query
+        if (authHeader == null && path.endsWith("/events")) {
+            String queryToken = request.getUriInfo().getQueryParameters().getFirst("access_token");
+            if (queryToken != null) {
+                authHeader = "Bearer " + queryToken;
+            }
+        }
+
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             abort(request);
             return;
@@ -40,7 +47,7 @@ public class JwtAuthFilter implements ContainerRequestFilter {
 
         try {
             String token = authHeader.substring("Bearer ".length());
-            UUID userId = JwtUtil.getUserIdFromToken(token);
+            UserPrincipal principal = JwtCache.authenticate(token);
 
             SecurityContext originalContext = request.getSecurityContext();
 
@@ -48,7 +55,7 @@ public class JwtAuthFilter implements ContainerRequestFilter {
 
                 @Override
                 public Principal getUserPrincipal() {
-                    return new UserPrincipal(userId);
+                    return principal;
                 }
 
                 @Override
@@ -0,0 +1,150 @@
+package com.ohhell.api.security;
+
+import com.ohhell.api.config.Settings;
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché de tokens JWT ya verificados.
+ *
+ * Evita repetir la verificación HMAC y el parseo de claims en cada petición
+ * de un cliente que sondea con el mismo token. La clave es el SHA-256 del
+ * token (no se guarda el token en claro) y el valor el UserPrincipal ya
+ * construido. Cada entrada caduca en el exp del token y, al superar la
+ * capacidad (security.jwt-cache.size), se descarta la menos usada.
+ *
+ * Los tokens inválidos o sin exp no se cachean.
+ */
+public final class JwtCache {
+
+    public record Stats(
+            int size,
+            int capacity,
+            long hits,
+            long misses,
+            long expired,
+            long evicted
+    ) {
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private record Key(long h0, long h1, long h2, long h3) {}
+
+    private record Entry(UserPrincipal principal, long expiresAtMillis) {}
+
+    private static final int CAPACITY = Settings.getInt("security.jwt-cache.size", 10_000);
+
+    // Cada cuánto se barren las entradas caducadas que nadie vuelve a pedir
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder expired = new LongAdder();
+    private static final LongAdder evicted = new LongAdder();
+
+    // LinkedHashMap en orden de acceso: el primero es el menos usado
+    private static final Map<Key, Entry> ENTRIES = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > CAPACITY) {
+                evicted.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static long lastSweepMillis = System.currentTimeMillis();
+
+    private JwtCache() {
+    }
+
+    /**
+     * Devuelve el usuario del token, verificándolo solo si no está en caché.
+     * Lanza la excepción de JJWT si el token no es válido.
+     */
+    public static UserPrincipal authenticate(String token) {
+        Key key = keyOf(token);
+        long now = System.currentTimeMillis();
+
+        synchronized (ENTRIES) {
+            Entry entry = ENTRIES.get(key);
+            if (entry != null) {
+                if (now < entry.expiresAtMillis()) {
+                    hits.increment();
+                    return entry.principal();
+                }
+                ENTRIES.remove(key);
+                expired.increment();
+            }
+        }
+
+        misses.increment();
+        Claims claims = JwtUtil.validateToken(token);
+        UserPrincipal principal = new UserPrincipal(UUID.fromString(claims.getSubject()));
+
+        Date exp = claims.getExpiration();
+        if (exp != null && CAPACITY > 0) {
+            synchronized (ENTRIES) {
+                if (now - lastSweepMillis >= SWEEP_INTERVAL_MS) {
+                    sweep(now);
+                }
+                ENTRIES.put(key, new Entry(principal, exp.getTime()));
+            }
+        }
+        return principal;
+    }
+
+    public static Stats stats() {
+        synchronized (ENTRIES) {
+            return new Stats(
+                    ENTRIES.size(),
+                    CAPACITY,
+                    hits.sum(),
+                    misses.sum(),
+                    expired.sum(),
+                    evicted.sum()
+            );
+        }
+    }
+
+    // Llamar con el lock de ENTRIES
+    private static void sweep(long now) {
+        lastSweepMillis = now;
+        Iterator<Entry> it = ENTRIES.values().iterator();
+        while (it.hasNext()) {
+            if (now >= it.next().expiresAtMillis()) {
+                it.remove();
+                expired.increment();
+            }
+        }
+    }
+
+    private static Key keyOf(String token) {
+        MessageDigest md = SHA256.get();
+        ByteBuffer digest = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new Key(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+    }
+}
@@ -0,0 +1,40 @@
+-- Índices de las consultas de la partida en curso.
+-- El esquema oh_hell (tablas y tipos) ya existe: se creó fuera de la
+-- aplicación. IF NOT EXISTS permite aplicar esto sobre bases de datos que
+-- ya tengan alguno creado a mano con el mismo nombre.
+
+-- RoundDAO.findCurrentRound: ronda sin terminar de la partida, la más alta
+CREATE INDEX IF NOT EXISTS rounds_current_idx
+    ON oh_hell.rounds (game_id, number)
+    WHERE finished_at IS NULL;
+
+-- Resultados: todas las rondas de una partida
+CREATE INDEX IF NOT EXISTS rounds_game_idx
+    ON oh_hell.rounds (game_id);
+
+-- RoundPlayDAO (jugadas en orden, inserción condicional) y RoundHandDAO
+CREATE INDEX IF NOT EXISTS round_plays_round_order_idx
+    ON oh_hell.round_plays (round_id, play_order);
+
+-- BetDAO: apuestas de la ronda y del jugador en la ronda
+CREATE INDEX IF NOT EXISTS bets_round_player_idx
+    ON oh_hell.bets (round_id, game_player_id);
+
+-- PlayerCardDAO: mano de un jugador y de toda la ronda
+CREATE INDEX IF NOT EXISTS round_player_cards_round_player_idx
+    ON oh_hell.round_player_cards (round_id, game_player_id);
+
+-- GameDAO: listado por estado, de la más nueva a la más antigua
+CREATE INDEX IF NOT EXISTS games_status_created_idx
+    ON oh_hell.games (status, created_at);
+
+-- GamePlayerDAO: jugador dentro de una partida y jugadores de la partida
+CREATE INDEX IF NOT EXISTS game_players_game_player_idx
+    ON oh_hell.game_players (game_id, player_id);
+
+-- RoundScoreDAO: puntuaciones por ronda y por jugador
+CREATE INDEX IF NOT EXISTS round_scores_round_idx
+    ON oh_hell.round_scores (round_id);
+
+CREATE INDEX IF NOT EXISTS round_scores_game_player_idx
+    ON oh_hell.round_scores (game_player_id);
@@ -0,0 +1,4 @@
+-- GamePlayerDAO.findActiveGameCode: partidas de un jugador, para no sentarlo
+-- en otra mesa desde el emparejamiento si ya tiene una en curso
+CREATE INDEX IF NOT EXISTS game_players_player_idx
+    ON oh_hell.game_players (player_id);
@@ -0,0 +1,76 @@
+package com.ohhell.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Punto de entrada de target/benchmarks.jar.
+ *
+ * Acepta las mismas opciones que org.openjdk.jmh.Main y además:
+ * - Si no se indica -rf/-rff, escribe los resultados en JSON en
+ *   ohhell-bench-results.json para comparar entre versiones.
+ * - Pasa a los forks las propiedades de sistema ohhell.* (p. ej. ohhell.db.url).
+ *
+ * Ejemplos:
+ *   java -jar target/benchmarks.jar -e DaoBenchmark
+ *   java -Dohhell.db.url=jdbc:postgresql://localhost:5432/ohhell -jar target/benchmarks.jar DaoBenchmark
+ */
+public final class BenchRunner {
+
+    private static final String DEFAULT_RESULT = "ohhell-bench-results.json";
+
+    private BenchRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        CommandLineOptions cli;
+        try {
+            cli = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error en las opciones: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams()
+                || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            // Listados y ayuda: se delegan tal cual en JMH
+            try {
+                org.openjdk.jmh.Main.main(args);
+            } catch (Exception e) {
+                throw new RunnerException(e);
+            }
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT);
+        }
+
+        // jvmArgsAppend del builder sustituye al de la línea de comandos: se combinan
+        List<String> forwarded = new ArrayList<>(cli.getJvmArgsAppend().orElse(List.of()));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("ohhell.")) {
+                forwarded.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        if (!forwarded.isEmpty()) {
+            options.jvmArgsAppend(forwarded.toArray(new String[0]));
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,40 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.engine.Cards;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción y barajado del mazo (lo que hace RoundDAO.dealCards antes de repartir).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardsBenchmark {
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final byte[] deck = Cards.newDeck();
+
+    @Benchmark
+    public byte[] newDeck() {
+        return Cards.newDeck();
+    }
+
+    @Benchmark
+    public byte[] shuffle() {
+        Cards.shuffle(deck, random);
+        return deck;
+    }
+
+    @Benchmark
+    public byte[] newDeckAndShuffle() {
+        byte[] d = Cards.newDeck();
+        Cards.shuffle(d, random);
+        return d;
+    }
+}
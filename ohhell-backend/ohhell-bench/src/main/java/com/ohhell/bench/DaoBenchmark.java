@@ -0,0 +1,468 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.dao.*;
+import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Jdbc;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.engine.Cards;
+import com.ohhell.api.models.Game;
+import com.ohhell.api.models.RoundView;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAOs contra un PostgreSQL real con el esquema oh_hell.
+ *
+ * La conexión se configura igual que en la API (ohhell.db.url,
+ * ohhell.db.user, ohhell.db.password o las variables OHHELL_DB_*).
+ * Cada trial crea su propia partida con usuarios y jugadores de prueba,
+ * una ronda repartida, apuestas, una jugada y puntuaciones, y lo borra al
+ * terminar. Sin base de datos disponible, excluir con: -e DaoBenchmark
+ *
+ * GameDAO.findByCode y PlayerDAO.findByUserId pasan por su LruCache: el
+ * benchmark con el nombre del método ejecuta su Query (lo que cuesta un
+ * fallo de caché) y el terminado en Cached mide el acierto.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DaoBenchmark {
+
+    @Param({"4", "10"})
+    public int players;
+
+    private final UserDAO userDAO = new UserDAO();
+    private final PlayerDAO playerDAO = new PlayerDAO();
+    private final GameDAO gameDAO = new GameDAO();
+    private final GamePlayerDAO gamePlayerDAO = new GamePlayerDAO();
+    private final RoundDAO roundDAO = new RoundDAO();
+    private final PlayerCardDAO playerCardDAO = new PlayerCardDAO();
+    private final BetDAO betDAO = new BetDAO();
+    private final RoundPlayDAO roundPlayDAO = new RoundPlayDAO();
+    private final RoundHandDAO roundHandDAO = new RoundHandDAO();
+    private final RoundScoreDAO roundScoreDAO = new RoundScoreDAO();
+    private final CardDAO cardDAO = new CardDAO();
+
+    // Consultas de los métodos cacheados, para medirlas sin la caché
+    private Query<?> gameByCode;
+    private Query<?> playerByUserId;
+
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<UUID> playerIds = new ArrayList<>();
+    private Game game;
+    private List<Long> gamePlayerIds;
+    private long roundId;
+    private int cardsPerPlayer;
+    private long lastGamePlayerId;
+    private UUID lastPlayerId;
+    private String lastCard;
+    private String lastSuit;
+    private int trumpCardId;
+
+    // =========================
+    // FIXTURE
+    // =========================
+    @Setup(Level.Trial)
+    public void setup() {
+        String tag = Long.toString(System.nanoTime(), 36);
+
+        for (int i = 0; i < players; i++) {
+            UUID userId = userDAO.create("bench-" + tag + "-" + i + "@ohhell.local", "bench").getId();
+            userIds.add(userId);
+            playerIds.add(playerDAO.create(userId, "bench-" + tag + "-" + i).getId());
+        }
+
+        game = gameDAO.create("bench-" + tag);
+
+        // Directo por SQL: joinGame limita la mesa a 4 jugadores
+        for (int seat = 0; seat < players; seat++) {
+            update("""
+                INSERT INTO oh_hell.game_players
+                (game_id, player_id, seat_position, is_host, status)
+                VALUES (?, ?, ?, ?, CAST('ACTIVE' AS player_status))
+            """, game.getId(), playerIds.get(seat), seat, seat == 0);
+        }
+        gamePlayerIds = gamePlayerDAO.getGamePlayerIds(game.getId());
+        lastGamePlayerId = gamePlayerIds.get(players - 1);
+        lastPlayerId = playerIds.get(players - 1);
+
+        cardsPerPlayer = (Cards.DECK_SIZE - 1) / players;
+        roundDAO.createFirstRound(game.getId(), cardsPerPlayer, 0);
+        RoundView round = roundDAO.findCurrentRound(game.getId());
+        roundId = round.getId();
+
+        roundDAO.dealCards(roundId, gamePlayerIds, cardsPerPlayer);
+
+        // Todos apuestan menos el último (placeBet lo mide el benchmark)
+        for (int i = 0; i < players - 1; i++) {
+            betDAO.placeBet(roundId, gamePlayerIds.get(i), 0, i);
+        }
+
+        long first = gamePlayerIds.get(1 % players);
+        roundPlayDAO.playCard(roundId, first, playerCardDAO.getHand(roundId, first).get(0), 0);
+
+        for (long gp : gamePlayerIds) {
+            roundScoreDAO.saveScore(roundId, gp, 0, 0, 0);
+        }
+
+        lastCard = playerCardDAO.getHand(roundId, lastGamePlayerId).get(0);
+        lastSuit = lastCard.substring(lastCard.indexOf('_') + 1);
+        trumpCardId = roundDAO.getTrumpCardId(roundId);
+
+        // Los DAOs ya están cargados: sus Query están registradas
+        gameByCode = query("GameDAO.findByCode");
+        playerByUserId = query("PlayerDAO.findByUserId");
+    }
+
+    private static Query<?> query(String name) {
+        return Query.all().stream()
+                .filter(q -> q.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Consulta no registrada: " + name));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        update("DELETE FROM oh_hell.round_scores WHERE round_id = ?", roundId);
+        update("DELETE FROM oh_hell.round_plays WHERE round_id = ?", roundId);
+        update("DELETE FROM oh_hell.bets WHERE round_id = ?", roundId);
+        update("DELETE FROM oh_hell.round_player_cards WHERE round_id = ?", roundId);
+        update("DELETE FROM oh_hell.rounds WHERE id = ?", roundId);
+        update("DELETE FROM oh_hell.game_players WHERE game_id = ?", game.getId());
+        update("DELETE FROM oh_hell.games WHERE id = ?", game.getId());
+        for (UUID playerId : playerIds) {
+            update("DELETE FROM oh_hell.players WHERE id = ?", playerId);
+        }
+        for (UUID userId : userIds) {
+            update("DELETE FROM oh_hell.users WHERE id = ?", userId);
+        }
+    }
+
+    private static void update(String sql, Object... params) {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            ps.executeUpdate();
+
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    // =========================
+    // LECTURAS
+    // =========================
+    @Benchmark
+    public Object findGameByCode() {
+        return Jdbc.first(gameByCode, game.getCode());
+    }
+
+    @Benchmark
+    public Game findGameByCodeCached() {
+        return gameDAO.findByCode(game.getCode());
+    }
+
+    @Benchmark
+    public Object findAvailableGames() {
+        return gameDAO.findAvailableGames("WAITING");
+    }
+
+    @Benchmark
+    public int findOpenGames() {
+        int[] n = {0};
+        gameDAO.findOpenGames(g -> n[0]++);
+        return n[0];
+    }
+
+    @Benchmark
+    public Object findPlayerByUserId() {
+        return Jdbc.first(playerByUserId, userIds.get(0));
+    }
+
+    @Benchmark
+    public Object findPlayerByUserIdCached() {
+        return playerDAO.findByUserId(userIds.get(0));
+    }
+
+    @Benchmark
+    public Object findUserByEmail() {
+        return userDAO.findByEmail("nadie@ohhell.local");
+    }
+
+    @Benchmark
+    public Object getSeats() {
+        return gamePlayerDAO.getSeats(game.getId());
+    }
+
+    @Benchmark
+    public Object getGamePlayerIds() {
+        return gamePlayerDAO.getGamePlayerIds(game.getId());
+    }
+
+    @Benchmark
+    public Object getRoster() {
+        return gamePlayerDAO.getRoster(game.getId());
+    }
+
+    @Benchmark
+    public Object getLobbyPlayers() {
+        return gamePlayerDAO.getLobbyPlayers(game.getId());
+    }
+
+    @Benchmark
+    public int countPlayers() {
+        return gamePlayerDAO.countPlayers(game.getId());
+    }
+
+    @Benchmark
+    public boolean isHost() {
+        return gamePlayerDAO.isHost(game.getId(), lastPlayerId);
+    }
+
+    @Benchmark
+    public boolean areAllPlayersReady() {
+        return gamePlayerDAO.areAllPlayersReady(game.getId());
+    }
+
+    @Benchmark
+    public long getGamePlayerId() {
+        return gamePlayerDAO.getGamePlayerId(game.getId(), lastPlayerId);
+    }
+
+    @Benchmark
+    public int getSeat() {
+        return gamePlayerDAO.getSeat(game.getId(), lastPlayerId);
+    }
+
+    @Benchmark
+    public int getSeatByGamePlayerId() {
+        return gamePlayerDAO.getSeatByGamePlayerId(lastGamePlayerId);
+    }
+
+    @Benchmark
+    public UUID getPlayerIdBySeat() {
+        return gamePlayerDAO.getPlayerIdBySeat(game.getId(), players - 1);
+    }
+
+    @Benchmark
+    public UUID getPlayerIdByGamePlayerId() {
+        return gamePlayerDAO.getPlayerIdByGamePlayerId(lastGamePlayerId);
+    }
+
+    @Benchmark
+    public Object getGamePlayers() {
+        return gamePlayerDAO.getGamePlayers(game.getId());
+    }
+
+    @Benchmark
+    public Object getPlayerInfo() {
+        return gamePlayerDAO.getPlayerInfo(lastGamePlayerId);
+    }
+
+    @Benchmark
+    public Object findActiveGameCode() {
+        return gamePlayerDAO.findActiveGameCode(lastPlayerId);
+    }
+
+    @Benchmark
+    public RoundView findCurrentRound() {
+        return roundDAO.findCurrentRound(game.getId());
+    }
+
+    @Benchmark
+    public String getTrumpSuit() {
+        return roundDAO.getTrumpSuit(roundId);
+    }
+
+    @Benchmark
+    public int getTrumpCardId() {
+        return roundDAO.getTrumpCardId(roundId);
+    }
+
+    @Benchmark
+    public int findCardId() {
+        return cardDAO.findCardId("ACE", "SPADES");
+    }
+
+    @Benchmark
+    public String getSuitById() {
+        return cardDAO.getSuitById(trumpCardId);
+    }
+
+    @Benchmark
+    public Object getHand() {
+        return playerCardDAO.getHand(roundId, lastGamePlayerId);
+    }
+
+    @Benchmark
+    public Object getHands() {
+        return playerCardDAO.getHands(roundId);
+    }
+
+    @Benchmark
+    public boolean playerHasSuit() {
+        return playerCardDAO.playerHasSuit(roundId, lastGamePlayerId, lastSuit);
+    }
+
+    @Benchmark
+    public Object getBetsForRound() {
+        return betDAO.getBetsForRound(roundId);
+    }
+
+    @Benchmark
+    public int sumBets() {
+        return betDAO.sumBets(roundId);
+    }
+
+    @Benchmark
+    public int nextBetOrder() {
+        return betDAO.nextBetOrder(roundId);
+    }
+
+    @Benchmark
+    public int getBet() {
+        return betDAO.getBet(roundId, gamePlayerIds.get(0));
+    }
+
+    @Benchmark
+    public Object getGamePlayersForRound() {
+        return betDAO.getGamePlayersForRound(roundId);
+    }
+
+    @Benchmark
+    public Object getPlays() {
+        return roundPlayDAO.getPlays(roundId);
+    }
+
+    @Benchmark
+    public int countPlays() {
+        return roundPlayDAO.countPlays(roundId);
+    }
+
+    @Benchmark
+    public String getLeadSuit() {
+        return roundHandDAO.getLeadSuit(roundId);
+    }
+
+    @Benchmark
+    public Object getScoresForGame() {
+        return roundScoreDAO.getScoresForGame(game.getId());
+    }
+
+    @Benchmark
+    public Object getGameResults() {
+        return roundScoreDAO.getGameResults(game.getId());
+    }
+
+    // =========================
+    // ESCRITURAS
+    // =========================
+
+    // Cada invocación reparte de nuevo la ronda: se vacían las manos después
+    @State(Scope.Thread)
+    public static class Redeal {
+
+        @TearDown(Level.Invocation)
+        public void clear(DaoBenchmark bench) {
+            bench.playerCardDAO.clearHand(bench.roundId);
+        }
+    }
+
+    @Benchmark
+    public void dealCards(Redeal redeal) {
+        roundDAO.dealCards(roundId, gamePlayerIds, cardsPerPlayer);
+    }
+
+    // Apuesta del último jugador, borrada después de cada invocación
+    @State(Scope.Thread)
+    public static class Rebet {
+
+        @TearDown(Level.Invocation)
+        public void clear(DaoBenchmark bench) {
+            update("DELETE FROM oh_hell.bets WHERE round_id = ? AND game_player_id = ?",
+                    bench.roundId, bench.lastGamePlayerId);
+        }
+    }
+
+    @Benchmark
+    public void placeBet(Rebet rebet) {
+        betDAO.placeBet(roundId, lastGamePlayerId, 1, players - 1);
+    }
+
+    @Benchmark
+    public boolean hasBet() {
+        return betDAO.hasBet(roundId, lastGamePlayerId);
+    }
+
+    @Benchmark
+    public int countBets() {
+        return betDAO.countBets(roundId);
+    }
+
+    // Segunda jugada de la ronda, borrada después de cada invocación
+    @State(Scope.Thread)
+    public static class Replay {
+
+        @TearDown(Level.Invocation)
+        public void clear(DaoBenchmark bench) {
+            update("DELETE FROM oh_hell.round_plays WHERE round_id = ? AND play_order = 1", bench.roundId);
+        }
+    }
+
+    @Benchmark
+    public boolean playCard(Replay replay) {
+        return roundPlayDAO.playCard(roundId, lastGamePlayerId, lastCard, 1);
+    }
+
+    // La carta vuelve a la mano después de cada invocación
+    @State(Scope.Thread)
+    public static class Readd {
+
+        @TearDown(Level.Invocation)
+        public void restore(DaoBenchmark bench) {
+            bench.playerCardDAO.addCard(bench.roundId, bench.lastGamePlayerId, bench.lastCard);
+        }
+    }
+
+    @Benchmark
+    public void removeCard(Readd readd) {
+        playerCardDAO.removeCard(roundId, lastGamePlayerId, lastCard);
+    }
+
+    // La ronda se vuelve a abrir después de cada invocación
+    @State(Scope.Thread)
+    public static class Reopen {
+
+        @TearDown(Level.Invocation)
+        public void reopen(DaoBenchmark bench) {
+            update("UPDATE oh_hell.rounds SET phase = 'BETTING', finished_at = NULL WHERE id = ?", bench.roundId);
+        }
+    }
+
+    @Benchmark
+    public boolean finishRound(Reopen reopen) {
+        return roundDAO.finishRound(roundId);
+    }
+
+    // Escrituras que dejan la fila igual que estaba
+    @Benchmark
+    public void updatePhase() {
+        roundDAO.updatePhase(roundId, "BETTING");
+    }
+
+    @Benchmark
+    public void setReady() {
+        gamePlayerDAO.setReady(game.getId(), lastPlayerId, true);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.engine.Cards;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reparto completo en memoria: barajar y repartir el máximo de cartas
+ * posible dejando carta de triunfo (12 con 4 jugadores, 5 con 10).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DealBenchmark {
+
+    @Param({"4", "10"})
+    public int players;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final byte[] deck = Cards.newDeck();
+    private long[] hands;
+    private int cardsPerPlayer;
+
+    @Setup
+    public void setup() {
+        hands = new long[players];
+        cardsPerPlayer = (Cards.DECK_SIZE - 1) / players;
+
+        // Manos ya repartidas para handsToText
+        Cards.shuffle(deck, random);
+        Cards.deal(deck, hands, cardsPerPlayer);
+    }
+
+    @Benchmark
+    public void shuffleAndDeal(Blackhole bh) {
+        Cards.shuffle(deck, random);
+        for (int p = 0; p < players; p++) {
+            hands[p] = 0;
+        }
+        bh.consume(Cards.deal(deck, hands, cardsPerPlayer));
+        bh.consume(hands);
+    }
+
+    // Conversión a texto que hace GET /hand con cada mano repartida
+    @Benchmark
+    public void handsToText(Blackhole bh) {
+        for (long hand : hands) {
+            bh.consume(Cards.texts(hand));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.engine.Rules;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Partidas completas en memoria: rondas 1..maxRounds con las cartas de
+ * Rules.cardsForRound, repartidor inicial al azar que rota cada ronda, y
+ * puntos acumulados por asiento.
+ *
+ * Acumula estadísticas en arrays propios (sin reservar memoria por
+ * partida); como RoundSimulator, una instancia es de un solo hilo.
+ */
+public final class GameSimulator {
+
+    private final RoundSimulator round;
+    private final int startingCards;
+    private final int maxRounds;
+
+    private final int[] totals;
+
+    // Acumulados de todas las partidas jugadas con esta instancia
+    private long games;
+    private long hands;
+    private long checksum;
+    private final long[] points;
+    private final long[] wins;
+
+    public GameSimulator(SimBot[] bots, int startingCards, int maxRounds) {
+        this.round = new RoundSimulator(bots);
+        this.startingCards = startingCards;
+        this.maxRounds = maxRounds;
+        this.totals = new int[bots.length];
+        this.points = new long[bots.length];
+        this.wins = new long[bots.length];
+    }
+
+    public void playGame(RandomGenerator random) {
+        int players = round.players();
+        int dealer = random.nextInt(players);
+        for (int p = 0; p < players; p++) totals[p] = 0;
+
+        for (int number = 1; number <= maxRounds; number++) {
+            int cards = Rules.cardsForRound(number, startingCards, players);
+            checksum += round.play(cards, dealer, random);
+            for (int p = 0; p < players; p++) {
+                totals[p] += round.points(p);
+            }
+            dealer = (dealer + 1) % players;
+        }
+
+        // Gana el de más puntos; en empate, el primer asiento
+        int winner = 0;
+        for (int p = 0; p < players; p++) {
+            points[p] += totals[p];
+            if (totals[p] > totals[winner]) winner = p;
+        }
+        wins[winner]++;
+
+        games++;
+        hands += maxRounds;
+    }
+
+    public long games() {
+        return games;
+    }
+
+    // Rondas jugadas (cada ronda es una mano por jugador)
+    public long hands() {
+        return hands;
+    }
+
+    public long checksum() {
+        return checksum;
+    }
+
+    public long points(int seat) {
+        return points[seat];
+    }
+
+    public long wins(int seat) {
+        return wins[seat];
+    }
+}
@@ -0,0 +1,167 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.db.Database;
+import com.ohhell.api.db.Migrations;
+import com.ohhell.api.db.Query;
+import com.ohhell.api.db.Resources;
+import com.ohhell.api.db.UnitOfWork;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Comprueba con EXPLAIN que todas las consultas de los DAOs usan un índice.
+ *
+ * Las consultas salen del registro de Query (las constantes de los DAOs de
+ * com.ohhell.api.dao, que se cargan antes), así que se revisa exactamente
+ * el SQL que ejecuta la API. Cada una se prepara con PREPARE y se explica
+ * su plan genérico (plan_cache_mode = force_generic_plan) con parámetros
+ * NULL: el plan no depende de valores de ejemplo.
+ *
+ * Aplica antes las migraciones (Migrations.migrate) y desactiva el Seq Scan
+ * en la transacción: con tablas pequeñas el planificador lo preferiría
+ * aunque exista el índice, así que si aun así aparece es que falta. Sale
+ * con código 1 si alguna consulta recorre una tabla entera o no se puede
+ * preparar.
+ *
+ * La conexión se configura igual que en la API (ohhell.db.url, ...):
+ *   java -cp target/benchmarks.jar com.ohhell.bench.PlanCheck
+ */
+public final class PlanCheck {
+
+    private static final String DAO_PACKAGE = "com.ohhell.api.dao";
+
+    // Consultas que leen la tabla entera a propósito, con el motivo
+    private static final Map<String, String> FULL_SCANS = Map.of(
+            "CardDAO.catalog", "catálogo completo de 52 cartas, se lee una vez al arrancar"
+    );
+
+    private PlanCheck() {
+    }
+
+    public static void main(String[] args) {
+        Migrations.migrate();
+
+        loadDaos();
+        List<Query<?>> queries = Query.all();
+
+        List<String> failures = new ArrayList<>();
+
+        UnitOfWork.inTransaction(() -> {
+            Connection c = Database.getConnection();
+            try (Statement st = c.createStatement()) {
+                st.execute("SET LOCAL enable_seqscan = off");
+                st.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            }
+
+            for (int i = 0; i < queries.size(); i++) {
+                Query<?> q = queries.get(i);
+                List<String> plan;
+                try {
+                    plan = explain(c, q, "plan_check_" + i);
+                } catch (SQLException e) {
+                    System.out.printf("%-4s %-42s %s%n", "ERR", q.name(), e.getMessage().strip());
+                    failures.add(q.name());
+                    continue;
+                }
+
+                boolean seqScan = plan.stream().anyMatch(line -> line.contains("Seq Scan"));
+                String allowed = FULL_SCANS.get(q.name());
+
+                String status = !seqScan ? "OK" : allowed != null ? "SEQ" : "MAL";
+                System.out.printf("%-4s %-42s %s%n", status, q.name(),
+                        allowed != null && seqScan ? allowed : plan.get(0).strip());
+                if (seqScan && allowed == null) {
+                    failures.add(q.name());
+                    plan.forEach(line -> System.out.println("       " + line));
+                }
+            }
+
+            // Solo se ha consultado: no dejar nada
+            c.rollback();
+            return null;
+        });
+
+        if (!failures.isEmpty()) {
+            System.out.printf("%n%d de %d consultas sin índice o con error: %s%n",
+                    failures.size(), queries.size(), failures);
+            System.exit(1);
+        }
+        System.out.printf("%nTodas las consultas (%d) usan índice%n", queries.size());
+        Database.shutdown();
+    }
+
+    // Inicializa las clases del paquete de los DAOs: sus Query se registran al cargarse
+    private static void loadDaos() {
+        ClassLoader loader = PlanCheck.class.getClassLoader();
+        for (String file : Resources.list(DAO_PACKAGE.replace('.', '/'))) {
+            if (!file.endsWith(".class") || file.contains("$")) continue;
+
+            String name = DAO_PACKAGE + "." + file.substring(0, file.length() - ".class".length());
+            try {
+                Class.forName(name, true, loader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("No se puede cargar " + name, e);
+            }
+        }
+    }
+
+    /**
+     * Plan genérico de la consulta. Se ejecuta dentro de un savepoint para
+     * que un error no aborte la transacción y se puedan revisar las demás;
+     * cada consulta usa su propio nombre porque PREPARE no se deshace con
+     * el rollback.
+     */
+    private static List<String> explain(Connection c, Query<?> q, String name) throws SQLException {
+        Positional sql = positional(q.sql());
+        String args = sql.params() == 0 ? "" : "(" + String.join(", ", Collections.nCopies(sql.params(), "NULL")) + ")";
+
+        Savepoint savepoint = c.setSavepoint();
+        try (Statement st = c.createStatement()) {
+            st.execute("PREPARE " + name + " AS " + sql.text());
+
+            List<String> plan = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery("EXPLAIN EXECUTE " + name + args)) {
+                while (rs.next()) {
+                    plan.add(rs.getString(1));
+                }
+            }
+
+            st.execute("DEALLOCATE " + name);
+            c.releaseSavepoint(savepoint);
+            return plan;
+        } catch (SQLException e) {
+            c.rollback(savepoint);
+            throw e;
+        }
+    }
+
+    private record Positional(String text, int params) {}
+
+    // Los ? de JDBC pasan a $1, $2, ... (los de dentro de literales se dejan)
+    private static Positional positional(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int params = 0;
+        boolean quoted = false;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char ch = sql.charAt(i);
+            if (ch == '\'') {
+                quoted = !quoted;
+            }
+            if (ch == '?' && !quoted) {
+                out.append('$').append(++params);
+            } else {
+                out.append(ch);
+            }
+        }
+        return new Positional(out.toString().strip(), params);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ohhell.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ronda completa en memoria (ver RoundSimulator): reparto, apuestas,
+ * todas las bazas y puntuación.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoundBenchmark {
+
+    @Param({"4", "10"})
+    public int players;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private RoundSimulator simulator;
+    private int dealer;
+
+    @Setup
+    public void setup() {
+        simulator = new RoundSimulator(players);
+    }
+
+    @Benchmark
+    public int fullRound() {
+        dealer = (dealer + 1) % players;
+        return simulator.play(simulator.maxCardsPerPlayer(), dealer, random);
+    }
+
+    // Ronda de una sola carta: mide sobre todo el coste fijo por ronda
+    @Benchmark
+    public int oneCardRound() {
+        dealer = (dealer + 1) % players;
+        return simulator.play(1, dealer, random);
+    }
+}
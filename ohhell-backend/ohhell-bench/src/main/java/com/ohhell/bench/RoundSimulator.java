@@ -0,0 +1,140 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.engine.Cards;
+import com.ohhell.api.engine.Rules;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Simula una ronda completa en memoria con las reglas del motor:
+ * barajar, repartir, apostar, jugar todas las bazas y puntuar.
+ *
+ * Cada asiento lo juega un SimBot (por defecto SimBot.HighCard, determinista
+ * y sencillo: lo que se mide es el coste de las reglas, no la calidad del
+ * juego). Reutiliza sus arrays entre rondas, así que una instancia no es
+ * thread-safe y jugar una ronda no reserva memoria.
+ */
+public final class RoundSimulator {
+
+    private final int players;
+    private final SimBot[] bots;
+    private final byte[] deck = Cards.newDeck();
+    private final long[] hands;
+    private final int[] bets;
+    private final int[] tricks;
+    private final int[] points;
+    private final int[] trick;
+
+    public RoundSimulator(int players) {
+        this(filled(players, new SimBot.HighCard()));
+    }
+
+    public RoundSimulator(SimBot[] bots) {
+        this.players = bots.length;
+        this.bots = bots.clone();
+        this.hands = new long[players];
+        this.bets = new int[players];
+        this.tricks = new int[players];
+        this.points = new int[players];
+        this.trick = new int[players];
+    }
+
+    private static SimBot[] filled(int players, SimBot bot) {
+        SimBot[] bots = new SimBot[players];
+        Arrays.fill(bots, bot);
+        return bots;
+    }
+
+    public int players() {
+        return players;
+    }
+
+    // Máximo de cartas por jugador dejando una carta de triunfo
+    public int maxCardsPerPlayer() {
+        return (Cards.DECK_SIZE - 1) / players;
+    }
+
+    // Puntos del asiento en la última ronda jugada
+    public int points(int seat) {
+        return points[seat];
+    }
+
+    /**
+     * Juega una ronda y devuelve la suma de puntos de la mesa
+     * (sirve de checksum para que el JIT no elimine el trabajo).
+     */
+    public int play(int cardsPerPlayer, int dealerSeat, RandomGenerator random) {
+        Cards.shuffle(deck, random);
+        for (int p = 0; p < players; p++) {
+            hands[p] = 0;
+            tricks[p] = 0;
+        }
+
+        int trumpCard = Cards.deal(deck, hands, cardsPerPlayer);
+        int trumpSuit = trumpCard == Cards.NONE ? Cards.NONE : Cards.suit(trumpCard);
+
+        int first = (dealerSeat + 1) % players;
+        bid(first, cardsPerPlayer, trumpSuit, random);
+
+        int leader = first;
+        for (int t = 0; t < cardsPerPlayer; t++) {
+            leader = playTrick(leader, trumpSuit, random);
+            tricks[leader]++;
+        }
+
+        int total = 0;
+        for (int p = 0; p < players; p++) {
+            points[p] = Rules.score(bets[p], tricks[p]);
+            total += points[p];
+        }
+        return total;
+    }
+
+    // =========================
+    // APUESTAS
+    // =========================
+    private void bid(int first, int cardsPerPlayer, int trumpSuit, RandomGenerator random) {
+        int sum = 0;
+        for (int i = 0; i < players; i++) {
+            int seat = (first + i) % players;
+            int value = bots[seat].bet(hands[seat], trumpSuit, cardsPerPlayer, random);
+            value = Math.max(0, Math.min(value, cardsPerPlayer));
+
+            if (Rules.checkBet(value, cardsPerPlayer, i, players, sum) == Rules.BetCheck.CLOSES_SUM) {
+                value = value == cardsPerPlayer ? value - 1 : value + 1;
+            }
+
+            bets[seat] = value;
+            sum += value;
+        }
+    }
+
+    // =========================
+    // BAZAS
+    // =========================
+
+    // Devuelve el asiento que gana la baza
+    private int playTrick(int leader, int trumpSuit, RandomGenerator random) {
+        int leadSuit = Cards.NONE;
+
+        for (int i = 0; i < players; i++) {
+            int seat = (leader + i) % players;
+            long hand = hands[seat];
+
+            long legal = leadSuit == Cards.NONE ? hand : hand & Cards.suitMask(leadSuit);
+            if (legal == 0) legal = hand;
+
+            int card = bots[seat].play(hand, legal, leadSuit, trumpSuit, bets[seat], tricks[seat], random);
+            if (!Cards.contains(legal, card) || !Rules.followsSuit(hand, card, leadSuit)) {
+                throw new IllegalStateException("Jugada ilegal en la simulación: " + Cards.text(card));
+            }
+
+            hands[seat] = hand & ~Cards.bit(card);
+            trick[i] = card;
+            if (i == 0) leadSuit = Cards.suit(card);
+        }
+
+        return (leader + Rules.trickWinner(trick, players, trumpSuit)) % players;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.engine.Cards;
+import com.ohhell.api.engine.Rules;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reglas puras del motor: validación de apuestas (incluida la regla de no
+ * cerrar la suma), obligación de seguir el palo y resolución de bazas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    // Tamaño de los lotes precalculados (potencia de 2 para indexar con máscara)
+    private static final int SAMPLES = 1024;
+
+    @Param({"4", "10"})
+    public int players;
+
+    private int cardsPerPlayer;
+    private int[][] tricks;
+    private int[] trumps;
+    private long[] hands;
+    private int[] cards;
+    private int[] leads;
+    private int next;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        cardsPerPlayer = (Cards.DECK_SIZE - 1) / players;
+
+        tricks = new int[SAMPLES][players];
+        trumps = new int[SAMPLES];
+        hands = new long[SAMPLES];
+        cards = new int[SAMPLES];
+        leads = new int[SAMPLES];
+
+        byte[] deck = Cards.newDeck();
+        long[] dealt = new long[1];
+        for (int i = 0; i < SAMPLES; i++) {
+            Cards.shuffle(deck, random);
+            for (int p = 0; p < players; p++) {
+                tricks[i][p] = deck[p];
+            }
+            trumps[i] = random.nextInt(Cards.SUITS);
+
+            dealt[0] = 0;
+            Cards.deal(deck, dealt, cardsPerPlayer);
+            hands[i] = dealt[0];
+            cards[i] = Long.numberOfTrailingZeros(dealt[0]);
+            leads[i] = random.nextInt(Cards.SUITS);
+        }
+    }
+
+    private int nextSample() {
+        return next++ & (SAMPLES - 1);
+    }
+
+    // Todas las apuestas posibles del último jugador de una mesa
+    @Benchmark
+    public void checkBetLastBetter(Blackhole bh) {
+        int sumSoFar = nextSample() % (cardsPerPlayer + 1);
+        for (int value = 0; value <= cardsPerPlayer; value++) {
+            bh.consume(Rules.checkBet(value, cardsPerPlayer, players - 1, players, sumSoFar));
+        }
+    }
+
+    @Benchmark
+    public boolean followsSuit() {
+        int i = nextSample();
+        return Rules.followsSuit(hands[i], cards[i], leads[i]);
+    }
+
+    @Benchmark
+    public int trickWinner() {
+        int i = nextSample();
+        return Rules.trickWinner(tricks[i], players, trumps[i]);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ohhell.bench;
+
+import com.ohhell.api.engine.Cards;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Estrategia de un bot de la simulación en memoria.
+ *
+ * Trabaja sobre máscaras de bits (ver Cards) y enteros para que el bucle de
+ * la simulación no reserve memoria. El simulador corrige la apuesta si no es
+ * legal (rango y regla del último en apostar) y rechaza cartas fuera de
+ * legal. Una implementación puede guardar estado, pero cada hilo usa sus
+ * propias instancias.
+ */
+public interface SimBot {
+
+    /**
+     * Apuesta deseada; trumpSuit puede ser Cards.NONE.
+     */
+    int bet(long hand, int trumpSuit, int cardsPerPlayer, RandomGenerator random);
+
+    /**
+     * Carta a jugar, que debe estar en legal (las cartas que siguen el palo
+     * de salida, o toda la mano si no se tiene o se sale).
+     */
+    int play(long hand, long legal, int leadSuit, int trumpSuit, int bet, int tricks, RandomGenerator random);
+
+    // =========================
+    // UTILIDADES DE MÁSCARAS
+    // =========================
+    static int highest(long cards) {
+        return 63 - Long.numberOfLeadingZeros(cards);
+    }
+
+    static int lowest(long cards) {
+        return Long.numberOfTrailingZeros(cards);
+    }
+
+    // n-ésima carta (desde 0) de la máscara, en orden de código
+    static int nth(long cards, int n) {
+        for (int i = 0; i < n; i++) {
+            cards &= cards - 1;
+        }
+        return Long.numberOfTrailingZeros(cards);
+    }
+
+    // =========================
+    // ESTRATEGIAS
+    // =========================
+    static SimBot named(String name) {
+        return switch (name) {
+            case "high" -> new HighCard();
+            case "random" -> new RandomCard();
+            case "target" -> new Target();
+            default -> throw new IllegalArgumentException("Bot desconocido: " + name + " (high, random, target)");
+        };
+    }
+
+    /**
+     * Apuesta por cartas altas (J o más de triunfo, A del resto) y juega
+     * siempre su carta legal más alta.
+     */
+    final class HighCard implements SimBot {
+
+        static final int HIGH_TRUMP = 9; // J
+        static final int HIGH_CARD = 12; // A
+
+        @Override
+        public int bet(long hand, int trumpSuit, int cardsPerPlayer, RandomGenerator random) {
+            int count = 0;
+            while (hand != 0) {
+                int card = Long.numberOfTrailingZeros(hand);
+                hand &= hand - 1;
+                int rank = Cards.rank(card);
+                if (Cards.suit(card) == trumpSuit ? rank >= HIGH_TRUMP : rank >= HIGH_CARD) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public int play(long hand, long legal, int leadSuit, int trumpSuit, int bet, int tricks,
+                        RandomGenerator random) {
+            return highest(legal);
+        }
+    }
+
+    /**
+     * Apuesta y juega al azar entre las opciones legales.
+     */
+    final class RandomCard implements SimBot {
+
+        @Override
+        public int bet(long hand, int trumpSuit, int cardsPerPlayer, RandomGenerator random) {
+            return random.nextInt(cardsPerPlayer + 1);
+        }
+
+        @Override
+        public int play(long hand, long legal, int leadSuit, int trumpSuit, int bet, int tricks,
+                        RandomGenerator random) {
+            return nth(legal, random.nextInt(Long.bitCount(legal)));
+        }
+    }
+
+    /**
+     * Apuesta como HighCard pero juega para cumplir la apuesta: carta alta
+     * mientras le falten bazas y la más baja cuando ya las tiene.
+     */
+    final class Target implements SimBot {
+
+        private final HighCard bidder = new HighCard();
+
+        @Override
+        public int bet(long hand, int trumpSuit, int cardsPerPlayer, RandomGenerator random) {
+            return bidder.bet(hand, trumpSuit, cardsPerPlayer, random);
+        }
+
+        @Override
+        public int play(long hand, long legal, int leadSuit, int trumpSuit, int bet, int tricks,
+                        RandomGenerator random) {
+            return tricks < bet ? highest(legal) : lowest(legal);
+        }
+    }
+}
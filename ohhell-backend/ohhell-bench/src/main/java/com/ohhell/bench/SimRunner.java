@@ -0,0 +1,143 @@
+package com.ohhell.bench;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Simulación masiva de partidas en memoria en todos los núcleos.
+ *
+ * Reparte las partidas en bloques que un ForkJoinPool juega en paralelo
+ * (parallel stream); cada bloque usa su propio GameSimulator y su propia
+ * semilla, así que el resultado no depende del número de hilos. Sirve para
+ * medir el motor (manos/s por núcleo) y para comparar bots o cambios de
+ * reglas por puntos medios y porcentaje de victorias de cada asiento.
+ *
+ * Ejemplo:
+ *   java -cp target/benchmarks.jar com.ohhell.bench.SimRunner -players 4 -bots target,high,random,high -games 2000000
+ */
+public final class SimRunner {
+
+    private static final int CHUNK = 4_096;
+
+    private record Result(long games, long hands, long checksum, long[] points, long[] wins) {
+
+        static Result of(GameSimulator sim, int players) {
+            long[] points = new long[players];
+            long[] wins = new long[players];
+            for (int p = 0; p < players; p++) {
+                points[p] = sim.points(p);
+                wins[p] = sim.wins(p);
+            }
+            return new Result(sim.games(), sim.hands(), sim.checksum(), points, wins);
+        }
+
+        Result merge(Result o) {
+            long[] p = points.clone();
+            long[] w = wins.clone();
+            for (int i = 0; i < p.length; i++) {
+                p[i] += o.points[i];
+                w[i] += o.wins[i];
+            }
+            return new Result(games + o.games, hands + o.hands, checksum + o.checksum, p, w);
+        }
+    }
+
+    private SimRunner() {
+    }
+
+    public static void main(String[] args) {
+        int players = 4;
+        String[] botNames = {"high"};
+        long games = 1_000_000;
+        long warmup = 100_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int startingCards = 10;
+        int rounds = 10;
+        long seed = 42;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-players" -> players = Integer.parseInt(value);
+                case "-bots" -> botNames = value.split(",");
+                case "-games" -> games = Long.parseLong(value);
+                case "-warmup" -> warmup = Long.parseLong(value);
+                case "-threads" -> threads = Integer.parseInt(value);
+                case "-starting" -> startingCards = Integer.parseInt(value);
+                case "-rounds" -> rounds = Integer.parseInt(value);
+                case "-seed" -> seed = Long.parseLong(value);
+                default -> {
+                    System.err.println("Opción desconocida: " + args[i]);
+                    System.err.println("Opciones: -players -bots -games -warmup -threads -starting -rounds -seed");
+                    System.exit(1);
+                }
+            }
+        }
+
+        // Los nombres de bot se asignan a los asientos en ciclo
+        String[] seats = new String[players];
+        for (int p = 0; p < players; p++) {
+            seats[p] = botNames[p % botNames.length];
+            SimBot.named(seats[p]);
+        }
+
+        System.out.printf("%d partidas de %d rondas (desde %d cartas), %d jugadores %s, %d hilos%n",
+                games, rounds, startingCards, players, Arrays.toString(seats), threads);
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            if (warmup > 0) {
+                run(pool, seats, warmup, startingCards, rounds, seed + 1);
+            }
+
+            long start = System.nanoTime();
+            Result r = run(pool, seats, games, startingCards, rounds, seed);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            report(seats, r, seconds, threads);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Result run(ForkJoinPool pool, String[] seats, long games,
+                              int startingCards, int rounds, long seed) {
+        long chunks = (games + CHUNK - 1) / CHUNK;
+        int players = seats.length;
+
+        return pool.submit(() -> LongStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    SimBot[] bots = new SimBot[players];
+                    for (int p = 0; p < players; p++) bots[p] = SimBot.named(seats[p]);
+
+                    GameSimulator sim = new GameSimulator(bots, startingCards, rounds);
+                    SplittableRandom random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+
+                    long n = Math.min(CHUNK, games - chunk * CHUNK);
+                    for (long g = 0; g < n; g++) {
+                        sim.playGame(random);
+                    }
+                    return Result.of(sim, players);
+                })
+                .reduce(Result::merge)
+                .orElseThrow()
+        ).join();
+    }
+
+    private static void report(String[] seats, Result r, double seconds, int threads) {
+        double handsPerSec = r.hands() / seconds;
+
+        System.out.printf("%n%-7s %-8s %12s %9s%n", "asiento", "bot", "puntos/part", "victorias");
+        for (int p = 0; p < seats.length; p++) {
+            System.out.printf("%-7d %-8s %12.2f %8.2f%%%n", p, seats[p],
+                    (double) r.points()[p] / r.games(), 100.0 * r.wins()[p] / r.games());
+        }
+
+        System.out.printf("%n%d partidas, %d manos en %.2f s%n", r.games(), r.hands(), seconds);
+        System.out.printf("%.0f partidas/s, %.0f manos/s, %.0f manos/s por núcleo (checksum %d)%n",
+                r.games() / seconds, handsPerSec, handsPerSec / threads, r.checksum());
+    }
+}
@@ -0,0 +1,135 @@
+package com.ohhell.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP de la API que mide cada petición.
+ *
+ * Las peticiones se agrupan en Stats por la plantilla de la ruta (con
+ * {code} en vez del código de la partida), no por la URL concreta.
+ */
+final class ApiClient {
+
+    record Reply(int status, JsonNode body, String text) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    static final class ApiException extends RuntimeException {
+
+        ApiException(String message) {
+            super(message);
+        }
+
+        ApiException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Stats stats;
+
+    ApiClient(String baseUrl, Duration timeout, Stats stats) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    Reply get(String template, String code, String token) {
+        return send("GET", template, code, token, null);
+    }
+
+    Reply post(String template, String code, String token, Object body) {
+        return send("POST", template, code, token, body);
+    }
+
+    /**
+     * Como post, pero una respuesta que no sea 2xx es un error del escenario.
+     */
+    Reply postOk(String template, String code, String token, Object body) {
+        Reply reply = post(template, code, token, body);
+        if (!reply.ok()) {
+            throw new ApiException("POST " + template + " -> " + reply.status() + ": " + reply.text());
+        }
+        return reply;
+    }
+
+    Reply getOk(String template, String code, String token) {
+        Reply reply = get(template, code, token);
+        if (!reply.ok()) {
+            throw new ApiException("GET " + template + " -> " + reply.status() + ": " + reply.text());
+        }
+        return reply;
+    }
+
+    private Reply send(String method, String template, String code, String token, Object body) {
+        String path = code == null ? template : template.replace("{code}", code);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        try {
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+
+            long start = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                stats.record(method + " " + template, System.nanoTime() - start, false);
+                throw new ApiException(method + " " + path + ": " + e, e);
+            }
+            int status = response.statusCode();
+            // Un 404 en una consulta es una respuesta normal (p. ej. entre rondas)
+            boolean expected = status < 400 || ("GET".equals(method) && status == 404);
+            stats.record(method + " " + template, System.nanoTime() - start, expected);
+
+            return new Reply(status, parse(response.body()), response.body());
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException("Interrumpido", e);
+        } catch (IOException e) {
+            throw new ApiException("JSON inválido en " + path, e);
+        }
+    }
+
+    private static JsonNode parse(String text) {
+        if (text == null || text.isEmpty()) return MissingNode.getInstance();
+        char first = text.charAt(0);
+        if (first != '{' && first != '[') return MissingNode.getInstance();
+        try {
+            return JSON.readTree(text);
+        } catch (IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+}
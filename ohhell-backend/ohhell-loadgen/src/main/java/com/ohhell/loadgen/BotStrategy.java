@@ -0,0 +1,69 @@
+package com.ohhell.loadgen;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Cómo decide un bot su apuesta y su carta.
+ *
+ * La mesa solo pide decisiones legales: el turno trae ya la regla del último
+ * en apostar (allowed) y las cartas que siguen el palo (legal). Para una
+ * estrategia propia basta una clase pública con constructor sin argumentos
+ * en el classpath: -strategy com.ejemplo.MiBot.
+ */
+public interface BotStrategy {
+
+    List<String> RANKS = List.of("2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A");
+
+    record BetTurn(List<String> hand, int cardsPerPlayer, int betsSoFar, int players, int sumSoFar) {
+
+        // Regla Oh Hell: el último en apostar no puede cerrar la suma
+        public boolean allowed(int value) {
+            if (value < 0 || value > cardsPerPlayer) return false;
+            return betsSoFar != players - 1 || sumSoFar + value != cardsPerPlayer;
+        }
+    }
+
+    record PlayTurn(List<String> hand, String leadSuit, List<String> trick) {
+
+        // Cartas que se pueden jugar: las del palo de salida si se tiene alguna
+        public List<String> legal() {
+            if (leadSuit == null) return hand;
+            List<String> follow = hand.stream().filter(c -> suit(c).equals(leadSuit)).toList();
+            return follow.isEmpty() ? hand : follow;
+        }
+    }
+
+    int bet(BetTurn turn, RandomGenerator random);
+
+    String play(PlayTurn turn, RandomGenerator random);
+
+    // =========================
+    // CARTAS ("10_H")
+    // =========================
+    static String suit(String card) {
+        return card.substring(card.indexOf('_') + 1);
+    }
+
+    static int rank(String card) {
+        return RANKS.indexOf(card.substring(0, card.indexOf('_')));
+    }
+
+    // =========================
+    // FÁBRICA
+    // =========================
+    static BotStrategy named(String name) {
+        switch (name) {
+            case "random":
+                return new RandomStrategy();
+            case "greedy":
+                return new GreedyStrategy();
+            default:
+                try {
+                    return (BotStrategy) Class.forName(name).getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    throw new IllegalArgumentException("Estrategia desconocida: " + name, e);
+                }
+        }
+    }
+}
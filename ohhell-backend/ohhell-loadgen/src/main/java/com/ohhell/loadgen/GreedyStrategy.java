@@ -0,0 +1,28 @@
+package com.ohhell.loadgen;
+
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+
+/**
+ * Apuesta una baza por cada Q, K o A de la mano y juega siempre su carta
+ * legal más alta. Determinista: útil para repetir una misma prueba.
+ */
+public final class GreedyStrategy implements BotStrategy {
+
+    private static final int HIGH = BotStrategy.RANKS.indexOf("Q");
+
+    @Override
+    public int bet(BetTurn turn, RandomGenerator random) {
+        int value = (int) turn.hand().stream().filter(c -> BotStrategy.rank(c) >= HIGH).count();
+        value = Math.min(value, turn.cardsPerPlayer());
+        if (turn.allowed(value)) return value;
+        return value > 0 ? value - 1 : value + 1;
+    }
+
+    @Override
+    public String play(PlayTurn turn, RandomGenerator random) {
+        return turn.legal().stream()
+                .max(Comparator.comparingInt(BotStrategy::rank))
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,145 @@
+package com.ohhell.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de carga: mesas de bots que juegan partidas completas por HTTP.
+ *
+ * 1. Registra tables × players usuarios por /auth/register.
+ * 2. Cada mesa crea una partida, se une, marca READY, la empieza y juega
+ *    todas las rondas con apuestas y cartas legales (ver Table).
+ * 3. Muestra el progreso cada 10 s y, al final, throughput y percentiles
+ *    de latencia por endpoint.
+ *
+ * Ejemplos:
+ *   java -jar target/loadgen.jar -tables 50 -think 200ms -duration 10m
+ *   java -jar target/loadgen.jar -url http://host:8080/ohhell-api/api -tables 5 -games 3 -strategy greedy
+ */
+public final class LoadGen {
+
+    private static final String PASSWORD = "loadgen-secret";
+
+    private LoadGen() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        BotStrategy strategy;
+        try {
+            options = Options.parse(args);
+            if (options == null) {
+                System.out.print(Options.USAGE);
+                return;
+            }
+            strategy = BotStrategy.named(options.strategy());
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(Options.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        Stats stats = new Stats();
+        ApiClient api = new ApiClient(options.baseUrl(), options.timeout(), stats);
+
+        System.out.printf("ohhell-loadgen: %d mesas de %d, %d hilos, think %d ms, estrategia %s, %s%n",
+                options.tables(), options.players(), options.concurrency(), options.think().toMillis(),
+                options.strategy(), options.baseUrl());
+
+        ExecutorService pool = Executors.newFixedThreadPool(options.concurrency());
+        try {
+            List<List<Table.Bot>> seats = register(api, options, pool);
+            play(api, options, strategy, stats, pool, seats);
+        } catch (ExecutionException e) {
+            System.err.println("Error: " + e.getCause().getMessage());
+            System.exit(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // =========================
+    // REGISTRO
+    // =========================
+    private static List<List<Table.Bot>> register(ApiClient api, Options options, ExecutorService pool)
+            throws Exception {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        long start = System.nanoTime();
+
+        List<Future<Table.Bot>> pending = new ArrayList<>();
+        for (int i = 0; i < options.tables() * options.players(); i++) {
+            String nickname = "lg" + run + "_" + i;
+            pending.add(pool.submit(() -> register(api, nickname)));
+        }
+
+        List<List<Table.Bot>> tables = new ArrayList<>();
+        for (int t = 0; t < options.tables(); t++) {
+            List<Table.Bot> bots = new ArrayList<>();
+            for (int p = 0; p < options.players(); p++) {
+                bots.add(pending.get(t * options.players() + p).get());
+            }
+            tables.add(bots);
+        }
+
+        System.out.printf("%d usuarios registrados en %.1f s%n",
+                pending.size(), (System.nanoTime() - start) / 1e9);
+        return tables;
+    }
+
+    private static Table.Bot register(ApiClient api, String nickname) {
+        JsonNode user = api.postOk("/auth/register", null, null, Map.of(
+                "email", nickname + "@loadgen.test",
+                "password", PASSWORD,
+                "nickname", nickname
+        )).body();
+
+        String token = user.path("token").asText();
+        JsonNode player = api.getOk("/players/me", null, token).body();
+        return new Table.Bot(token, player.path("id").asText(), player.path("nickname").asText());
+    }
+
+    // =========================
+    // PARTIDAS
+    // =========================
+    private static void play(ApiClient api, Options options, BotStrategy strategy, Stats stats,
+                             ExecutorService pool, List<List<Table.Bot>> seats) throws Exception {
+        long start = System.nanoTime();
+        long deadline = options.duration().isPositive() ? start + options.duration().toNanos() : 0;
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "loadgen-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        progress.scheduleAtFixedRate(() -> {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("[%5.0f s] %d peticiones (%.0f/s), %d errores, %d partidas, %d rondas%n",
+                    seconds, stats.requests(), stats.requests() / seconds, stats.errors(),
+                    stats.gamesFinished.sum(), stats.roundsPlayed.sum());
+        }, 10, 10, TimeUnit.SECONDS);
+
+        List<Future<?>> tables = new ArrayList<>();
+        for (int t = 0; t < seats.size(); t++) {
+            tables.add(pool.submit(new Table(t, seats.get(t), api, options, strategy,
+                    new SplittableRandom(options.seed() + t), stats, deadline)));
+        }
+        for (Future<?> table : tables) {
+            table.get();
+        }
+        progress.shutdownNow();
+
+        System.out.println();
+        stats.print(System.out, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ohhell.loadgen;
+
+import java.time.Duration;
+
+/**
+ * Opciones de línea de comandos del generador de carga.
+ *
+ * Formato: -nombre valor (p. ej. -tables 50 -think 200ms -duration 10m).
+ */
+record Options(
+        String baseUrl,
+        int tables,
+        int players,
+        int concurrency,
+        Duration think,
+        Duration duration,
+        int games,
+        String strategy,
+        long seed,
+        Duration timeout
+) {
+
+    static final String USAGE = """
+            Uso: java -jar target/loadgen.jar [opciones]
+
+              -url <url>          Base de la API (por defecto http://localhost:8080/ohhell-api/api)
+              -tables <n>         Mesas simultáneas (por defecto 10)
+              -players <n>        Jugadores por mesa, 3-4 (por defecto 4)
+              -concurrency <n>    Hilos que mueven mesas (por defecto = tables); si hay menos
+                                  hilos que mesas, el resto espera a que acabe otra
+              -think <dur>        Pausa de cada bot antes de actuar (por defecto 0ms)
+              -duration <dur>     Tiempo total; al acabar una partida la mesa empieza otra
+                                  (por defecto 0 = jugar -games partidas por mesa)
+              -games <n>          Partidas por mesa si no hay -duration (por defecto 1)
+              -strategy <nombre>  random, greedy o nombre de una clase BotStrategy (por defecto random)
+              -seed <n>           Semilla de los bots (por defecto aleatoria)
+              -timeout <dur>      Timeout de cada petición HTTP (por defecto 10s)
+
+            Duraciones: 500ms, 30s, 10m, 1h.
+            """;
+
+    // null si se pidió la ayuda
+    static Options parse(String[] args) {
+        String baseUrl = "http://localhost:8080/ohhell-api/api";
+        int tables = 10;
+        int players = 4;
+        int concurrency = 0;
+        Duration think = Duration.ZERO;
+        Duration duration = Duration.ZERO;
+        int games = 1;
+        String strategy = "random";
+        long seed = System.nanoTime();
+        Duration timeout = Duration.ofSeconds(10);
+
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (name.equals("-h") || name.equals("-help")) {
+                return null;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Falta el valor de " + name);
+            }
+            String value = args[++i];
+
+            switch (name) {
+                case "-url" -> baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "-tables" -> tables = Integer.parseInt(value);
+                case "-players" -> players = Integer.parseInt(value);
+                case "-concurrency" -> concurrency = Integer.parseInt(value);
+                case "-think" -> think = duration(value);
+                case "-duration" -> duration = duration(value);
+                case "-games" -> games = Integer.parseInt(value);
+                case "-strategy" -> strategy = value;
+                case "-seed" -> seed = Long.parseLong(value);
+                case "-timeout" -> timeout = duration(value);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + name);
+            }
+        }
+
+        if (tables < 1) throw new IllegalArgumentException("-tables debe ser al menos 1");
+        if (players < 3 || players > 4) throw new IllegalArgumentException("-players debe estar entre 3 y 4");
+
+        return new Options(baseUrl, tables, players, concurrency > 0 ? concurrency : tables,
+                think, duration, Math.max(1, games), strategy, seed, timeout);
+    }
+
+    private static Duration duration(String text) {
+        String t = text.trim().toLowerCase();
+        if (t.endsWith("ms")) return Duration.ofMillis(Long.parseLong(t.substring(0, t.length() - 2)));
+        if (t.endsWith("s")) return Duration.ofSeconds(Long.parseLong(t.substring(0, t.length() - 1)));
+        if (t.endsWith("m")) return Duration.ofMinutes(Long.parseLong(t.substring(0, t.length() - 1)));
+        if (t.endsWith("h")) return Duration.ofHours(Long.parseLong(t.substring(0, t.length() - 1)));
+        return Duration.ofMillis(Long.parseLong(t));
+    }
+}
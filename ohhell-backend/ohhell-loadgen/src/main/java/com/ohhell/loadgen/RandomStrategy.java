@@ -0,0 +1,26 @@
+package com.ohhell.loadgen;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Apuesta y juega al azar entre las opciones legales. Reparte la carga por
+ * todas las ramas del servidor (seguir palo, fallar, triunfar...).
+ */
+public final class RandomStrategy implements BotStrategy {
+
+    @Override
+    public int bet(BetTurn turn, RandomGenerator random) {
+        int value = random.nextInt(turn.cardsPerPlayer() + 1);
+        while (!turn.allowed(value)) {
+            value = (value + 1) % (turn.cardsPerPlayer() + 1);
+        }
+        return value;
+    }
+
+    @Override
+    public String play(PlayTurn turn, RandomGenerator random) {
+        List<String> legal = turn.legal();
+        return legal.get(random.nextInt(legal.size()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ohhell.loadgen;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y errores por endpoint ("POST /games/{code}/rounds/current/play").
+ *
+ * Se guardan todas las muestras (en microsegundos) para dar percentiles
+ * exactos; un millón de peticiones ocupa unos 8 MB.
+ */
+final class Stats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    final LongAdder gamesFinished = new LongAdder();
+    final LongAdder roundsPlayed = new LongAdder();
+
+    void record(String endpoint, long nanos, boolean ok) {
+        endpoints.computeIfAbsent(endpoint, e -> new Endpoint()).record(nanos, ok);
+    }
+
+    long requests() {
+        long total = 0;
+        for (Endpoint e : endpoints.values()) total += e.count();
+        return total;
+    }
+
+    long errors() {
+        long total = 0;
+        for (Endpoint e : endpoints.values()) total += e.errors.sum();
+        return total;
+    }
+
+    // =========================
+    // INFORME
+    // =========================
+    void print(PrintStream out, double seconds) {
+        out.printf("%-44s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        long count = 0;
+        long errors = 0;
+        for (Map.Entry<String, Endpoint> e : new TreeMap<>(endpoints).entrySet()) {
+            long[] samples = e.getValue().sorted();
+            long n = samples.length;
+            count += n;
+            errors += e.getValue().errors.sum();
+
+            out.printf("%-44s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.getKey(), n, e.getValue().errors.sum(), n / seconds,
+                    percentile(samples, 0.50), percentile(samples, 0.90),
+                    percentile(samples, 0.99), n == 0 ? 0 : samples[samples.length - 1] / 1_000.0);
+        }
+
+        out.printf("%-44s %9d %8d %9.1f%n", "TOTAL", count, errors, count / seconds);
+        out.printf("Partidas terminadas: %d, rondas jugadas: %d, %.1f s%n",
+                gamesFinished.sum(), roundsPlayed.sum(), seconds);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, i)] / 1_000.0;
+    }
+
+    private static final class Endpoint {
+
+        private final LongAdder errors = new LongAdder();
+        private long[] micros = new long[1_024];
+        private int size;
+
+        void record(long nanos, boolean ok) {
+            if (!ok) errors.increment();
+            synchronized (this) {
+                if (size == micros.length) {
+                    micros = Arrays.copyOf(micros, size * 2);
+                }
+                micros[size++] = nanos / 1_000;
+            }
+        }
+
+        synchronized long count() {
+            return size;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(micros, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
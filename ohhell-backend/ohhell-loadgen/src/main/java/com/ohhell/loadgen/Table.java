@@ -0,0 +1,238 @@
+package com.ohhell.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Una mesa de bots jugando partidas completas contra la API.
+ *
+ * Un solo hilo mueve a todos los bots de la mesa, como harían sus clientes:
+ * consulta la ronda en curso y actúa el bot al que le toca (apostar en orden
+ * desde el repartidor, o jugar si es el currentPlayer de la baza). Al acabar
+ * una partida empieza otra con los mismos bots hasta agotar -games o
+ * -duration.
+ */
+final class Table implements Runnable {
+
+    record Bot(String token, String playerId, String nickname) {}
+
+    private static final long POLL_MS = 20;
+
+    private final int index;
+    private final List<Bot> bots;
+    private final ApiClient api;
+    private final Options options;
+    private final BotStrategy strategy;
+    private final RandomGenerator random;
+    private final Stats stats;
+    private final long deadlineNanos;
+
+    // Bots ordenados por asiento en la partida actual
+    private final List<Bot> bySeat = new ArrayList<>();
+    private final Map<String, Bot> byPlayer = new HashMap<>();
+
+    Table(int index, List<Bot> bots, ApiClient api, Options options, BotStrategy strategy,
+          RandomGenerator random, Stats stats, long deadlineNanos) {
+        this.index = index;
+        this.bots = bots;
+        this.api = api;
+        this.options = options;
+        this.strategy = strategy;
+        this.random = random;
+        this.stats = stats;
+        this.deadlineNanos = deadlineNanos;
+        for (Bot b : bots) byPlayer.put(b.playerId(), b);
+    }
+
+    @Override
+    public void run() {
+        int played = 0;
+        while (!timeUp() && !Thread.currentThread().isInterrupted()
+                && (options.duration().isPositive() || played < options.games())) {
+            try {
+                if (playGame()) {
+                    stats.gamesFinished.increment();
+                }
+            } catch (ApiClient.ApiException e) {
+                System.err.println("[mesa " + index + "] " + e.getMessage());
+                pause(500);
+            }
+            played++;
+        }
+    }
+
+    private boolean timeUp() {
+        return deadlineNanos > 0 && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    // =========================
+    // PARTIDA
+    // =========================
+    private boolean playGame() {
+        Bot host = bots.get(0);
+
+        String code = api.postOk("/games", null, host.token(), Map.of("title", "loadgen-" + index))
+                .body().path("code").asText();
+
+        for (Bot b : bots.subList(1, bots.size())) {
+            think();
+            api.postOk("/games/{code}/join", code, b.token(), null);
+        }
+        for (Bot b : bots) {
+            think();
+            api.postOk("/games/{code}/ready", code, b.token(), null);
+        }
+        seat(code, host);
+
+        think();
+        api.postOk("/games/{code}/start", code, host.token(), null);
+
+        long roundId = -1;
+        while (!timeUp()) {
+            ApiClient.Reply reply = api.get("/games/{code}/rounds/current", code, host.token());
+
+            if (reply.status() == 404) {
+                // Entre rondas o partida terminada
+                String status = api.getOk("/games/{code}/players", code, host.token())
+                        .body().path("status").asText();
+                if ("FINISHED".equals(status)) return true;
+                pause(POLL_MS);
+                continue;
+            }
+            if (!reply.ok()) {
+                throw new ApiClient.ApiException("Ronda actual -> " + reply.status() + ": " + reply.text());
+            }
+
+            JsonNode round = reply.body();
+            if (round.path("id").asLong() != roundId) {
+                roundId = round.path("id").asLong();
+                stats.roundsPlayed.increment();
+            }
+
+            switch (round.path("phase").asText()) {
+                case "BETTING" -> bet(code, round);
+                case "PLAYING" -> play(code, round);
+                default -> pause(POLL_MS);
+            }
+        }
+        return false;
+    }
+
+    private void seat(String code, Bot host) {
+        JsonNode players = api.getOk("/games/{code}/players", code, host.token()).body().path("players");
+
+        List<JsonNode> seats = new ArrayList<>();
+        players.forEach(seats::add);
+        seats.sort((a, b) -> Integer.compare(a.path("seat").asInt(), b.path("seat").asInt()));
+
+        bySeat.clear();
+        for (JsonNode p : seats) {
+            Bot bot = byPlayer.get(p.path("playerId").asText());
+            if (bot != null) bySeat.add(bot);
+        }
+    }
+
+    // =========================
+    // APUESTAS
+    // =========================
+    private void bet(String code, JsonNode round) {
+        Bot any = bots.get(0);
+        JsonNode bets = api.getOk("/games/{code}/rounds/current/bets", code, any.token()).body().path("bets");
+
+        Set<String> done = new HashSet<>();
+        int sum = 0;
+        for (JsonNode b : bets) {
+            done.add(b.path("playerId").asText());
+            sum += b.path("bet").asInt();
+        }
+
+        // Se apuesta en orden empezando por el jugador tras el repartidor
+        int n = bySeat.size();
+        int first = (round.path("dealerSeat").asInt() + 1) % n;
+        Bot next = null;
+        for (int i = 0; i < n && next == null; i++) {
+            Bot candidate = bySeat.get((first + i) % n);
+            if (!done.contains(candidate.playerId())) next = candidate;
+        }
+        if (next == null) {
+            pause(POLL_MS);
+            return;
+        }
+
+        List<String> hand = hand(code, next);
+        int value = strategy.bet(new BotStrategy.BetTurn(
+                hand, round.path("cardsPerPlayer").asInt(), done.size(), n, sum), random);
+
+        think();
+        // Con la versión vista, la API rechaza (409) la apuesta si la ronda cambió entretanto
+        api.post("/games/{code}/rounds/current/bets", code, next.token(),
+                Map.of("value", value, "expectedVersion", round.path("version").asInt()));
+    }
+
+    // =========================
+    // JUGADAS
+    // =========================
+    private void play(String code, JsonNode round) {
+        Bot any = bots.get(0);
+        ApiClient.Reply reply = api.get("/games/{code}/rounds/current/trick", code, any.token());
+        if (!reply.ok()) {
+            // La ronda acaba de terminar
+            pause(POLL_MS);
+            return;
+        }
+
+        JsonNode trick = reply.body();
+        Bot current = byPlayer.get(trick.path("currentPlayer").asText());
+        if (current == null) {
+            throw new ApiClient.ApiException("Turno de un jugador desconocido: " + trick.path("currentPlayer"));
+        }
+
+        List<String> played = new ArrayList<>();
+        trick.path("plays").forEach(p -> played.add(p.path("card").asText()));
+        String lead = trick.path("leadSuit").isTextual() ? trick.path("leadSuit").asText() : null;
+
+        List<String> hand = hand(code, current);
+        if (hand.isEmpty()) {
+            pause(POLL_MS);
+            return;
+        }
+        String card = strategy.play(new BotStrategy.PlayTurn(hand, lead, played), random);
+
+        think();
+        api.post("/games/{code}/rounds/current/play", code, current.token(),
+                Map.of("card", card, "expectedVersion", round.path("version").asInt()));
+    }
+
+    private List<String> hand(String code, Bot bot) {
+        ApiClient.Reply reply = api.get("/games/{code}/hand", code, bot.token());
+        List<String> cards = new ArrayList<>();
+        if (reply.ok()) {
+            reply.body().path("cards").forEach(c -> cards.add(c.asText()));
+        }
+        return cards;
+    }
+
+    // =========================
+    // ESPERAS
+    // =========================
+    private void think() {
+        long ms = options.think().toMillis();
+        if (ms > 0) pause(ms);
+    }
+
+    private static void pause(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiClient.ApiException("Interrumpido", e);
+        }
+    }
+}
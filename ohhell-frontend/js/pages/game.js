@@ -182,6 +182,14 @@ let gameState = {
 
 let pollInterval = null;
 const POLL_INTERVAL = 2000; // 2 segundos
+const FALLBACK_POLL_INTERVAL = 15000; // respaldo cuando hay stream de eventos
+
+let eventSource = null;
+let reloadScheduled = false;
+const GAME_EVENT_TYPES = [
+    'PLAYER_JOINED', 'PLAYER_READY', 'ROUND_STARTED',
+    'BET_PLACED', 'CARD_PLAYED', 'TRICK_WON', 'RESYNC'
+];
 
 // =======================
 // DOM Elements
@@ -236,23 +244,68 @@ async function initGame() {
 function startPolling() {
     if (pollInterval) clearInterval(pollInterval);
 
+    // Con eventos del servidor solo se recarga cuando algo cambia;
+    // el intervalo queda como respaldo
+    const streaming = startEventStream();
+
     pollInterval = setInterval(async () => {
         try {
             await loadGame();
         } catch (error) {
             console.error('Error en polling:', error);
         }
-    }, POLL_INTERVAL);
+    }, streaming ? FALLBACK_POLL_INTERVAL : POLL_INTERVAL);
 
     // Cargar inmediatamente
     loadGame();
 }
 
+function startEventStream() {
+    if (!window.EventSource) return false;
+    if (eventSource) eventSource.close();
+
+    // EventSource reconecta solo y reenvía Last-Event-ID para no perder eventos
+    eventSource = new EventSource(
+        `${API_BASE}/games/${code}/events?access_token=${encodeURIComponent(token)}`
+    );
+
+    GAME_EVENT_TYPES.forEach(type => {
+        eventSource.addEventListener(type, (e) => {
+            console.log('📨 Evento', type, e.data);
+            scheduleReload();
+        });
+    });
+
+    eventSource.onerror = () => {
+        console.warn('⚠️ Stream de eventos desconectado, reintentando...');
+    };
+
+    return true;
+}
+
+// Agrupa varios eventos seguidos en una sola recarga
+function scheduleReload() {
+    if (reloadScheduled) return;
+    reloadScheduled = true;
+    setTimeout(async () => {
+        reloadScheduled = false;
+        try {
+            await loadGame();
+        } catch (error) {
+            console.error('Error recargando tras evento:', error);
+        }
+    }, 100);
+}
+
 function stopPolling() {
     if (pollInterval) {
         clearInterval(pollInterval);
         pollInterval = null;
     }
+    if (eventSource) {
+        eventSource.close();
+        eventSource = null;
+    }
 }
 
 // =======================
@@ -30,6 +30,7 @@ const copyBtn = document.getElementById('copy-code-btn');
 // Estado
 // =======================
 let pollInterval = null;
+let eventSource = null;
 let myPlayerId = null;
 
 // =======================
@@ -43,7 +44,20 @@ async function init() {
         myPlayerId = me.id;
 
         await loadLobby();
-        pollInterval = setInterval(loadLobby, 2000);
+
+        // Eventos del servidor: recargar la sala solo cuando cambia.
+        // Sin EventSource se mantiene el polling.
+        if (window.EventSource) {
+            eventSource = new EventSource(
+                `${API_BASE}/games/${code}/events?access_token=${encodeURIComponent(token)}`
+            );
+            ['PLAYER_JOINED', 'PLAYER_READY', 'ROUND_STARTED', 'RESYNC'].forEach(type =>
+                eventSource.addEventListener(type, loadLobby)
+            );
+            pollInterval = setInterval(loadLobby, 15000);
+        } else {
+            pollInterval = setInterval(loadLobby, 2000);
+        }
 
     } catch (e) {
         console.error(e);
@@ -71,6 +85,7 @@ async function loadLobby() {
         // Si la partida empieza → ir al juego
         if (lobby.status !== 'WAITING') {
             clearInterval(pollInterval);
+            if (eventSource) eventSource.close();
             window.location.href = `game.html?code=${code}`;
         }
 
@@ -137,5 +152,6 @@ copyBtn.addEventListener('click', () => {
 // =======================
 leaveBtn.addEventListener('click', () => {
     clearInterval(pollInterval);
+    if (eventSource) eventSource.close();
     window.location.href = 'home.html';
 });